@@ -0,0 +1,29 @@
+package com.mason.mapgen.core;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suites with the GC profiler attached and writes the
+ * results to target/jmh-result.json, so runs can be compared between commits.
+ * Usage: java -cp target/benchmarks.jar com.mason.mapgen.core.BenchmarkRunner [include regex]
+ */
+public class BenchmarkRunner{
+
+
+    public static void main(String[] args) throws RunnerException{
+        String include = args.length > 0 ? args[0] : "com.mason.mapgen.*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.mason.mapgen.paint.components;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.structures.records.Seed;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rasterising a chunked canvas into a GridImageComponent, both as a whole
+ * image, as the local repaint a single brush dab triggers, and as the
+ * repaint of the chunks a large dab marks dirty.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class GridImageBenchmark{
+
+
+    private static final int CHUNKS_PER_DAB = 40;
+
+    @Param({"256", "1024", "4096"})
+    public int gridSize;
+
+    @Param({"2400", "20000"})
+    public int numChunks;
+
+    @Param({"DIRECT", "INDEXED"})
+    public GridImageComponent.RenderMode mode;
+
+    private ChunkingGrid<PaintCentroidData> grid;
+    private GridImageComponent image;
+    private Coord[] centroidCoords;
+    private int nextCentroid = 0;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        Seed seed = new Seed(gridSize * 31L + numChunks);
+        Size size = new Size(gridSize, gridSize);
+        int chunks = Math.min(numChunks, gridSize * gridSize);
+        VoronoiChunker<PaintCentroidData> chunker = VoronoiChunker.build(size, chunks, 0, seed,
+                PaintCentroidData.initializer(seed.derive("centroidColours")), AnnexQueries.randomQuery(seed.derive("annex")));
+        chunker.createChunks();
+        grid = chunker.getGrid();
+        grid.updateMaxDistToCentroid();
+        image = new GridImageComponent(grid, mode);
+        centroidCoords = collectCentroidCoords(grid, chunks);
+    }
+
+    private static Coord[] collectCentroidCoords(ChunkingGrid<PaintCentroidData> grid, int chunks){
+        Coord[] coords = new Coord[chunks];
+        int n = 0;
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            coords[n++] = grid.getCentroidCoord(centroidID);
+        }
+        return coords;
+    }
+
+
+    @Benchmark
+    public GridImageComponent updateWholeImage(){
+        image.updateWholeImage(grid);
+        return image;
+    }
+
+    @Benchmark
+    public GridImageComponent updateImageInClip(){
+        Coord centroid = centroidCoords[nextCentroid];
+        nextCentroid = (nextCentroid + 1) % centroidCoords.length;
+        image.updateImageInClip(grid, grid.constructBoundingRectangle(centroid));
+        return image;
+    }
+
+    @Benchmark
+    public GridImageComponent repaintDirtyChunks(){
+        for(int n=0; n<CHUNKS_PER_DAB; n++){
+            Coord centroid = centroidCoords[nextCentroid];
+            nextCentroid = (nextCentroid + 1) % centroidCoords.length;
+            image.markChunkDirty(grid.centroidID(grid.asIndex(centroid)));
+        }
+        image.repaintDirtyChunks();
+        return image;
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.mason.mapgen.procgen.algorithms.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.components.BasicCentroidData;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.procgen.algorithms.misc.RandomCoords;
+import com.mason.mapgen.structures.records.Seed;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Voronoi chunking end to end, and a single chunking flood fill from freshly
+ * placed centroids: sequentially, tiled across the common pool, and as an
+ * exact distance transform. Grids are rebuilt before every invocation because both
+ * operations consume the grid they run on, so each benchmark has a state of
+ * its own which builds only the grid it uses. Only the end to end run relaxes,
+ * so the relaxation count is a parameter of its own state.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class ChunkingBenchmark{
+
+
+    @Param({"256", "1024", "4096", "8192"})
+    public int gridSize;
+
+    @Param({"2400", "20000"})
+    public int numChunks;
+
+    private Size size;
+    private int chunks;
+    private Seed seed;
+
+
+    @Setup(Level.Trial)
+    public void chooseSeed(){
+        size = new Size(gridSize, gridSize);
+        chunks = Math.min(numChunks, gridSize * gridSize);
+        seed = new Seed(gridSize * 31L + numChunks);
+    }
+
+    private ChunkingGrid<BenchmarkCentroid> createCentroidGrid(){
+        Set<Coord> centroids = RandomCoords.generateRandomDistinctCoords(size, chunks, seed.stream());
+        ChunkingGrid<BenchmarkCentroid> grid = new ChunkingGrid<>(size, centroids.size());
+        for(Coord coord : centroids){
+            grid.createCentroid(new BenchmarkCentroid(coord));
+        }
+        return grid;
+    }
+
+
+    @Benchmark
+    public ChunkingGrid<BenchmarkCentroid> createChunks(ChunkerState state){
+        state.chunker.createChunks();
+        return state.chunker.getGrid();
+    }
+
+    @Benchmark
+    public CentroidFloodFill<BenchmarkCentroid> floodFill(FloodFillState state){
+        state.fill.floodFill();
+        return state.fill;
+    }
+
+    @Benchmark
+    public CentroidFloodFill<BenchmarkCentroid> parallelFloodFill(ParallelFloodFillState state){
+        state.fill.floodFill();
+        return state.fill;
+    }
+
+    @Benchmark
+    public CentroidFloodFill<BenchmarkCentroid> distanceTransformFill(DistanceTransformState state){
+        state.fill.floodFill();
+        return state.fill;
+    }
+
+
+    @State(Scope.Thread)
+    public static class ChunkerState{
+
+        @Param({"0", "2", "5"})
+        public int lloydRelaxCount;
+
+        private VoronoiChunker<BenchmarkCentroid> chunker;
+
+        @Setup(Level.Invocation)
+        public void buildChunker(ChunkingBenchmark benchmark){
+            chunker = VoronoiChunker.build(benchmark.size, benchmark.chunks, lloydRelaxCount, benchmark.seed,
+                    BenchmarkCentroid::new, AnnexQueries::euclideanQuery);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class FloodFillState{
+
+        private CentroidFloodFill<BenchmarkCentroid> fill;
+
+        @Setup(Level.Invocation)
+        public void buildFill(ChunkingBenchmark benchmark){
+            fill = new CentroidFloodFill<>(benchmark.createCentroidGrid(), AnnexQueries::euclideanQuery, true);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class ParallelFloodFillState{
+
+        private CentroidFloodFill<BenchmarkCentroid> fill;
+
+        @Setup(Level.Invocation)
+        public void buildFill(ChunkingBenchmark benchmark){
+            fill = new ParallelCentroidFloodFill<>(benchmark.createCentroidGrid(), AnnexQueries::euclideanQuery, true,
+                    ForkJoinPool.commonPool(), 256, 64);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class DistanceTransformState{
+
+        private CentroidFloodFill<BenchmarkCentroid> fill;
+
+        @Setup(Level.Invocation)
+        public void buildFill(ChunkingBenchmark benchmark){
+            fill = new DistanceTransformVoronoiFill<>(benchmark.createCentroidGrid(), true, ForkJoinPool.commonPool());
+        }
+
+    }
+
+
+    static class BenchmarkCentroid extends BasicCentroidData<BenchmarkCentroid>{
+
+        BenchmarkCentroid(Coord coord){
+            super(coord);
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.mason.mapgen.procgen.noise;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full generateNoise() runs of each Noise implementation. Noise can only be
+ * generated once, so each run is a single shot timed against an instance
+ * built before its iteration, and construction (including the random Perlin
+ * lattice) is left out of the score. Each benchmark has its own state, so
+ * only the instance it runs is built.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class NoiseBenchmark{
+
+
+    private static final int OCTAVES = 8;
+    private static final double LACUNARITY = 0.5;
+    private static final double PERSISTENCE = 0.5;
+
+    @Param({"256", "1024", "4096", "8192"})
+    public int gridSize;
+
+    private Size size;
+    private Seed seed;
+
+
+    @Setup(Level.Trial)
+    public void chooseSeed(){
+        size = new Size(gridSize, gridSize);
+        seed = new Seed(gridSize);
+    }
+
+
+    @Benchmark
+    public Noise perlin(PerlinState state){
+        state.noise.generateNoise();
+        return state.noise;
+    }
+
+    @Benchmark
+    public Noise parallelPerlin(ParallelPerlinState state){
+        state.noise.generateNoise();
+        return state.noise;
+    }
+
+    @Benchmark
+    public Noise midpointDisplacement(MidpointState state){
+        state.noise.generateNoise();
+        return state.noise;
+    }
+
+    @Benchmark
+    public Noise lookup(LookupState state){
+        state.noise.generateNoise();
+        return state.noise;
+    }
+
+
+    @State(Scope.Thread)
+    public static class PerlinState{
+
+        private PerlinNoise noise;
+
+        @Setup(Level.Iteration)
+        public void buildNoise(NoiseBenchmark benchmark){
+            noise = new PerlinNoise(benchmark.size, benchmark.seed, 1, OCTAVES, LACUNARITY, PERSISTENCE);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class ParallelPerlinState{
+
+        private PerlinNoise noise;
+
+        @Setup(Level.Iteration)
+        public void buildNoise(NoiseBenchmark benchmark){
+            noise = PerlinNoise.buildParallel(benchmark.size, benchmark.seed, 1, OCTAVES, LACUNARITY, PERSISTENCE);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class MidpointState{
+
+        private MidpointDisplacementNoise noise;
+
+        @Setup(Level.Iteration)
+        public void buildNoise(NoiseBenchmark benchmark){
+            noise = MidpointDisplacementNoise.buildInstance(benchmark.size, benchmark.seed, 1, 0.5);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class LookupState{
+
+        private LookupNoise noise;
+
+        @Setup(Level.Iteration)
+        public void buildNoise(NoiseBenchmark benchmark){
+            noise = LookupNoise.buildWithDefaultPerlinLookupFunction(benchmark.size, benchmark.seed, 1, OCTAVES,
+                    LACUNARITY, PERSISTENCE);
+        }
+
+    }
+
+}
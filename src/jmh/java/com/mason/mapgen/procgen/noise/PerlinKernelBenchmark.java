@@ -0,0 +1,59 @@
+package com.mason.mapgen.procgen.noise;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Seed;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one Perlin octave computed by the tabulated PerlinOctaveKernel with
+ * the original per-cell implementation. Scores are in ns per cell; run with
+ * -prof gc to see the allocation rate of each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(PerlinKernelBenchmark.CELLS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PerlinKernelBenchmark{
+
+
+    static final int SIDE = 1024;
+    static final int CELLS = SIDE * SIDE;
+
+    @Param({"4", "32", "256"})
+    public int boxDivisor;
+
+    private DoubleGrid grid;
+    private PerlinOctaveKernel kernel;
+    private ReferencePerlinKernel reference;
+
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        Size size = new Size(SIDE, SIDE);
+        PerlinLattice lattice = new PerlinLattice(size, new Seed(SIDE).stream());
+        Size boxSize = new Size(SIDE / boxDivisor, SIDE / boxDivisor);
+        grid = new DoubleGrid(size);
+        kernel = new PerlinOctaveKernel(lattice, size, boxSize, 1.0);
+        reference = new ReferencePerlinKernel(lattice, boxSize, 1.0);
+    }
+
+
+    @Benchmark
+    public DoubleGrid tabulatedKernel(){
+        kernel.overlayRows(grid, 0, SIDE);
+        return grid;
+    }
+
+    @Benchmark
+    public DoubleGrid perCellReference(){
+        reference.overlay(grid);
+        return grid;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.mason.mapgen.procgen.noise;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.grids.Grid;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Rect;
+import com.mason.mapgen.structures.records.Vector;
+
+/**
+ * The original per-cell Perlin octave, which allocates a Rect, several Coords
+ * and Vectors for every cell. Kept only as a baseline for the benchmarks.
+ */
+class ReferencePerlinKernel{
+
+
+    private final Grid<Vector> vectorGrid;
+    private final Size boxSize;
+    private final double amplitude;
+
+
+    ReferencePerlinKernel(PerlinLattice lattice, Size boxSize, double amplitude){
+        Size size = lattice.size();
+        vectorGrid = Grid.buildGrid(new Vector[size.height()][size.width()], c -> lattice.gradient(c.x(), c.y()));
+        this.boxSize = boxSize;
+        this.amplitude = amplitude;
+    }
+
+
+    void overlay(DoubleGrid grid){
+        grid.transformSelf((x, y, val) -> {
+            Coord coord = new Coord(x, y);
+            Rect box = boxContainingCoord(coord);
+            return val + amplitude * getPerlin(coord, box);
+        });
+    }
+
+    private Rect boxContainingCoord(Coord c){
+        Coord topLeft = new Coord(c.x() - (c.x() % boxSize.width()), c.y() - (c.y() % boxSize.height()));
+        return Rect.buildRect(topLeft, boxSize);
+    }
+
+    private double getPerlin(Coord c, Rect box){
+        double topInterpolation = calculateEdgeInterpolation(c, box.topLeft(), box.topRight(), box);
+        double bottomInterpolation = calculateEdgeInterpolation(c, box.bottomLeft(), box.bottomRight(), box);
+        double relativeY = calculateRelativeCoordinate(c.y(), box.height());
+        return interpolate(topInterpolation, bottomInterpolation, relativeY);
+    }
+
+    private double interpolate(double start, double end, double lambda){
+        return start*(1-lambda) + end*lambda;
+    }
+
+    private double calculateEdgeInterpolation(Coord c, Coord leftCorner, Coord rightCorner, Rect box){
+        Size size = box.size();
+        double leftDot = dotBoxVectorWithDirectionVector(c, leftCorner, size);
+        double rightDot = dotBoxVectorWithDirectionVector(c, rightCorner, size);
+        double relativeX = calculateRelativeCoordinate(c.x(), box.width());
+        return interpolate(leftDot, rightDot, relativeX);
+    }
+
+    private double calculateRelativeCoordinate(double coord, double boxDim){
+        double ratio = (coord % boxDim) / boxDim;
+        return ratio * ratio * (3 - 2*ratio);
+    }
+
+    private double dotBoxVectorWithDirectionVector(Coord c, Coord boxCoord, Size size){
+        double relativeX = (double)(c.x() - boxCoord.x()) / size.width();
+        double relativeY = (double)(c.y() - boxCoord.y()) / size.height();
+        Vector directionVector = Vector.fromCartesian(relativeX, relativeY);
+        Size gridSize = vectorGrid.getSize();
+        Coord wrapped = new Coord(boxCoord.x() % gridSize.width(), boxCoord.y() % gridSize.height());
+        return vectorGrid.getValue(wrapped).dot(directionVector);
+    }
+
+}
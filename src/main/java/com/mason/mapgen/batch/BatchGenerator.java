@@ -0,0 +1,96 @@
+package com.mason.mapgen.batch;
+
+import com.mason.mapgen.procgen.noise.NoiseCache;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs batch jobs on a fixed number of worker threads. Each job runs all of
+ * its stages on one worker, so at most that many maps are held in memory at
+ * once. A job which fails is reported and the rest carry on.
+ * Given a tile size, maps are generated tile by tile instead, for maps too
+ * large for memory. The jobs then run one after another and the workers share
+ * the tiles of each, so at most that many tiles are held at once.
+ * Untiled jobs can share a {@link NoiseCache}, so jobs which differ only in
+ * their chunks reuse the same noise.
+ * @author Adam Whittaker
+ */
+public class BatchGenerator{
+
+
+    public static final int UNTILED = 0;
+
+    private final int numWorkers;
+    private final Path outputRoot;
+    private final int tileSize;
+    private final NoiseCache noiseCache;
+
+
+    public BatchGenerator(int numWorkers, Path outputRoot){
+        this(numWorkers, outputRoot, UNTILED);
+    }
+
+    public BatchGenerator(int numWorkers, Path outputRoot, int tileSize){
+        this(numWorkers, outputRoot, tileSize, null);
+    }
+
+    public BatchGenerator(int numWorkers, Path outputRoot, int tileSize, NoiseCache noiseCache){
+        if(numWorkers < 1){
+            throw new IllegalArgumentException("There must be at least one worker!");
+        }
+        if(tileSize < 0){
+            throw new IllegalArgumentException("The tile size must not be negative!");
+        }
+        this.numWorkers = numWorkers;
+        this.outputRoot = outputRoot;
+        this.tileSize = tileSize;
+        this.noiseCache = noiseCache;
+    }
+
+
+    public BatchRun run(List<BatchJob> jobs) throws InterruptedException{
+        if(tileSize != UNTILED){
+            return runTiled(jobs);
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(numWorkers);
+        long start = System.nanoTime();
+        try{
+            List<Future<JobResult>> futures = new ArrayList<>();
+            for(BatchJob job : jobs){
+                futures.add(workers.submit(new MapGenerationJob(job, outputRoot, noiseCache)));
+            }
+            List<JobResult> results = new ArrayList<>();
+            for(int n=0; n<futures.size(); n++){
+                results.add(await(futures.get(n), jobs.get(n)));
+            }
+            return new BatchRun(results, System.nanoTime() - start, numWorkers);
+        }finally{
+            workers.shutdownNow();
+        }
+    }
+
+    private BatchRun runTiled(List<BatchJob> jobs){
+        long start = System.nanoTime();
+        List<JobResult> results = new ArrayList<>();
+        for(BatchJob job : jobs){
+            results.add(new TiledMapGenerationJob(job, outputRoot, tileSize, numWorkers).call());
+        }
+        return new BatchRun(results, System.nanoTime() - start, numWorkers);
+    }
+
+    private static JobResult await(Future<JobResult> future, BatchJob job) throws InterruptedException{
+        try{
+            return future.get();
+        }catch(ExecutionException e){
+            return JobResult.failed(job, Map.of(), e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.mason.mapgen.batch;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+
+/**
+ * One map to generate: the seed it is generated from, its size, how many
+ * chunks it is split into and how many Lloyd relaxations smooth them.
+ * @author Adam Whittaker
+ */
+public record BatchJob(Seed seed, Size size, int numChunks, int lloydRelaxCount){
+
+
+    public BatchJob{
+        if(size.width() < 1 || size.height() < 1){
+            throw new IllegalArgumentException("Map size must be positive!");
+        }
+        if(numChunks < 1 || numChunks > size.width() * size.height()){
+            throw new IllegalArgumentException("Chunk count must be between one and the number of points!");
+        }
+        if(lloydRelaxCount < 0){
+            throw new IllegalArgumentException("Lloyd relax count must be non-negative!");
+        }
+    }
+
+
+    /**
+     * A name unique to the job's parameters, used for its output directory.
+     */
+    public String name(){
+        return seed.value() + "_" + size.width() + "x" + size.height() + "_" + numChunks + "_" + lloydRelaxCount;
+    }
+
+}
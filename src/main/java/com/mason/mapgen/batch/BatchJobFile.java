@@ -0,0 +1,67 @@
+package com.mason.mapgen.batch;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads batch jobs from a text file with one job per line:
+ * <pre>
+ * # seed width height chunks [lloydRelaxCount]
+ * 1234 1024 1024 2400 2
+ * </pre>
+ * Blank lines and anything after a '#' are ignored. The Lloyd relax count
+ * defaults to {@value #DEFAULT_LLOYD_RELAX_COUNT}.
+ * @author Adam Whittaker
+ */
+public final class BatchJobFile{
+
+
+    public static final int DEFAULT_LLOYD_RELAX_COUNT = 2;
+
+
+    private BatchJobFile(){}
+
+
+    public static List<BatchJob> read(Path jobFile) throws IOException{
+        return parse(Files.readAllLines(jobFile));
+    }
+
+    public static List<BatchJob> parse(List<String> lines){
+        List<BatchJob> jobs = new ArrayList<>();
+        for(int n=0; n<lines.size(); n++){
+            String line = stripComment(lines.get(n)).trim();
+            if(!line.isEmpty()){
+                jobs.add(parseJob(line, n+1));
+            }
+        }
+        return jobs;
+    }
+
+    private static String stripComment(String line){
+        int commentStart = line.indexOf('#');
+        return commentStart < 0 ? line : line.substring(0, commentStart);
+    }
+
+    private static BatchJob parseJob(String line, int lineNumber){
+        String[] fields = line.split("\\s+");
+        if(fields.length < 4 || fields.length > 5){
+            throw new IllegalArgumentException("Line " + lineNumber + " should be 'seed width height chunks [lloydRelaxCount]'!");
+        }
+        try{
+            Seed seed = new Seed(Long.parseLong(fields[0]));
+            Size size = new Size(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+            int numChunks = Integer.parseInt(fields[3]);
+            int lloydRelaxCount = fields.length == 5 ? Integer.parseInt(fields[4]) : DEFAULT_LLOYD_RELAX_COUNT;
+            return new BatchJob(seed, size, numChunks, lloydRelaxCount);
+        }catch(IllegalArgumentException e){
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+}
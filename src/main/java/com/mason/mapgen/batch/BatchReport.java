@@ -0,0 +1,60 @@
+package com.mason.mapgen.batch;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Prints the stage timings of each job in a batch, followed by the total
+ * and mean time of each stage and the throughput of the whole batch.
+ * @author Adam Whittaker
+ */
+public final class BatchReport{
+
+
+    private BatchReport(){}
+
+
+    public static void print(BatchRun run, PrintStream out){
+        for(JobResult result : run.results()){
+            out.println(describeJob(result));
+        }
+        out.println(describeStages(run));
+        out.printf(Locale.ROOT, "%d of %d maps in %s with %d workers: %.1f maps per minute%n",
+                run.numSucceeded(), run.results().size(), formatNanos(run.wallNanos()),
+                run.numWorkers(), run.mapsPerMinute());
+    }
+
+    private static String describeJob(JobResult result){
+        StringBuilder builder = new StringBuilder(result.job().name()).append(':');
+        for(GenerationStage stage : GenerationStage.values()){
+            if(result.stageNanos().containsKey(stage)){
+                builder.append(' ').append(stage.label()).append(' ').append(formatNanos(result.nanos(stage))).append(',');
+            }
+        }
+        builder.append(" total ").append(formatNanos(result.totalNanos()));
+        if(!result.isSuccess()){
+            builder.append(" FAILED: ").append(result.failure());
+        }
+        return builder.toString();
+    }
+
+    private static String describeStages(BatchRun run){
+        StringBuilder builder = new StringBuilder("Stage totals (mean per map):");
+        int numMaps = Math.max(run.results().size(), 1);
+        for(GenerationStage stage : GenerationStage.values()){
+            long total = run.totalNanos(stage);
+            builder.append(' ').append(stage.label()).append(' ').append(formatNanos(total))
+                    .append(" (").append(formatNanos(total / numMaps)).append("),");
+        }
+        builder.setLength(builder.length() - 1);
+        return builder.toString();
+    }
+
+    static String formatNanos(long nanos){
+        if(nanos < 10_000_000_000L){
+            return String.format(Locale.ROOT, "%d ms", nanos / 1_000_000);
+        }
+        return String.format(Locale.ROOT, "%.1f s", nanos / 1e9);
+    }
+
+}
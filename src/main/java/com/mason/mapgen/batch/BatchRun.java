@@ -0,0 +1,48 @@
+package com.mason.mapgen.batch;
+
+import java.util.List;
+
+/**
+ * The results of every job in a batch, in job file order, and the wall time
+ * the whole batch took.
+ * @author Adam Whittaker
+ */
+public record BatchRun(List<JobResult> results, long wallNanos, int numWorkers){
+
+
+    public BatchRun{
+        results = List.copyOf(results);
+    }
+
+
+    public int numSucceeded(){
+        int succeeded = 0;
+        for(JobResult result : results){
+            if(result.isSuccess()) succeeded++;
+        }
+        return succeeded;
+    }
+
+    public int numFailed(){
+        return results.size() - numSucceeded();
+    }
+
+    /**
+     * Successfully generated maps per minute of wall time.
+     */
+    public double mapsPerMinute(){
+        if(wallNanos <= 0){
+            return 0;
+        }
+        return numSucceeded() * 60e9 / wallNanos;
+    }
+
+    public long totalNanos(GenerationStage stage){
+        long total = 0;
+        for(JobResult result : results){
+            total += result.nanos(stage);
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.mason.mapgen.batch;
+
+/**
+ * The stages a batch job runs through, in order.
+ * @author Adam Whittaker
+ */
+public enum GenerationStage{
+
+    NOISE("noise"),
+    CHUNKING("chunking"),
+    SCAFFOLDING("scaffolding"),
+    OUTPUT("output");
+
+
+    private final String label;
+
+
+    GenerationStage(String label){
+        this.label = label;
+    }
+
+
+    public String label(){
+        return label;
+    }
+
+}
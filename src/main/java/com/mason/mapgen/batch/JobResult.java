@@ -0,0 +1,46 @@
+package com.mason.mapgen.batch;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * How long each stage of a job took, and the error which stopped it if it
+ * failed. A failed job only has timings for the stages it finished.
+ * @author Adam Whittaker
+ */
+public record JobResult(BatchJob job, Map<GenerationStage, Long> stageNanos, Throwable failure){
+
+
+    public JobResult{
+        Map<GenerationStage, Long> copy = new EnumMap<>(GenerationStage.class);
+        copy.putAll(stageNanos);
+        stageNanos = copy;
+    }
+
+
+    public static JobResult succeeded(BatchJob job, Map<GenerationStage, Long> stageNanos){
+        return new JobResult(job, stageNanos, null);
+    }
+
+    public static JobResult failed(BatchJob job, Map<GenerationStage, Long> stageNanos, Throwable failure){
+        return new JobResult(job, stageNanos, failure);
+    }
+
+
+    public boolean isSuccess(){
+        return failure == null;
+    }
+
+    public long nanos(GenerationStage stage){
+        return stageNanos.getOrDefault(stage, 0L);
+    }
+
+    public long totalNanos(){
+        long total = 0;
+        for(long nanos : stageNanos.values()){
+            total += nanos;
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.mason.mapgen.batch;
+
+import com.mason.mapgen.metrics.MetricsRegistry;
+import com.mason.mapgen.metrics.StageTimer;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.procgen.noise.Noise;
+import com.mason.mapgen.procgen.noise.NoiseCache;
+import com.mason.mapgen.procgen.noise.NoiseKey;
+import com.mason.mapgen.procgen.noise.PerlinNoise;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Seed;
+import com.mason.mapgen.world.World;
+import com.mason.mapgen.world.WorldCentroidData;
+import com.mason.mapgen.world.WorldScaffold;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Generates one map from start to finish on the calling thread: elevation
+ * and moisture noise, Voronoi chunks, the world points built from them, and
+ * finally the images written to the job's output directory.
+ * Every random choice comes from the job's seed, so rerunning a job gives
+ * the same files. Each stage is also recorded in the global metrics registry,
+ * as "MapGenerationJob.noise" and so on.
+ * Given a {@link NoiseCache}, the noise layers are taken from it, so jobs
+ * which share a seed and size share their noise.
+ * @author Adam Whittaker
+ */
+public class MapGenerationJob implements Callable<JobResult>{
+
+
+    static final double NOISE_AMPLITUDE = 1;
+    static final int NOISE_OCTAVES = 8;
+    static final double NOISE_LACUNARITY = 0.5;
+    static final double NOISE_PERSISTENCE = 0.5;
+    static final double SEA_LEVEL = 0.45;
+
+    private final BatchJob job;
+    private final Path outputDirectory;
+    private final NoiseCache noiseCache;
+    private final Map<GenerationStage, Long> stageNanos = new EnumMap<>(GenerationStage.class);
+
+    private DoubleGrid elevation;
+    private DoubleGrid moisture;
+    private ChunkingGrid<WorldCentroidData> chunkingGrid;
+    private World world;
+
+
+    public MapGenerationJob(BatchJob job, Path outputRoot){
+        this(job, outputRoot, null);
+    }
+
+    public MapGenerationJob(BatchJob job, Path outputRoot, NoiseCache noiseCache){
+        this.job = job;
+        outputDirectory = outputRoot.resolve(job.name());
+        this.noiseCache = noiseCache;
+    }
+
+
+    @Override
+    public JobResult call(){
+        try{
+            timeStage(GenerationStage.NOISE, this::generateNoise);
+            timeStage(GenerationStage.CHUNKING, this::createChunks);
+            timeStage(GenerationStage.SCAFFOLDING, this::buildWorld);
+            timeStage(GenerationStage.OUTPUT, this::writeOutputs);
+            return JobResult.succeeded(job, stageNanos);
+        }catch(Exception | OutOfMemoryError e){
+            return JobResult.failed(job, stageNanos, e);
+        }
+    }
+
+    private void timeStage(GenerationStage stage, StageAction action) throws Exception{
+        long start = System.nanoTime();
+        StageTimer timer = MetricsRegistry.global().time("MapGenerationJob." + stage.label());
+        try{
+            action.run();
+        }finally{
+            timer.close();
+        }
+        stageNanos.put(stage, System.nanoTime() - start);
+    }
+
+    private void generateNoise(){
+        elevation = generateNormalisedNoise("elevation");
+        moisture = generateNormalisedNoise("moisture");
+    }
+
+    private DoubleGrid generateNormalisedNoise(String stage){
+        if(noiseCache == null){
+            return generateNormalisedNoise(job.seed().derive(stage));
+        }
+        NoiseKey key = NoiseKey.of("normalisedPerlin", job.size(), job.seed().derive(stage), NOISE_AMPLITUDE,
+                NOISE_OCTAVES, NOISE_LACUNARITY, NOISE_PERSISTENCE);
+        return noiseCache.get(key, () -> generateNormalisedNoise(key.seed()));
+    }
+
+    private DoubleGrid generateNormalisedNoise(Seed seed){
+        Noise noise = new PerlinNoise(job.size(), seed, NOISE_AMPLITUDE,
+                NOISE_OCTAVES, NOISE_LACUNARITY, NOISE_PERSISTENCE);
+        noise.generateNoise();
+        noise.normalise();
+        return noise.getGrid();
+    }
+
+    private void createChunks(){
+        VoronoiChunker<WorldCentroidData> chunker = VoronoiChunker.buildWithDistanceTransform(job.size(),
+                job.numChunks(), job.lloydRelaxCount(), job.seed(), WorldCentroidData::new,
+                AnnexQueries::euclideanQuery, null);
+        chunker.createChunks();
+        chunkingGrid = chunker.getGrid();
+    }
+
+    private void buildWorld(){
+        world = new World(new WorldScaffold(chunkingGrid, elevation, moisture, SEA_LEVEL));
+    }
+
+    private void writeOutputs() throws Exception{
+        Files.createDirectories(outputDirectory);
+        WorldImageWriter.writeTerrain(world.getMap(), outputDirectory.resolve("terrain.png"));
+        WorldImageWriter.writeChunks(chunkingGrid, outputDirectory.resolve("chunks.png"));
+    }
+
+
+    private interface StageAction{
+
+        void run() throws Exception;
+
+    }
+
+}
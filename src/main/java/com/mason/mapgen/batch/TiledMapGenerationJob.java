@@ -0,0 +1,237 @@
+package com.mason.mapgen.batch;
+
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.mapgen.metrics.MetricsRegistry;
+import com.mason.mapgen.metrics.StageTimer;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.JitteredVoronoiField;
+import com.mason.mapgen.procgen.noise.HashedPerlinLattice;
+import com.mason.mapgen.procgen.noise.PerlinNoiseField;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.world.Biome;
+import com.mason.mapgen.world.tiles.TileCodec;
+import com.mason.mapgen.world.tiles.TileLayout;
+import com.mason.mapgen.world.tiles.TiledWorldHeader;
+import com.mason.mapgen.world.tiles.TiledWorldWriter;
+import com.mason.mapgen.world.tiles.WorldTile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates a map too large to hold in memory one tile at a time, streaming
+ * each finished tile to a {@link TiledWorldWriter} file in the job's output
+ * directory. Tiles are shared between a fixed number of workers, so at most
+ * that many tiles are held in memory at once whatever the size of the map.
+ * Every stage can be worked out for a tile from the tile alone: the noise
+ * comes from a hashed lattice, and the chunks from a
+ * {@link JitteredVoronoiField} which looks two cells past the tile's edge.
+ * The only thing shared between tiles is the range of the noise, which is
+ * found by a first pass over every tile before any are written, so the
+ * normalised values match those of a map generated in one piece.
+ * Stage times are summed over tiles, so with several workers they can add up
+ * to more than the wall time of the job. The job's Lloyd relaxation count is
+ * not used.
+ * @author Adam Whittaker
+ */
+public class TiledMapGenerationJob implements Callable<JobResult>{
+
+
+    public static final String FILE_NAME = "world.tiles";
+    private static final double CENTROID_JITTER = 1;
+
+    private final BatchJob job;
+    private final Path outputDirectory;
+    private final TileLayout layout;
+    private final int numWorkers;
+    private final Map<GenerationStage, LongAdder> stageNanos = new EnumMap<>(GenerationStage.class);
+
+    private final PerlinNoiseField elevation;
+    private final PerlinNoiseField moisture;
+    private final JitteredVoronoiField chunks;
+    private NoiseRanges ranges;
+
+
+    public TiledMapGenerationJob(BatchJob job, Path outputRoot, int tileSize, int numWorkers){
+        if(numWorkers < 1){
+            throw new IllegalArgumentException("There must be at least one worker!");
+        }
+        this.job = job;
+        outputDirectory = outputRoot.resolve(job.name());
+        layout = new TileLayout(job.size(), tileSize);
+        this.numWorkers = numWorkers;
+        for(GenerationStage stage : GenerationStage.values()){
+            stageNanos.put(stage, new LongAdder());
+        }
+        elevation = buildNoiseField("elevation");
+        moisture = buildNoiseField("moisture");
+        chunks = new JitteredVoronoiField(job.size(), job.numChunks(), job.seed(), CENTROID_JITTER);
+    }
+
+    private PerlinNoiseField buildNoiseField(String stage){
+        return new PerlinNoiseField(new HashedPerlinLattice(job.size(), job.seed().derive(stage)),
+                MapGenerationJob.NOISE_AMPLITUDE, MapGenerationJob.NOISE_OCTAVES,
+                MapGenerationJob.NOISE_LACUNARITY, MapGenerationJob.NOISE_PERSISTENCE);
+    }
+
+
+    public Path getOutputFile(){
+        return outputDirectory.resolve(FILE_NAME);
+    }
+
+    @Override
+    public JobResult call(){
+        ExecutorService workers = Executors.newFixedThreadPool(numWorkers);
+        try{
+            measureNoiseRanges(workers);
+            generateTiles(workers);
+            return JobResult.succeeded(job, totalStageNanos());
+        }catch(Exception | OutOfMemoryError e){
+            return JobResult.failed(job, totalStageNanos(), e);
+        }finally{
+            workers.shutdownNow();
+        }
+    }
+
+    private Map<GenerationStage, Long> totalStageNanos(){
+        Map<GenerationStage, Long> totals = new EnumMap<>(GenerationStage.class);
+        stageNanos.forEach((stage, nanos) -> totals.put(stage, nanos.sum()));
+        return totals;
+    }
+
+    private void measureNoiseRanges(ExecutorService workers) throws Exception{
+        List<Future<NoiseRanges>> futures = new ArrayList<>();
+        for(int tileIdx=0; tileIdx<layout.numTiles(); tileIdx++){
+            TileTask task = new TileTask(tileIdx);
+            futures.add(workers.submit(task::measureNoise));
+        }
+        NoiseRanges merged = null;
+        for(Future<NoiseRanges> future : futures){
+            NoiseRanges tileRanges = await(future);
+            merged = merged == null ? tileRanges : merged.merge(tileRanges);
+        }
+        ranges = merged;
+    }
+
+    private void generateTiles(ExecutorService workers) throws Exception{
+        Files.createDirectories(outputDirectory);
+        TiledWorldHeader header = new TiledWorldHeader(job.size(), layout.tileSize(),
+                job.seed().value(), chunks.numChunks(), TileCodec.RAW);
+        try(TiledWorldWriter writer = new TiledWorldWriter(getOutputFile(), header, chunks::getCentroidCoord)){
+            List<Future<Void>> futures = new ArrayList<>();
+            for(int tileIdx=0; tileIdx<layout.numTiles(); tileIdx++){
+                TileTask task = new TileTask(tileIdx);
+                futures.add(workers.submit(() -> task.generate(writer)));
+            }
+            for(Future<Void> future : futures){
+                await(future);
+            }
+        }
+    }
+
+    private static <V> V await(Future<V> future) throws Exception{
+        try{
+            return future.get();
+        }catch(ExecutionException e){
+            if(e.getCause() instanceof Exception cause) throw cause;
+            if(e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private void timeStage(GenerationStage stage, StageAction action) throws Exception{
+        long start = System.nanoTime();
+        StageTimer timer = MetricsRegistry.global().time("TiledMapGenerationJob." + stage.label());
+        try{
+            action.run();
+        }finally{
+            timer.close();
+        }
+        stageNanos.get(stage).add(System.nanoTime() - start);
+    }
+
+    /**
+     * Matches {@link com.mason.mapgen.procgen.noise.Noise#normalise()}.
+     */
+    private static double normalise(double value, double min, double max){
+        double range = max - min;
+        return range == 0 ? 0.5 : (value - min)/range;
+    }
+
+
+    /**
+     * The work for one tile. It holds the tile's grids only while it runs.
+     */
+    private final class TileTask{
+
+
+        private final int tileIdx;
+        private final RectQuery region;
+        private DoubleGrid elevationTile;
+        private DoubleGrid moistureTile;
+        private WorldTile tile;
+
+
+        private TileTask(int tileIdx){
+            this.tileIdx = tileIdx;
+            region = layout.tileRect(tileIdx);
+        }
+
+
+        private NoiseRanges measureNoise() throws Exception{
+            timeStage(GenerationStage.NOISE, this::sampleNoise);
+            return new NoiseRanges(elevationTile.min(), elevationTile.max(), moistureTile.min(), moistureTile.max());
+        }
+
+        private Void generate(TiledWorldWriter writer) throws Exception{
+            tile = new WorldTile(region);
+            timeStage(GenerationStage.NOISE, this::sampleNoise);
+            timeStage(GenerationStage.CHUNKING, () -> chunks.assignRegion(region, tile.getCentroidIDs()));
+            timeStage(GenerationStage.SCAFFOLDING, this::buildPoints);
+            timeStage(GenerationStage.OUTPUT, () -> writer.writeTile(tileIdx, tile));
+            return null;
+        }
+
+        private void sampleNoise(){
+            elevationTile = elevation.sample(region);
+            moistureTile = moisture.sample(region);
+        }
+
+        private void buildPoints(){
+            for(int idx=0; idx<tile.numPoints(); idx++){
+                double pointElevation = normalise(elevationTile.getByIndex(idx), ranges.elevationMin(), ranges.elevationMax());
+                double pointMoisture = normalise(moistureTile.getByIndex(idx), ranges.moistureMin(), ranges.moistureMax());
+                Biome biome = pointElevation < MapGenerationJob.SEA_LEVEL ? Biome.OCEAN : Biome.UNSET_LAND;
+                tile.setPoint(idx, pointElevation, pointMoisture, biome);
+            }
+        }
+
+    }
+
+
+    private record NoiseRanges(double elevationMin, double elevationMax, double moistureMin, double moistureMax){
+
+        private NoiseRanges merge(NoiseRanges other){
+            return new NoiseRanges(Math.min(elevationMin, other.elevationMin), Math.max(elevationMax, other.elevationMax),
+                    Math.min(moistureMin, other.moistureMin), Math.max(moistureMax, other.moistureMax));
+        }
+
+    }
+
+
+    private interface StageAction{
+
+        void run() throws Exception;
+
+    }
+
+}
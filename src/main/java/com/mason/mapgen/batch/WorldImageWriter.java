@@ -0,0 +1,95 @@
+package com.mason.mapgen.batch;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.world.Biome;
+import com.mason.mapgen.world.WorldColumns;
+import com.mason.mapgen.world.WorldMap;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static com.mason.mapgen.core.Utils.getPixelMask;
+import static com.mason.mapgen.core.Utils.lerp;
+
+/**
+ * Writes generated maps as PNG images without needing a display.
+ * @author Adam Whittaker
+ */
+public final class WorldImageWriter{
+
+
+    private static final int BORDER_RGB = 0x202020;
+
+
+    private WorldImageWriter(){}
+
+
+    /**
+     * Shades the sea from dark to light blue up to sea level, and the land
+     * from green to white above it.
+     */
+    public static void writeTerrain(WorldMap map, Path file) throws IOException{
+        Size size = map.getSize();
+        WorldColumns columns = map.getColumns();
+        BufferedImage image = new BufferedImage(size.width(), size.height(), BufferedImage.TYPE_INT_RGB);
+        int[] pixels = getPixelMask(image);
+        for(int y=0; y<size.height(); y++){
+            for(int x=0; x<size.width(); x++){
+                pixels[y*size.width() + x] = terrainColor(columns.elevation(x, y), columns.biome(x, y));
+            }
+        }
+        write(image, file);
+    }
+
+    private static int terrainColor(double elevation, Biome biome){
+        if(biome.isLand()){
+            return rgb(lerp(70, 240, elevation), lerp(140, 240, elevation), lerp(60, 240, elevation));
+        }
+        return rgb(lerp(20, 60, elevation), lerp(40, 110, elevation), lerp(120, 190, elevation));
+    }
+
+    /**
+     * Gives each chunk a colour picked from its centroid, and darkens the
+     * points where one chunk meets another.
+     */
+    public static void writeChunks(ChunkingGrid<?> grid, Path file) throws IOException{
+        Size size = grid.size();
+        BufferedImage image = new BufferedImage(size.width(), size.height(), BufferedImage.TYPE_INT_RGB);
+        int[] pixels = getPixelMask(image);
+        for(int y=0; y<size.height(); y++){
+            for(int x=0; x<size.width(); x++){
+                int pointIdx = y*size.width() + x;
+                int centroidID = grid.centroidID(pointIdx);
+                pixels[pointIdx] = onChunkBorder(grid, x, y, centroidID) ? BORDER_RGB : chunkColor(grid, centroidID);
+            }
+        }
+        write(image, file);
+    }
+
+    private static boolean onChunkBorder(ChunkingGrid<?> grid, int x, int y, int centroidID){
+        Size size = grid.size();
+        if(x+1 < size.width() && grid.centroidID(y*size.width() + x+1) != centroidID){
+            return true;
+        }
+        return y+1 < size.height() && grid.centroidID((y+1)*size.width() + x) != centroidID;
+    }
+
+    private static int chunkColor(ChunkingGrid<?> grid, int centroidID){
+        int hash = (grid.centroidX(centroidID) * 73856093) ^ (grid.centroidY(centroidID) * 19349663);
+        return 0x404040 | (hash & 0xBFBFBF);
+    }
+
+    private static int rgb(int red, int green, int blue){
+        return (red << 16) | (green << 8) | blue;
+    }
+
+    private static void write(BufferedImage image, Path file) throws IOException{
+        if(!ImageIO.write(image, "png", file.toFile())){
+            throw new IOException("No PNG writer is available!");
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.mason.mapgen.core;
+
+import com.mason.mapgen.batch.BatchGenerator;
+import com.mason.mapgen.batch.BatchJob;
+import com.mason.mapgen.batch.BatchJobFile;
+import com.mason.mapgen.batch.BatchReport;
+import com.mason.mapgen.batch.BatchRun;
+import com.mason.mapgen.metrics.MetricsRegistry;
+import com.mason.mapgen.procgen.noise.NoiseCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Generates the maps listed in a job file without opening a window.
+ * Usage: BatchMain jobFile outputDirectory [workers] [--tiled tileSize]
+ * Workers default to the number of processors. With --tiled, each map is
+ * generated and streamed to a tiled world file one tile at a time, for maps
+ * larger than the heap, instead of being written as images. Untiled jobs
+ * share their noise layers through a cache of up to a quarter of the heap.
+ * The stage metrics of the whole run are written to metrics.json in the
+ * output directory, so nightly runs can be compared. Exits with status 1 if
+ * any job fails and 2 if the arguments or job file are invalid.
+ * @author Adam Whittaker
+ */
+public class BatchMain{
+
+
+    private static final String TILED_OPTION = "--tiled";
+    private static final int NOISE_CACHE_HEAP_FRACTION = 4;
+
+
+    public static void main(String[] args) throws IOException, InterruptedException{
+        System.setProperty("java.awt.headless", "true");
+        int tileSize = BatchGenerator.UNTILED;
+        int numArgs = args.length;
+        if(numArgs >= 2 && args[numArgs - 2].equals(TILED_OPTION)){
+            tileSize = parseOrExit(args[numArgs - 1]);
+            numArgs -= 2;
+        }
+        if(numArgs < 2 || numArgs > 3){
+            System.err.println("Usage: BatchMain jobFile outputDirectory [workers] [" + TILED_OPTION + " tileSize]");
+            System.exit(2);
+        }
+        List<BatchJob> jobs;
+        int numWorkers;
+        BatchGenerator generator;
+        Path outputDirectory = Path.of(args[1]);
+        try{
+            jobs = BatchJobFile.read(Path.of(args[0]));
+            numWorkers = numArgs == 3 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            generator = new BatchGenerator(numWorkers, outputDirectory, tileSize,
+                    new NoiseCache(Runtime.getRuntime().maxMemory() / NOISE_CACHE_HEAP_FRACTION));
+        }catch(IllegalArgumentException e){
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        BatchRun run = generator.run(jobs);
+        BatchReport.print(run, System.out);
+        Files.createDirectories(outputDirectory);
+        MetricsRegistry.global().writeJson(outputDirectory.resolve("metrics.json"));
+        if(run.numFailed() > 0){
+            System.exit(1);
+        }
+    }
+
+    private static int parseOrExit(String tileSize){
+        try{
+            int parsed = Integer.parseInt(tileSize);
+            if(parsed > 0) return parsed;
+        }catch(NumberFormatException ignored){}
+        System.err.println("The tile size must be a positive integer!");
+        System.exit(2);
+        return BatchGenerator.UNTILED;
+    }
+
+}
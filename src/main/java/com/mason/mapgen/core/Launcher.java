@@ -8,6 +8,7 @@ import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
 import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
 import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunkerBuilder;
+import com.mason.mapgen.structures.records.Seed;
 
 
 public class Launcher{
@@ -15,8 +16,10 @@ public class Launcher{
 
     public static void launch(){
 
-        VoronoiChunker<PaintCentroidData> chunker = VoronoiChunker.build(new Size(1200, 1200),
-                2400, 0, PaintCentroidData::new, AnnexQueries::randomQuery);
+        Seed seed = Seed.random();
+        System.out.println("Random seed: " + seed.value());
+        VoronoiChunker<PaintCentroidData> chunker = VoronoiChunker.build(new Size(1200, 1200), 2400, 0, seed,
+                PaintCentroidData.initializer(seed.derive("centroidColours")), AnnexQueries.randomQuery(seed.derive("annex")));
         chunker.createChunks();
         ChunkingGrid<PaintCentroidData> chunkingGrid = chunker.getGrid();
         chunkingGrid.updateMaxDistToCentroid();
@@ -0,0 +1,171 @@
+package com.mason.mapgen.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collects the totals of every instrumented stage in the process. Stages are
+ * named by the class and method they wrap, such as "VoronoiChunker.lloydRelax".
+ * Recording is thread safe and costs a few counter reads per stage run, so
+ * the global registry is always on unless disabled.
+ * @author Adam Whittaker
+ */
+public final class MetricsRegistry{
+
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentMap<String, StageStats> stages = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+
+
+    public static MetricsRegistry global(){
+        return GLOBAL;
+    }
+
+
+    public void setEnabled(boolean enabled){
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * Starts timing a run of the stage. Close the timer when the stage ends.
+     */
+    public StageTimer time(String stage){
+        return enabled ? new StageTimer(this, stage) : StageTimer.DISABLED;
+    }
+
+    /**
+     * Runs the action as a run of the stage.
+     */
+    public void time(String stage, Runnable action){
+        StageTimer timer = time(stage);
+        try{
+            action.run();
+        }finally{
+            timer.close();
+        }
+    }
+
+    /**
+     * Runs the action as a run of the stage and returns its result.
+     */
+    public <T> T time(String stage, Supplier<T> action){
+        StageTimer timer = time(stage);
+        try{
+            return action.get();
+        }finally{
+            timer.close();
+        }
+    }
+
+    void record(String stage, long wallNanos, long cpuNanos, long allocatedBytes){
+        stages.computeIfAbsent(stage, name -> new StageStats()).add(wallNanos, cpuNanos, allocatedBytes);
+    }
+
+    public void reset(){
+        stages.clear();
+    }
+
+
+    /**
+     * Returns the totals of the stage, or null if it has not run.
+     */
+    public StageSnapshot snapshot(String stage){
+        StageStats stats = stages.get(stage);
+        return stats == null ? null : stats.snapshot();
+    }
+
+    /**
+     * Returns the totals of every stage which has run, sorted by name.
+     */
+    public Map<String, StageSnapshot> snapshot(){
+        Map<String, StageSnapshot> snapshots = new TreeMap<>();
+        stages.forEach((stage, stats) -> snapshots.put(stage, stats.snapshot()));
+        return snapshots;
+    }
+
+
+    /**
+     * Dumps every stage as a JSON object keyed by stage name, along with
+     * whether CPU time and allocation could be measured.
+     */
+    public String toJson(){
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"cpuTimeSupported\": ").append(StageTimer.isCpuTimeSupported()).append(",\n");
+        json.append("  \"allocationSupported\": ").append(StageTimer.isAllocationSupported()).append(",\n");
+        json.append("  \"stages\": {");
+        String separator = "\n";
+        for(Map.Entry<String, StageSnapshot> entry : snapshot().entrySet()){
+            json.append(separator);
+            appendStage(json, entry.getKey(), entry.getValue());
+            separator = ",\n";
+        }
+        json.append(separator.equals("\n") ? "}\n" : "\n  }\n");
+        return json.append("}\n").toString();
+    }
+
+    private static void appendStage(StringBuilder json, String stage, StageSnapshot snapshot){
+        json.append("    \"").append(escape(stage)).append("\": {")
+                .append("\"count\": ").append(snapshot.count())
+                .append(", \"wallNanos\": ").append(snapshot.wallNanos())
+                .append(", \"maxWallNanos\": ").append(snapshot.maxWallNanos())
+                .append(", \"cpuNanos\": ").append(snapshot.cpuNanos())
+                .append(", \"allocatedBytes\": ").append(snapshot.allocatedBytes())
+                .append('}');
+    }
+
+    private static String escape(String text){
+        StringBuilder escaped = new StringBuilder();
+        for(char c : text.toCharArray()){
+            if(c == '"' || c == '\\'){
+                escaped.append('\\').append(c);
+            }else if(c < 0x20){
+                escaped.append(String.format("\\u%04x", (int) c));
+            }else{
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    public void writeJson(Path file) throws IOException{
+        Files.writeString(file, toJson());
+    }
+
+
+    private static final class StageStats{
+
+
+        private long count;
+        private long wallNanos;
+        private long maxWallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+
+
+        private synchronized void add(long wall, long cpu, long allocated){
+            count++;
+            wallNanos += wall;
+            maxWallNanos = Math.max(maxWallNanos, wall);
+            cpuNanos += cpu;
+            allocatedBytes += allocated;
+        }
+
+        private synchronized StageSnapshot snapshot(){
+            return new StageSnapshot(count, wallNanos, maxWallNanos, cpuNanos, allocatedBytes);
+        }
+
+    }
+
+}
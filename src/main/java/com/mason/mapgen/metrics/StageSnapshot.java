@@ -0,0 +1,17 @@
+package com.mason.mapgen.metrics;
+
+/**
+ * The totals recorded for one stage: how many times it ran, and the wall
+ * time, CPU time and heap allocated across all of those runs. CPU time and
+ * allocation are those of the thread which ran the stage, so work the stage
+ * hands to a pool is only counted in its wall time.
+ * @author Adam Whittaker
+ */
+public record StageSnapshot(long count, long wallNanos, long maxWallNanos, long cpuNanos, long allocatedBytes){
+
+
+    public double meanWallNanos(){
+        return count == 0 ? 0 : (double) wallNanos / count;
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.mason.mapgen.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures one run of a stage on the current thread, from creation until it
+ * is closed, and records it in its registry. Most stages are timed through
+ * {@link MetricsRegistry#time(String, Runnable)}, which closes the timer
+ * itself; a stage whose body throws checked exceptions closes it in a
+ * finally block.
+ * CPU time and allocated bytes come from the thread's ThreadMXBean counters
+ * and are recorded as zero where the JVM does not support them.
+ * @author Adam Whittaker
+ */
+public final class StageTimer implements AutoCloseable{
+
+
+    static final StageTimer DISABLED = new StageTimer();
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported()
+            && THREADS.isThreadCpuTimeEnabled();
+    private static final com.sun.management.ThreadMXBean ALLOCATION_THREADS = allocationThreads();
+
+    private final MetricsRegistry registry;
+    private final String stage;
+    private final long startWall;
+    private final long startCpu;
+    private final long startAllocated;
+
+
+    private StageTimer(){
+        registry = null;
+        stage = null;
+        startWall = startCpu = startAllocated = 0;
+    }
+
+    StageTimer(MetricsRegistry registry, String stage){
+        this.registry = registry;
+        this.stage = stage;
+        startAllocated = currentThreadAllocatedBytes();
+        startCpu = currentThreadCpuTime();
+        startWall = System.nanoTime();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationThreads(){
+        if(THREADS instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()){
+            return threads;
+        }
+        return null;
+    }
+
+
+    public static boolean isCpuTimeSupported(){
+        return CPU_TIME_SUPPORTED;
+    }
+
+    public static boolean isAllocationSupported(){
+        return ALLOCATION_THREADS != null;
+    }
+
+    private static long currentThreadCpuTime(){
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long currentThreadAllocatedBytes(){
+        return ALLOCATION_THREADS == null ? 0 : ALLOCATION_THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+
+    @Override
+    public void close(){
+        if(registry == null){
+            return;
+        }
+        long wall = System.nanoTime() - startWall;
+        long cpu = currentThreadCpuTime() - startCpu;
+        long allocated = currentThreadAllocatedBytes() - startAllocated;
+        registry.record(stage, wall, cpu, allocated);
+    }
+
+}
@@ -10,9 +10,11 @@ import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
 import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
 import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunkerBuilder;
 import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunkerSkeleton;
+import com.mason.mapgen.structures.records.Seed;
 
 import java.awt.*;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 import static com.mason.mapgen.procgen.algorithms.misc.RandomCoords.generateRandomCoordWithinClip;
 
@@ -30,10 +32,12 @@ public class BrushColorDisplayBuilder{
     }
 
     private static ChunkingGrid<PaintCentroidData> buildGrid(Size size, CoordSlot coordSlot){
+        Seed seed = Seed.random();
         VoronoiChunkerSkeleton<PaintCentroidData> voronoiChunkerSkeleton =
-                VoronoiChunkerBuilder.buildSkeleton(size, -1, 0, PaintCentroidData::new, AnnexQueries::randomQuery);
+                VoronoiChunkerBuilder.buildSkeleton(size, -1, 0, seed, PaintCentroidData.initializer(seed.derive("centroidColours")),
+                        AnnexQueries.randomQuery(seed.derive("annex")));
         voronoiChunkerSkeleton.preventCentroidGraph();
-        voronoiChunkerSkeleton.setRandomCoordGenerator((boundingSize, numCoords) -> generateCoords(boundingSize, coordSlot));
+        voronoiChunkerSkeleton.setRandomCoordGenerator((boundingSize, numCoords, random) -> generateCoords(boundingSize, coordSlot, random));
         VoronoiChunker<PaintCentroidData> chunker = VoronoiChunker.buildFromSkeleton(voronoiChunkerSkeleton);
         chunker.createChunks();
         ChunkingGrid<PaintCentroidData> grid = chunker.getGrid();
@@ -41,43 +45,43 @@ public class BrushColorDisplayBuilder{
         return grid;
     }
 
-    private static Set<Coord> generateCoords(Size size, CoordSlot coordSlot){
+    private static Set<Coord> generateCoords(Size size, CoordSlot coordSlot, RandomGenerator random){
         int w = size.width()/6;
         int h = size.height()/6;
-        addRandomInnerCoordsToCoordSlot(w, h, coordSlot);
-        return buildCentroidSet(w, h, coordSlot);
+        addRandomInnerCoordsToCoordSlot(w, h, coordSlot, random);
+        return buildCentroidSet(w, h, coordSlot, random);
     }
 
-    private static void addRandomInnerCoordsToCoordSlot(int w, int h, CoordSlot coordSlot){
-        Coord primary = generateRandomCoordWithinClip(new Rect(w, h, w, 4*h));
-        Coord average = generateRandomCoordWithinClip(new Rect(2*w, h, 2*w, 4*h));
-        Coord secondary = generateRandomCoordWithinClip(new Rect(4*w, h, 2*w, 4*h));
+    private static void addRandomInnerCoordsToCoordSlot(int w, int h, CoordSlot coordSlot, RandomGenerator random){
+        Coord primary = generateRandomCoordWithinClip(new Rect(w, h, w, 4*h), random);
+        Coord average = generateRandomCoordWithinClip(new Rect(2*w, h, 2*w, 4*h), random);
+        Coord secondary = generateRandomCoordWithinClip(new Rect(4*w, h, 2*w, 4*h), random);
         coordSlot.setPrimary(primary);
         coordSlot.setAverage(average);
         coordSlot.setSecondary(secondary);
     }
 
-    private static Set<Coord> buildCentroidSet(int w, int h, CoordSlot filledCoordSlot){
+    private static Set<Coord> buildCentroidSet(int w, int h, CoordSlot filledCoordSlot, RandomGenerator random){
         Set<Coord> coords = new HashSet<>();
         coords.add(filledCoordSlot.getPrimary());
         coords.add(filledCoordSlot.getSecondary());
         coords.add(filledCoordSlot.getAverage());
-        addHorizontalBarsOfRandomCentroidsToSet(w, h, coords);
-        addVerticalBarsOfRandomCentroidsToSet(w, h, coords);
+        addHorizontalBarsOfRandomCentroidsToSet(w, h, coords, random);
+        addVerticalBarsOfRandomCentroidsToSet(w, h, coords, random);
         return coords;
     }
 
-    private static void addHorizontalBarsOfRandomCentroidsToSet(int w, int h, Set<Coord> coords){
+    private static void addHorizontalBarsOfRandomCentroidsToSet(int w, int h, Set<Coord> coords, RandomGenerator random){
         for(int i = 0; i<6; i++){
-            coords.add(generateRandomCoordWithinClip(new Rect(i*w, 0, w, h)));
-            coords.add(generateRandomCoordWithinClip(new Rect(i*w, 5*h, w, h)));
+            coords.add(generateRandomCoordWithinClip(new Rect(i*w, 0, w, h), random));
+            coords.add(generateRandomCoordWithinClip(new Rect(i*w, 5*h, w, h), random));
         }
     }
 
-    private static void addVerticalBarsOfRandomCentroidsToSet(int w, int h, Set<Coord> coords){
+    private static void addVerticalBarsOfRandomCentroidsToSet(int w, int h, Set<Coord> coords, RandomGenerator random){
         for(int i = 1; i<=4; i++){
-            coords.add(generateRandomCoordWithinClip(new Rect(0, i*h, w, h)));
-            coords.add(generateRandomCoordWithinClip(new Rect(5*w, i*h, w, h)));
+            coords.add(generateRandomCoordWithinClip(new Rect(0, i*h, w, h), random));
+            coords.add(generateRandomCoordWithinClip(new Rect(5*w, i*h, w, h), random));
         }
     }
 
@@ -91,7 +95,7 @@ public class BrushColorDisplayBuilder{
     }
 
     private static void makeOuterCentroidsTransparent(ChunkingGrid<PaintCentroidData> grid, CoordSlot innerCentroids){
-        for(Short centroidID : grid.getAllCentroidIDs()){
+        for(Integer centroidID : grid.getAllCentroidIDs()){
             if(!innerCentroids.contains(grid.getCentroidCoord(centroidID))){
                 setCentroidTransparent(grid.getCentroidDataByID(centroidID));
             }
@@ -20,6 +20,7 @@ import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
 import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunkerBuilder;
 import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunkerSkeleton;
+import com.mason.mapgen.structures.records.Seed;
 
 public class PaintGUIStateBuilder{
 
@@ -96,8 +97,10 @@ public class PaintGUIStateBuilder{
     }
 
     private static VoronoiChunker<PaintCentroidData> constructPaletteChunker(Size paletteSize, int numChunks){
+        Seed seed = Seed.random();
         VoronoiChunkerSkeleton<PaintCentroidData> paletteChunkerSkeleton =
-                VoronoiChunkerBuilder.buildSkeleton(paletteSize, numChunks, 1, PaintCentroidData::new, AnnexQueries::manhattanQuery);
+                VoronoiChunkerBuilder.buildSkeleton(paletteSize, numChunks, 1, seed,
+                        PaintCentroidData.initializer(seed.derive("centroidColours")), AnnexQueries::manhattanQuery);
         paletteChunkerSkeleton.preventCentroidGraph();
         return VoronoiChunker.buildFromSkeleton(paletteChunkerSkeleton);
     }
@@ -0,0 +1,36 @@
+package com.mason.mapgen.paint.components;
+
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The image behind a {@link GridImageComponent}, in one of its
+ * {@link GridImageComponent.RenderMode render modes}.
+ */
+interface ChunkImage{
+
+    /**
+     * The image to draw. It may be a different object after a repaint.
+     */
+    BufferedImage getImage();
+
+    /**
+     * Redraws every point of the grid, in row bands on the pool.
+     */
+    void repaintAll(ChunkingGrid<PaintCentroidData> grid, ForkJoinPool pool);
+
+    /**
+     * Redraws every point in the clip from the grid.
+     */
+    void repaintClip(ChunkingGrid<PaintCentroidData> grid, RectQuery clip);
+
+    /**
+     * Brings the given chunks up to date with their colours.
+     */
+    void repaintChunks(ChunkingGrid<PaintCentroidData> grid, BitSet centroidIDs);
+
+}
@@ -0,0 +1,87 @@
+package com.mason.mapgen.paint.components;
+
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkSpanIndex;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.parallel.RowBands;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.mason.mapgen.core.Utils.getPixelMask;
+import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
+
+/**
+ * Holds the colour of every point in an ARGB raster. Recolouring a chunk
+ * writes all of its points, found through the grid's span index.
+ */
+final class DirectChunkImage implements ChunkImage{
+
+
+    private final BufferedImage image;
+    private final int[] pixels;
+
+
+    DirectChunkImage(Size size){
+        image = new BufferedImage(size.width(), size.height(), BufferedImage.TYPE_INT_ARGB);
+        pixels = getPixelMask(image);
+    }
+
+
+    @Override
+    public BufferedImage getImage(){
+        return image;
+    }
+
+    /**
+     * Works out each chunk's colour once into a table, then fills the rows
+     * from it. Points without a chunk are left transparent.
+     */
+    @Override
+    public void repaintAll(ChunkingGrid<PaintCentroidData> grid, ForkJoinPool pool){
+        int[] colors = new int[grid.centroidIDBound()];
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            colors[centroidID] = grid.getCentroidDataByID(centroidID).getColor().getRGB();
+        }
+        int width = grid.size().width();
+        RowBands.forEachBand(grid.size().height(), pool, (yStart, yEnd) -> {
+            for(int pointIdx=yStart*width; pointIdx<yEnd*width; pointIdx++){
+                int centroidID = grid.centroidID(pointIdx);
+                pixels[pointIdx] = centroidID == CENTROID_UNSET ? 0 : colors[centroidID];
+            }
+        });
+    }
+
+    @Override
+    public void repaintClip(ChunkingGrid<PaintCentroidData> grid, RectQuery clip){
+        PaintCentroidData data;
+        for(Integer i : grid.indicesInClip(clip)){
+            data = grid.getCentroidDataByIndex(i);
+            pixels[i] = data.getColor().getRGB();
+        }
+    }
+
+    @Override
+    public void repaintChunks(ChunkingGrid<PaintCentroidData> grid, BitSet centroidIDs){
+        for(int centroidID=centroidIDs.nextSetBit(0); centroidID>=0; centroidID=centroidIDs.nextSetBit(centroidID+1)){
+            repaintChunk(grid, centroidID);
+        }
+    }
+
+    /**
+     * Fills the chunk's own runs of the raster, using the grid's span index.
+     */
+    private void repaintChunk(ChunkingGrid<PaintCentroidData> grid, int centroidID){
+        int rgb = grid.getCentroidDataByID(centroidID).getColor().getRGB();
+        ChunkSpanIndex spans = grid.getSpanIndex();
+        int width = grid.size().width();
+        for(int span=spans.firstSpan(centroidID); span<spans.spanEnd(centroidID); span++){
+            int rowStart = spans.row(span) * width;
+            Arrays.fill(pixels, rowStart + spans.xStart(span), rowStart + spans.xEnd(span), rgb);
+        }
+    }
+
+}
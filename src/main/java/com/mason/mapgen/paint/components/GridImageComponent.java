@@ -4,48 +4,114 @@ import com.mason.libgui.core.component.AbstractUIComponent;
 import com.mason.libgui.core.component.HitboxRect;
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.mapgen.metrics.MetricsRegistry;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.awt.image.DataBufferInt;
-
-import static com.mason.mapgen.core.Utils.getPixelMask;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
 
+/**
+ * Shows a chunked grid with every point in the colour of its chunk.
+ * Chunks which change colour are marked dirty rather than repainted straight
+ * away, and all the dirty chunks are repainted together just before the image
+ * is drawn. However many times a chunk is marked between two frames, it is
+ * repainted once, in a colour worked out once. Chunks can be marked from any
+ * thread.
+ * The direct mode, the default, stores each point's colour and rewrites the
+ * points of every repainted chunk. The indexed mode stores each point's chunk
+ * and a palette of each chunk's colour, so a repaint only writes palette
+ * entries and the image takes half the memory. Java2D converts the indexed
+ * image on every draw, though, which costs more per frame than drawing the
+ * direct image, so it suits canvases which are large but rarely repainted.
+ * It holds at most 65535 chunks.
+ */
 public class GridImageComponent extends AbstractUIComponent{
 
 
-    private final BufferedImage image;
-    private final int[] pixels;
+    private final ChunkingGrid<PaintCentroidData> grid;
+    private final ChunkImage chunkImage;
+    private final BitSet dirtyChunks = new BitSet();
 
 
     public GridImageComponent(ChunkingGrid<PaintCentroidData> grid){
+        this(grid, RenderMode.DIRECT);
+    }
+
+    public GridImageComponent(ChunkingGrid<PaintCentroidData> grid, RenderMode mode){
         super(new HitboxRect(new Coord(0, 0), grid.size()));
-        image = new BufferedImage(getSize().width(), getSize().height(), BufferedImage.TYPE_INT_ARGB);
-        pixels = getPixelMask(image);
+        this.grid = grid;
+        chunkImage = switch(mode){
+            case DIRECT -> directImage();
+            case INDEXED -> new IndexedChunkImage(getSize(), grid.centroidIDBound());
+        };
         updateWholeImage(grid);
     }
 
+    private ChunkImage directImage(){
+        if(grid.getSpanIndex() == null){
+            grid.updateSpanIndex();
+        }
+        return new DirectChunkImage(getSize());
+    }
+
 
     public final void updateWholeImage(ChunkingGrid<PaintCentroidData> grid){
-        updateImageInClip(grid, new HitboxRect(new Coord(0, 0), grid.size()));
+        MetricsRegistry.global().time("GridImageComponent.updateWholeImage",
+                () -> chunkImage.repaintAll(grid, ForkJoinPool.commonPool()));
     }
 
     public final void updateImageInClip(ChunkingGrid<PaintCentroidData> grid, RectQuery clip){
-        PaintCentroidData data;
-        for(Integer i : grid.indicesInClip(clip)){
-            data = grid.getCentroidDataByIndex(i);
-            pixels[i] = data.getColor().getRGB();
+        chunkImage.repaintClip(grid, clip);
+    }
+
+
+    public final void markChunkDirty(int centroidID){
+        synchronized(dirtyChunks){
+            dirtyChunks.set(centroidID);
         }
     }
 
+    /**
+     * Repaints every chunk marked since the last repaint. Called before each
+     * frame is drawn, but can be called sooner.
+     */
+    public final void repaintDirtyChunks(){
+        BitSet toRepaint;
+        synchronized(dirtyChunks){
+            if(dirtyChunks.isEmpty()){
+                return;
+            }
+            toRepaint = (BitSet) dirtyChunks.clone();
+            dirtyChunks.clear();
+        }
+        MetricsRegistry.global().time("GridImageComponent.repaintDirtyChunks", () -> chunkImage.repaintChunks(grid, toRepaint));
+    }
+
+
+    /**
+     * The image as it stands, without repainting the dirty chunks first.
+     */
+    BufferedImage getImage(){
+        return chunkImage.getImage();
+    }
 
     @Override
     public void render(Graphics2D g){
-        g.drawImage(image, getCoord().x(), getCoord().y(), null);
+        repaintDirtyChunks();
+        g.drawImage(chunkImage.getImage(), getCoord().x(), getCoord().y(), null);
     }
 
     @Override
     public void tick(){}
 
+
+    public enum RenderMode{
+
+        DIRECT,
+        INDEXED
+
+    }
+
 }
@@ -0,0 +1,105 @@
+package com.mason.mapgen.paint.components;
+
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.parallel.RowBands;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Holds the chunk of every point in a 16 bit indexed raster and the colour of
+ * every chunk in a palette, which is applied when the image is drawn.
+ * Recolouring a chunk only changes its palette entry, so a repaint costs the
+ * number of chunks rather than the number of points. The raster itself is
+ * only written when points are redrawn from the grid.
+ * Entry 0 of the palette is transparent and stands for points without a
+ * chunk, so chunk n has entry n+1 and at most {@link #MAX_CENTROIDS} chunks
+ * fit.
+ */
+final class IndexedChunkImage implements ChunkImage{
+
+
+    static final int MAX_CENTROIDS = (1 << 16) - 1;
+    private static final int NO_CHUNK = 0;
+
+    private final WritableRaster raster;
+    private final short[] entries;
+    private final int[] palette;
+    private BufferedImage image;
+
+
+    IndexedChunkImage(Size size, int centroidIDBound){
+        if(centroidIDBound > MAX_CENTROIDS){
+            throw new IllegalArgumentException("An indexed image cannot hold more than " + MAX_CENTROIDS + " chunks!");
+        }
+        palette = new int[centroidIDBound + 1];
+        IndexColorModel colorModel = buildColorModel();
+        raster = colorModel.createCompatibleWritableRaster(size.width(), size.height());
+        entries = ((DataBufferUShort) raster.getDataBuffer()).getData();
+        image = new BufferedImage(colorModel, raster, false, null);
+    }
+
+
+    @Override
+    public BufferedImage getImage(){
+        return image;
+    }
+
+    @Override
+    public void repaintAll(ChunkingGrid<PaintCentroidData> grid, ForkJoinPool pool){
+        int width = grid.size().width();
+        RowBands.forEachBand(grid.size().height(), pool, (yStart, yEnd) -> {
+            for(int pointIdx=yStart*width; pointIdx<yEnd*width; pointIdx++){
+                entries[pointIdx] = entry(grid, pointIdx);
+            }
+        });
+        refreshPalette(grid);
+    }
+
+    private static short entry(ChunkingGrid<PaintCentroidData> grid, int pointIdx){
+        return grid.hasCentroid(pointIdx) ? (short) (grid.centroidID(pointIdx) + 1) : NO_CHUNK;
+    }
+
+    private void refreshPalette(ChunkingGrid<PaintCentroidData> grid){
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            palette[centroidID + 1] = grid.getCentroidDataByID(centroidID).getColor().getRGB();
+        }
+        image = new BufferedImage(buildColorModel(), raster, false, null);
+    }
+
+    /**
+     * Also refreshes the whole palette, since the clip may hold any chunk.
+     */
+    @Override
+    public void repaintClip(ChunkingGrid<PaintCentroidData> grid, RectQuery clip){
+        for(Integer i : grid.indicesInClip(clip)){
+            entries[i] = entry(grid, i);
+        }
+        refreshPalette(grid);
+    }
+
+    /**
+     * Writes one palette entry per chunk. The colour model has to be rebuilt
+     * to take them, which copies the palette once whatever the number of
+     * chunks.
+     */
+    @Override
+    public void repaintChunks(ChunkingGrid<PaintCentroidData> grid, BitSet centroidIDs){
+        for(int centroidID=centroidIDs.nextSetBit(0); centroidID>=0; centroidID=centroidIDs.nextSetBit(centroidID+1)){
+            palette[centroidID + 1] = grid.getCentroidDataByID(centroidID).getColor().getRGB();
+        }
+        image = new BufferedImage(buildColorModel(), raster, false, null);
+    }
+
+    private IndexColorModel buildColorModel(){
+        return new IndexColorModel(16, palette.length, palette, 0, true, NO_CHUNK, DataBuffer.TYPE_USHORT);
+    }
+
+}
@@ -2,10 +2,11 @@ package com.mason.mapgen.paint.components;
 
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.mapgen.procgen.algorithms.chunking.components.BasicCentroidData;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.CentroidDataInitializer;
+import com.mason.mapgen.structures.records.Seed;
 
 import java.awt.*;
 
-import static com.mason.mapgen.core.Utils.RANDOM;
 import static java.lang.Math.round;
 
 public class PaintCentroidData extends BasicCentroidData<PaintCentroidData>{
@@ -14,13 +15,21 @@ public class PaintCentroidData extends BasicCentroidData<PaintCentroidData>{
     private Color color;
 
 
-    public PaintCentroidData(Coord coord){
+    /**
+     * The starting grey depends only on the seed and the centroid's point, so
+     * it does not matter in which order centroids are created.
+     */
+    public PaintCentroidData(Coord coord, Seed seed){
         super(coord);
-        color = randomUnsetColor();
+        color = randomUnsetColor(seed);
     }
 
-    private Color randomUnsetColor(){
-        int brightness = 75 + RANDOM.nextInt(100);
+    public static CentroidDataInitializer<PaintCentroidData> initializer(Seed seed){
+        return coord -> new PaintCentroidData(coord, seed);
+    }
+
+    private Color randomUnsetColor(Seed seed){
+        int brightness = 75 + seed.uniformInt(getCoord().x(), getCoord().y(), 100);
         return new Color(brightness, brightness, brightness);
     }
 
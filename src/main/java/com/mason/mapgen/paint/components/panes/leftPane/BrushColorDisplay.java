@@ -55,7 +55,7 @@ public class BrushColorDisplay extends GridImageComponent{
 
     private void displayColorOnCentroid(Color color, PaintCentroidData centroid){
         centroid.setColor(color);
-        updateImageInClip(grid, grid.constructBoundingRectangle(centroid.getCoord()));
+        markChunkDirty(grid.centroidID(grid.asIndex(centroid.getCoord())));
     }
 
     private void updateAverageColor(){
@@ -6,6 +6,7 @@ import com.mason.mapgen.paint.components.GridImageComponent;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
 
 import java.awt.*;
+import java.util.function.IntConsumer;
 
 public class PaintCanvas{
 
@@ -29,19 +30,35 @@ public class PaintCanvas{
     }
 
 
-    public void changeChunkColor(Color newColor, Coord coord){
-        Integer pointIdx = grid.asIndex(coord);
-        PaintCentroidData centroidData = grid.getCentroidDataByIndex(pointIdx);
-        centroidData.paintColor(newColor);
-        updateImageLocallyAroundCentroid(centroidData.getCoord());
+    /**
+     * The chunk is only marked for repainting, so a stroke which paints many
+     * chunks redraws each of them once, at the next frame.
+     */
+    public void changeChunkColor(Color newColor, int chunkID){
+        grid.getCentroidDataByID(chunkID).paintColor(newColor);
+        image.markChunkDirty(chunkID);
     }
 
-    private void updateImageLocallyAroundCentroid(Coord centroidCoord){
-        image.updateImageInClip(grid, grid.constructBoundingRectangle(centroidCoord));
+    public int getChunkID(Coord coord){
+        return grid.centroidID(grid.asIndex(coord));
     }
 
-    public Iterable<PaintCentroidData> centroidNeighbourhood(PaintCentroidData data, int searchDepth){
-        return grid.centroidNeighbourhood(data, searchDepth);
+    /**
+     * Passes the ID of the chunk at the point, then of every other chunk whose
+     * centroid is closer than the radius to that chunk's centroid. The
+     * grid's centroid index is built on first use.
+     */
+    public void forEachChunkNear(Coord coord, int radius, IntConsumer action){
+        if(grid.getCentroidIndex() == null){
+            grid.updateCentroidIndex();
+        }
+        int chunkID = getChunkID(coord);
+        action.accept(chunkID);
+        grid.getCentroidIndex().forEachWithin(grid.centroidX(chunkID), grid.centroidY(chunkID), radius, centroidID -> {
+            if(centroidID != chunkID){
+                action.accept(centroidID);
+            }
+        });
     }
 
 }
@@ -78,10 +78,12 @@ public class PaintManager implements BoundedMouseInputListener, KeyListener{
 
     public void onMousePressedOnPalette(MouseInputEvent event){
         if(currentTool instanceof BrushTool brush){
-            double certainty = brush.getCertainty();
-            brush.setCertainty(1);
-            onMousePressedOnGivenCanvas(event, palette);
-            brush.setCertainty(certainty);
+            if(toolAcceptsMouseOrReject(event)){
+                double certainty = brush.getCertainty();
+                brush.setCertainty(1);
+                brush.applyToChunk(palette, event);
+                brush.setCertainty(certainty);
+            }
         }else{
             onMousePressedOnGivenCanvas(event, palette);
         }
@@ -1,27 +1,27 @@
 package com.mason.mapgen.paint.logic.tools.brush;
 
-import com.mason.mapgen.paint.components.PaintCentroidData;
-
-import java.util.HashSet;
-import java.util.Set;
+import java.util.BitSet;
 
+/**
+ * The chunks painted since the brush was pressed, by ID.
+ */
 public class BrushStroke{
 
 
-    private final Set<PaintCentroidData> centroidDataSet;
+    private final BitSet chunkIDs;
 
 
     BrushStroke(){
-        centroidDataSet = new HashSet<>();
+        chunkIDs = new BitSet();
     }
 
 
-    void addToStroke(PaintCentroidData data){
-        centroidDataSet.add(data);
+    void addToStroke(int chunkID){
+        chunkIDs.set(chunkID);
     }
 
-    boolean isInStroke(PaintCentroidData data){
-        return centroidDataSet.contains(data);
+    boolean isInStroke(int chunkID){
+        return chunkIDs.get(chunkID);
     }
 
 }
@@ -1,7 +1,6 @@
 package com.mason.mapgen.paint.logic.tools.brush;
 
 import com.mason.libgui.core.input.mouse.MouseInputEvent;
-import com.mason.mapgen.paint.components.PaintCentroidData;
 import com.mason.mapgen.paint.logic.PaintCanvas;
 import com.mason.mapgen.paint.logic.tools.PaintTool;
 
@@ -45,9 +44,18 @@ public class BrushTool implements PaintTool{
         if(!active){
             startBrush();
         }
-        PaintCentroidData data = canvas.getCentroidData(event.getCoord());
-        Iterable<PaintCentroidData> recoloredCentroids = canvas.centroidNeighbourhood(data, brushSize);
-        changeColor(canvas, recoloredCentroids);
+        canvas.forEachChunkNear(event.getCoord(), brushSize, chunkID -> changeColor(canvas, chunkID));
+    }
+
+    /**
+     * Paints only the chunk under the cursor, for canvases such as the
+     * palette whose chunks are picked one at a time.
+     */
+    public void applyToChunk(PaintCanvas canvas, MouseInputEvent event){
+        if(!active){
+            startBrush();
+        }
+        changeColor(canvas, canvas.getChunkID(event.getCoord()));
     }
 
     private void startBrush(){
@@ -55,13 +63,10 @@ public class BrushTool implements PaintTool{
         stroke = new BrushStroke();
     }
 
-    private void changeColor(PaintCanvas canvas, Iterable<PaintCentroidData> recoloredCentroids){
-        for(PaintCentroidData target : recoloredCentroids){
-            if(stroke.isInStroke(target)){
-                continue;
-            }
-            stroke.addToStroke(target);
-            canvas.changeChunkColor(brushColor.nextColor(), target.getCoord());
+    private void changeColor(PaintCanvas canvas, int chunkID){
+        if(!stroke.isInStroke(chunkID)){
+            stroke.addToStroke(chunkID);
+            canvas.changeChunkColor(brushColor.nextColor(), chunkID);
         }
     }
 
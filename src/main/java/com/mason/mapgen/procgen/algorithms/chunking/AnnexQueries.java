@@ -3,8 +3,8 @@ package com.mason.mapgen.procgen.algorithms.chunking;
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.mapgen.procgen.algorithms.chunking.components.CentroidData;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.records.Seed;
 
-import static com.mason.mapgen.core.Utils.RANDOM;
 import static java.lang.Math.abs;
 import static java.lang.Math.max;
 
@@ -14,25 +14,33 @@ public final class AnnexQueries{
     private AnnexQueries(){}
 
 
-    public static boolean manhattanQuery(ChunkingGrid<?> grid, CentroidData<?> centroidData, Integer targetIdx){
-        return grid.distanceToCentroid(targetIdx) > manhattanDist(centroidData.getCoord(), grid.asCoord(targetIdx));
+    public static boolean manhattanQuery(ChunkingGrid<?> grid, CentroidData<?> centroidData, int targetIdx){
+        int x = grid.pointX(targetIdx), y = grid.pointY(targetIdx);
+        int ownID = grid.centroidID(targetIdx);
+        int ownX = grid.centroidX(ownID), ownY = grid.centroidY(ownID);
+        Coord annexing = centroidData.getCoord();
+        int targetOwnCentroidDist = abs(ownX - x) + abs(ownY - y);
+        int targetAnnexingCentroidDist = abs(annexing.x() - x) + abs(annexing.y() - y);
+        return annexingCentroidWins(targetOwnCentroidDist, targetAnnexingCentroidDist, ownX, ownY, annexing);
     }
 
-    private static int manhattanDist(Coord a, Coord b){
-        return abs(a.x() - b.x()) + abs(a.y() - b.y());
-    }
 
+    public static boolean euclideanQuery(ChunkingGrid<?> grid, CentroidData<?> centroidData, int targetIdx){
+        int x = grid.pointX(targetIdx), y = grid.pointY(targetIdx);
+        int ownID = grid.centroidID(targetIdx);
+        int ownX = grid.centroidX(ownID), ownY = grid.centroidY(ownID);
+        Coord annexing = centroidData.getCoord();
+        int targetOwnCentroidSquareDist = squareDist(ownX - x, ownY - y);
+        int targetAnnexingCentroidSquareDist = squareDist(annexing.x() - x, annexing.y() - y);
+        return annexingCentroidWins(targetOwnCentroidSquareDist, targetAnnexingCentroidSquareDist, ownX, ownY, annexing);
+    }
 
-    public static boolean euclideanQuery(ChunkingGrid<?> grid, CentroidData<?> centroidData, Integer targetIdx){
-        Coord targetCoord = grid.asCoord(targetIdx);
-        CentroidData<?> targetCentroidData = grid.getCentroidDataByIndex(targetIdx);
-        int targetOwnCentroidSquareDist = squareDist(targetCentroidData.getCoord(), targetCoord);
-        int targetAnnexingCentroidSquareDist = squareDist(centroidData.getCoord(), targetCoord);
-        return targetOwnCentroidSquareDist > targetAnnexingCentroidSquareDist;
+    private static int squareDist(int dx, int dy){
+        return dx*dx + dy*dy;
     }
 
     private static int squareDist(Coord a, Coord b){
-        return (a.x()-b.x())*(a.x()-b.x()) + (a.y()-b.y())*(a.y()-b.y());
+        return squareDist(a.x()-b.x(), a.y()-b.y());
     }
 
     public static double euclideanDist(Coord a, Coord b){
@@ -40,48 +48,70 @@ public final class AnnexQueries{
     }
 
 
-    public static boolean minkowskiQuery(ChunkingGrid<?> grid, CentroidData<?> centroidData, Integer targetIdx){
-        Coord targetCoord = grid.asCoord(targetIdx);
-        CentroidData<?> targetCentroidData = grid.getCentroidDataByIndex(targetIdx);
-        int targetOwnCentroidDist = minkowskiDist(targetCentroidData.getCoord(), targetCoord);
-        int targetAnnexingCentroidDist = minkowskiDist(centroidData.getCoord(), targetCoord);
-        return targetOwnCentroidDist > targetAnnexingCentroidDist;
+    public static boolean minkowskiQuery(ChunkingGrid<?> grid, CentroidData<?> centroidData, int targetIdx){
+        int x = grid.pointX(targetIdx), y = grid.pointY(targetIdx);
+        int ownID = grid.centroidID(targetIdx);
+        int ownX = grid.centroidX(ownID), ownY = grid.centroidY(ownID);
+        Coord annexing = centroidData.getCoord();
+        int targetOwnCentroidDist = max(abs(ownX - x), abs(ownY - y));
+        int targetAnnexingCentroidDist = max(abs(annexing.x() - x), abs(annexing.y() - y));
+        return annexingCentroidWins(targetOwnCentroidDist, targetAnnexingCentroidDist, ownX, ownY, annexing);
     }
 
-    private static int minkowskiDist(Coord a, Coord b){
-        return max(abs(a.x()-b.x()), abs(a.y()-b.y()));
+    /**
+     * Ties go to the centroid which comes first in row-major order, so the
+     * outcome of a flood fill does not depend on the order points are visited.
+     */
+    private static boolean annexingCentroidWins(int ownDist, int annexingDist, int ownX, int ownY, Coord annexing){
+        if(ownDist != annexingDist){
+            return ownDist > annexingDist;
+        }
+        return annexing.y() < ownY || (annexing.y() == ownY && annexing.x() < ownX);
     }
 
 
-    public static boolean randomQuery(ChunkingGrid<?> grid, CentroidData<?> centroidData, Integer targetIdx){
-        Coord targetCoord = grid.asCoord(targetIdx);
-        CentroidData<?> targetCentroidData = grid.getCentroidDataByIndex(targetIdx);
-        int targetOwnCentroidDist = squareDist(targetCentroidData.getCoord(), targetCoord);
-        int targetAnnexingCentroidDist = squareDist(centroidData.getCoord(), targetCoord);
-        if(RANDOM.nextDouble() * (targetAnnexingCentroidDist + targetOwnCentroidDist) < targetOwnCentroidDist){
+    /**
+     * Builds a query which annexes at random, favouring the nearer centroid
+     * and points mostly surrounded by the annexing chunk.
+     * Each roll is a hash of the seed, the point, the annexing centroid and
+     * the number of adjacent points it already holds, rather than a draw
+     * from a shared stream, so the outcome does not depend on the order
+     * points are visited or on which thread visits them. A contest is only
+     * rolled again once the annexing chunk has grown around the point.
+     */
+    public static <T extends CentroidData<T>> FloodFillAnnexQuery<T> randomQuery(Seed seed){
+        return (grid, centroidData, targetIdx) -> randomQuery(seed, grid, centroidData, targetIdx);
+    }
+
+    private static boolean randomQuery(Seed seed, ChunkingGrid<?> grid, CentroidData<?> centroidData, int targetIdx){
+        int x = grid.pointX(targetIdx), y = grid.pointY(targetIdx);
+        int ownID = grid.centroidID(targetIdx);
+        Coord annexing = centroidData.getCoord();
+        int targetOwnCentroidDist = squareDist(grid.centroidX(ownID) - x, grid.centroidY(ownID) - y);
+        int targetAnnexingCentroidDist = squareDist(annexing.x() - x, annexing.y() - y);
+        int adjacents = numCardinalAdjacents(grid, centroidData, targetIdx);
+        long pointKey = Seed.key(x, y);
+        long contestKey = Seed.key(annexing.x(), annexing.y()) * 5 + adjacents;
+        if(seed.uniform(pointKey, 2*contestKey) * (targetAnnexingCentroidDist + targetOwnCentroidDist) < targetOwnCentroidDist){
             return true;
         }
-        int adjacents = numCardinalAdjacents(grid, centroidData, targetIdx);
         if(adjacents == 4){
-            return RANDOM.nextDouble() < 0.9;
+            return seed.uniform(pointKey, 2*contestKey + 1) < 0.9;
         }
         if(adjacents == 3){
-            return RANDOM.nextDouble() < 0.65;
+            return seed.uniform(pointKey, 2*contestKey + 1) < 0.65;
         }
         return false;
     }
 
-    private static int numCardinalAdjacents(ChunkingGrid<?> grid, CentroidData<?> centroidData, Integer targetIdx){
-        int adjacents = 0;
-        for(Integer neighbourIdx : grid.cardinalNeighbours(targetIdx)){
-            if(!grid.hasCentroid(neighbourIdx)){
-                continue;
+    private static int numCardinalAdjacents(ChunkingGrid<?> grid, CentroidData<?> centroidData, int targetIdx){
+        int[] adjacents = {0};
+        grid.forEachCardinalNeighbour(targetIdx, neighbourIdx -> {
+            if(grid.hasCentroid(neighbourIdx) && grid.getCentroidDataByIndex(neighbourIdx).coordMatches(centroidData)){
+                adjacents[0]++;
             }
-            if(grid.getCentroidDataByIndex(neighbourIdx).coordMatches(centroidData)){
-                adjacents++;
-            }
-        }
-        return adjacents;
+        });
+        return adjacents[0];
     }
 
 }
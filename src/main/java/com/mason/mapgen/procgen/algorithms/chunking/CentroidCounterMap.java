@@ -1,75 +1,108 @@
 package com.mason.mapgen.procgen.algorithms.chunking;
 
 import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.parallel.RowBands;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
-public class CentroidCounterMap implements Iterable<Map.Entry<Short, long[]>>{
+/**
+ * Sums the coordinates of the points in each chunk, in arrays indexed by
+ * centroid ID, to find where each centroid should move during Lloyd
+ * relaxation.
+ * Given a pool, the grid is split into one stripe of rows per thread. Each
+ * stripe sums into its own arrays, which are merged at the end, so there is
+ * no contention while summing. The sums are exact, so the result does not
+ * depend on the pool.
+ */
+public class CentroidCounterMap{
 
 
-    /** Indexes:
-     * 0: avg x
-     * 1: avg y
-     * 2: num points allocated to centroid
-    */
-    private final Map<Short, long[]> counterMap;
+    private final long[] sumX;
+    private final long[] sumY;
+    private final long[] numPoints;
     private final ChunkingGrid<?> grid;
+    private final ForkJoinPool pool;
 
 
     public CentroidCounterMap(ChunkingGrid<?> grid){
-        this.grid = grid;
-        counterMap = constructCounterMap(grid);
+        this(grid, null);
     }
 
-    private static Map<Short,long[]> constructCounterMap(ChunkingGrid<?> grid){
-        Map<Short, long[]> counterMap = new HashMap<>();
-        for(Short centroidID : grid.getAllCentroidIDs()){
-            counterMap.put(centroidID, new long[3]);
-        }
-        return counterMap;
+    public CentroidCounterMap(ChunkingGrid<?> grid, ForkJoinPool pool){
+        this.grid = grid;
+        this.pool = pool;
+        int idBound = grid.centroidIDBound();
+        sumX = new long[idBound];
+        sumY = new long[idBound];
+        numPoints = new long[idBound];
     }
 
 
     public void averageAndClearCentroids(){
-        long[] currentCounter;
-        int[] currentCoord = {0, 0};
-        for(Integer pointIdx : grid.pointIndices()){
-            currentCounter = counterMap.get(grid.centroidID(pointIdx));
-            currentCounter[0] += currentCoord[0];
-            currentCounter[1] += currentCoord[1];
-            currentCounter[2]++;
-            incrementCurrentCoord(currentCoord);
-            grid.unsetCentroidByIndex(pointIdx);
-        }
-        divideCountersByChunkSize();
+        sumPoints(true);
+    }
+
+    /**
+     * Sums the chunks while leaving every point assigned, for relaxation
+     * which only refloods the chunks that move.
+     */
+    public void averageCentroids(){
+        sumPoints(false);
     }
 
-    private void incrementCurrentCoord(int[] currentCoord){
-        currentCoord[0]++;
-        if(currentCoord[0] >= grid.size().width()){
-            currentCoord[0] = 0;
-            currentCoord[1]++;
+    private void sumPoints(boolean clear){
+        int height = grid.size().height();
+        if(pool == null){
+            sumRows(0, height, clear, sumX, sumY, numPoints);
+            return;
         }
+        int stripeHeight = Math.max(1, (height + pool.getParallelism() - 1) / pool.getParallelism());
+        RowBands.forEachBand(height, stripeHeight, pool, (yStart, yEnd) -> sumStripe(yStart, yEnd, clear));
+    }
+
+    private void sumStripe(int yStart, int yEnd, boolean clear){
+        long[] stripeSumX = new long[sumX.length];
+        long[] stripeSumY = new long[sumY.length];
+        long[] stripeNumPoints = new long[numPoints.length];
+        sumRows(yStart, yEnd, clear, stripeSumX, stripeSumY, stripeNumPoints);
+        merge(stripeSumX, stripeSumY, stripeNumPoints);
     }
 
-    private void divideCountersByChunkSize(){
-        for(long[] counter : counterMap.values()){
-            counter[0] /= counter[2];
-            counter[1] /= counter[2];
+    private void sumRows(int yStart, int yEnd, boolean clear, long[] sumX, long[] sumY, long[] numPoints){
+        Size size = grid.size();
+        int pointIdx = yStart * size.width();
+        int centroidID;
+        for(int y=yStart; y<yEnd; y++){
+            for(int x=0; x<size.width(); x++){
+                centroidID = grid.centroidID(pointIdx);
+                sumX[centroidID] += x;
+                sumY[centroidID] += y;
+                numPoints[centroidID]++;
+                if(clear){
+                    grid.unsetCentroidByIndex(pointIdx);
+                }
+                pointIdx++;
+            }
         }
     }
 
-    public Coord counterToCoord(long[] counter){
-        return new Coord((int)counter[0], (int)counter[1]);
+    private synchronized void merge(long[] stripeSumX, long[] stripeSumY, long[] stripeNumPoints){
+        for(int id=0; id<numPoints.length; id++){
+            sumX[id] += stripeSumX[id];
+            sumY[id] += stripeSumY[id];
+            numPoints[id] += stripeNumPoints[id];
+        }
     }
 
+    public boolean hasPoints(int centroidID){
+        return numPoints[centroidID] > 0;
+    }
 
-    @Override
-    public Iterator<Map.Entry<Short, long[]>> iterator(){
-        return counterMap.entrySet().iterator();
+    public Coord averageCoord(int centroidID){
+        long count = numPoints[centroidID];
+        return new Coord((int)(sumX[centroidID] / count), (int)(sumY[centroidID] / count));
     }
 
 }
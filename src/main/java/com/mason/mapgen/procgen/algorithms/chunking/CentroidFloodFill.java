@@ -1,14 +1,19 @@
 package com.mason.mapgen.procgen.algorithms.chunking;
 
+import com.mason.libgui.utils.structures.Size;
 import com.mason.mapgen.procgen.algorithms.chunking.components.CentroidData;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.metrics.MetricsRegistry;
+import com.mason.mapgen.structures.grids.lowMemory.IntQueue;
+
+import java.util.function.IntConsumer;
 
 public class CentroidFloodFill<T extends CentroidData<T>>{
 
 
-    private final ChunkingGrid<T> grid;
-    private final FloodFillAnnexQuery<T> annexQuery;
-    private boolean connectChunkGraph;
+    protected final ChunkingGrid<T> grid;
+    protected final FloodFillAnnexQuery<T> annexQuery;
+    protected boolean connectChunkGraph;
 
 
     public CentroidFloodFill(ChunkingGrid<T> grid, FloodFillAnnexQuery<T> annexQuery, boolean connectChunkGraph){
@@ -22,34 +27,88 @@ public class CentroidFloodFill<T extends CentroidData<T>>{
         this.connectChunkGraph = connectChunkGraph;
     }
 
-    public void floodFill(){
-        CentroidFloodFillFrontier frontier = new CentroidFloodFillFrontier(grid);
-        Integer currentIdx;
-        while(!frontier.isEmpty()){
-            currentIdx = frontier.poll();
-            annexEligibleNeighbors(currentIdx, frontier);
+    /**
+     * Fills the whole grid, recording the run as a stage named after the
+     * fill's class.
+     */
+    public final void floodFill(){
+        MetricsRegistry.global().time(getClass().getSimpleName() + ".floodFill", this::fillGrid);
+    }
+
+    protected void fillGrid(){
+        floodFillFrom(new CentroidFloodFillFrontier(grid));
+    }
+
+    /**
+     * Refills only the chunks of the flagged centroids, which may have moved
+     * since the grid was last filled. Their points are cleared, then the fill
+     * resumes from the flagged centroids and from every point of the other
+     * chunks next to a cleared point. The other chunks keep their points unless
+     * a flagged centroid annexes them.
+     */
+    public void refloodChunks(boolean[] flaggedCentroids){
+        clearFlaggedChunks(flaggedCentroids);
+        IntQueue seeds = new IntQueue();
+        seedFlaggedCentroids(flaggedCentroids, seeds);
+        seedPointsBorderingClearedPoints(seeds);
+        floodFillFrom(new CentroidFloodFillFrontier(grid, seeds));
+    }
+
+    private void clearFlaggedChunks(boolean[] flaggedCentroids){
+        int numPoints = grid.size().width() * grid.size().height();
+        for(int pointIdx=0; pointIdx<numPoints; pointIdx++){
+            if(grid.hasCentroid(pointIdx) && flaggedCentroids[grid.centroidID(pointIdx)]){
+                grid.unsetCentroidByIndex(pointIdx);
+            }
         }
     }
 
-    private void annexEligibleNeighbors(Integer currentIdx, CentroidFloodFillFrontier frontier){
-        short centroidID = grid.centroidID(currentIdx);
-        CentroidData<T> centroidData = grid.getCentroidDataByIndex(currentIdx);
-        short newDistFromCentroid = (short)(grid.distanceToCentroid(currentIdx) + 1);
-        for(Integer neighbourIdx : frontier.cardinalNeighbours(currentIdx)){
-            if(shouldAnnex(centroidData, neighbourIdx)){
-                frontier.register(centroidID, neighbourIdx, newDistFromCentroid);
+    private void seedFlaggedCentroids(boolean[] flaggedCentroids, IntQueue seeds){
+        int centroidIdx;
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            if(flaggedCentroids[centroidID]){
+                centroidIdx = grid.asIndex(grid.centroidX(centroidID), grid.centroidY(centroidID));
+                grid.setCentroidByIndex(centroidIdx, centroidID, 0);
+                seeds.add(centroidIdx);
+            }
+        }
+    }
+
+    private void seedPointsBorderingClearedPoints(IntQueue seeds){
+        Size size = grid.size();
+        int pointIdx = 0;
+        for(int y=0; y<size.height(); y++){
+            for(int x=0; x<size.width(); x++){
+                if(grid.hasCentroid(pointIdx) && bordersClearedPoint(pointIdx, x, y, size)){
+                    seeds.add(pointIdx);
+                }
+                pointIdx++;
             }
         }
     }
 
-    private boolean shouldAnnex(CentroidData<T> centroidData, Integer targetIdx){
+    private boolean bordersClearedPoint(int pointIdx, int x, int y, Size size){
+        return (y > 0 && !grid.hasCentroid(pointIdx - size.width()))
+                || (x < size.width()-1 && !grid.hasCentroid(pointIdx + 1))
+                || (y < size.height()-1 && !grid.hasCentroid(pointIdx + size.width()))
+                || (x > 0 && !grid.hasCentroid(pointIdx - 1));
+    }
+
+    void floodFillFrom(CentroidFloodFillFrontier frontier){
+        FrontierVisitor visitor = new FrontierVisitor(frontier);
+        while(!frontier.isEmpty()){
+            visitor.annexEligibleNeighbours(frontier.poll());
+        }
+    }
+
+    private boolean shouldAnnex(int centroidID, CentroidData<T> centroidData, int targetIdx){
         if(grid.isCentroid(targetIdx)){
             return false;
         }
         if(!grid.hasCentroid(targetIdx)){
             return true;
         }
-        if(centroidAlreadyAnnexedPoint(centroidData, targetIdx)){
+        if(grid.centroidID(targetIdx) == centroidID){
             return false;
         }
 
@@ -60,13 +119,69 @@ public class CentroidFloodFill<T extends CentroidData<T>>{
         return canAnnex;
     }
 
-    private boolean centroidAlreadyAnnexedPoint(CentroidData<?> centroidData, Integer targetIdx){
-        CentroidData<?> targetCentroidData = grid.getCentroidDataByIndex(targetIdx);
-        return centroidData.coordMatches(targetCentroidData);
+    private void connectChunk(CentroidData<T> centroidData, int targetIdx){
+        centroidData.addNeighbour(grid.getCentroidDataByIndex(targetIdx));
     }
 
-    private void connectChunk(CentroidData<T> centroidData, Integer targetIdx){
-        centroidData.addNeighbour(grid.getCentroidDataByIndex(targetIdx));
+    /**
+     * Links every pair of chunks which share an edge, for fills which assign
+     * points without growing chunks into each other.
+     */
+    protected void connectAdjacentChunksByScan(){
+        Size size = grid.size();
+        for(int y=0; y<size.height(); y++){
+            for(int x=0; x<size.width(); x++){
+                int pointIdx = y*size.width() + x;
+                if(x < size.width()-1) connectIfDifferentChunks(pointIdx, pointIdx+1);
+                if(y < size.height()-1) connectIfDifferentChunks(pointIdx, pointIdx+size.width());
+            }
+        }
+    }
+
+    private void connectIfDifferentChunks(int pointIdx, int neighbourIdx){
+        if(!grid.hasCentroid(pointIdx) || !grid.hasCentroid(neighbourIdx)
+                || grid.centroidID(pointIdx) == grid.centroidID(neighbourIdx)){
+            return;
+        }
+        T data = grid.getCentroidDataByIndex(pointIdx);
+        T neighbour = grid.getCentroidDataByIndex(neighbourIdx);
+        data.addNeighbour(neighbour);
+        neighbour.addNeighbour(data);
+    }
+
+
+    /**
+     * Holds the point currently being expanded, so a single neighbour callback
+     * serves the whole fill and nothing is allocated per point.
+     */
+    private final class FrontierVisitor implements IntConsumer{
+
+
+        private final CentroidFloodFillFrontier frontier;
+        private int centroidID;
+        private CentroidData<T> centroidData;
+        private int newDistFromCentroid;
+
+
+        private FrontierVisitor(CentroidFloodFillFrontier frontier){
+            this.frontier = frontier;
+        }
+
+
+        private void annexEligibleNeighbours(int currentIdx){
+            centroidID = grid.centroidID(currentIdx);
+            centroidData = grid.getCentroidDataByIndex(currentIdx);
+            newDistFromCentroid = grid.distanceToCentroid(currentIdx) + 1;
+            frontier.forEachCardinalNeighbour(currentIdx, this);
+        }
+
+        @Override
+        public void accept(int neighbourIdx){
+            if(shouldAnnex(centroidID, centroidData, neighbourIdx)){
+                frontier.register(centroidID, neighbourIdx, newDistFromCentroid);
+            }
+        }
+
     }
 
 }
@@ -2,15 +2,14 @@ package com.mason.mapgen.procgen.algorithms.chunking;
 
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
-import com.mason.mapgen.structures.grids.lowMemory.CardinalIndexNeighbours;
+import com.mason.mapgen.structures.grids.lowMemory.IntQueue;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.function.IntConsumer;
 
 public class CentroidFloodFillFrontier{
 
 
-    private final Queue<Integer> frontier;
+    private final IntQueue frontier;
     private final ChunkingGrid<?> grid;
 
 
@@ -19,20 +18,28 @@ public class CentroidFloodFillFrontier{
         frontier = constructFrontier(grid);
     }
 
-    private static Queue<Integer> constructFrontier(ChunkingGrid<?> grid){
-        Queue<Integer> frontier = new ArrayDeque<>();
+    /**
+     * Resumes a flood fill from points which already have a centroid, without
+     * resetting the rest of the grid.
+     */
+    CentroidFloodFillFrontier(ChunkingGrid<?> grid, IntQueue assignedPoints){
+        this.grid = grid;
+        frontier = assignedPoints;
+    }
+
+    private static IntQueue constructFrontier(ChunkingGrid<?> grid){
+        IntQueue frontier = new IntQueue();
         Coord centroidCoord;
-        short ZERO = 0;
-        for(Short centroidID : grid.getAllCentroidIDs()){
+        for(Integer centroidID : grid.getAllCentroidIDs()){
             centroidCoord = grid.getCentroidCoord(centroidID);
             frontier.add(grid.asIndex(centroidCoord));
-            grid.setCentroid(centroidCoord, centroidID, ZERO);
+            grid.setCentroid(centroidCoord, centroidID, 0);
         }
         return frontier;
     }
 
 
-    void register(short centroidID, Integer pointIdx, short distFromCentroid){
+    void register(int centroidID, int pointIdx, int distFromCentroid){
         frontier.add(pointIdx);
         grid.setCentroidByIndex(pointIdx, centroidID, distFromCentroid);
     }
@@ -41,13 +48,13 @@ public class CentroidFloodFillFrontier{
         return frontier.isEmpty();
     }
 
-    Integer poll(){
+    int poll(){
         return frontier.poll();
     }
 
 
-    Iterable<Integer> cardinalNeighbours(Integer index){
-        return new CardinalIndexNeighbours(index, grid.size());
+    void forEachCardinalNeighbour(int index, IntConsumer visitor){
+        grid.forEachCardinalNeighbour(index, visitor);
     }
 
 }
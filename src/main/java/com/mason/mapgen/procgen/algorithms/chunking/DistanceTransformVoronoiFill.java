@@ -0,0 +1,259 @@
+package com.mason.mapgen.procgen.algorithms.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.components.CentroidData;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.parallel.RowBandAction;
+import com.mason.mapgen.structures.parallel.RowBands;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Assigns every point to its nearest centroid by Euclidean distance, using
+ * the linear time distance transform of Felzenszwalb and Huttenlocher instead
+ * of growing chunks point by point.
+ * A column pass finds the nearest centroid in each column, then a row pass
+ * takes the lower envelope of the parabolas those centroids give along each
+ * row. Both passes work on independent columns or rows, so they can be split
+ * across a pool. The result is the exact Voronoi diagram of the centroids;
+ * ties between equally near centroids go to the one which comes first in
+ * row-major order, as they do in the annex queries of the flood fills.
+ * Distances to centroids are written as Manhattan distances, which is the
+ * number of steps an unobstructed flood fill would have taken.
+ * @author Adam Whittaker
+ */
+public class DistanceTransformVoronoiFill<T extends CentroidData<T>> extends CentroidFloodFill<T>{
+
+
+    private static final int NO_SITE = -1;
+
+    private final ForkJoinPool pool;
+
+
+    public DistanceTransformVoronoiFill(ChunkingGrid<T> grid, boolean connectChunkGraph){
+        this(grid, connectChunkGraph, null);
+    }
+
+    public DistanceTransformVoronoiFill(ChunkingGrid<T> grid, boolean connectChunkGraph, ForkJoinPool pool){
+        super(grid, AnnexQueries::euclideanQuery, connectChunkGraph);
+        this.pool = pool;
+    }
+
+
+    @Override
+    protected void fillGrid(){
+        Size size = grid.size();
+        int[] sites = seedSites(size);
+        forEachBand(size.width(), (xStart, xEnd) -> findNearestSitesInColumns(sites, size, xStart, xEnd));
+        forEachBand(size.height(), (yStart, yEnd) -> findNearestSitesInRows(sites, size, yStart, yEnd));
+        forEachBand(size.height(), (yStart, yEnd) -> assignRows(sites, size, yStart, yEnd));
+        if(connectChunkGraph){
+            connectAdjacentChunksByScan();
+        }
+    }
+
+    private void forEachBand(int length, RowBandAction action){
+        if(pool == null){
+            action.apply(0, length);
+        }else{
+            RowBands.forEachBand(length, pool, action);
+        }
+    }
+
+    /**
+     * Marks each centroid point with its own row and writes the centroid into
+     * the grid. Every other point starts without a site.
+     */
+    private int[] seedSites(Size size){
+        int[] sites = new int[size.width() * size.height()];
+        Arrays.fill(sites, NO_SITE);
+        Coord centroidCoord;
+        int centroidIdx;
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            centroidCoord = grid.getCentroidCoord(centroidID);
+            centroidIdx = grid.asIndex(centroidCoord);
+            sites[centroidIdx] = centroidIdx / size.width();
+            grid.setCentroidByIndex(centroidIdx, centroidID, 0);
+        }
+        return sites;
+    }
+
+
+    /**
+     * Replaces each entry with the row of the nearest site in its column, by
+     * sweeping down and then up the columns in the band.
+     */
+    private static void findNearestSitesInColumns(int[] sites, Size size, int xStart, int xEnd){
+        int width = size.width();
+        int[] lastSiteRow = new int[xEnd - xStart];
+        Arrays.fill(lastSiteRow, NO_SITE);
+        for(int y=0; y<size.height(); y++){
+            for(int x=xStart; x<xEnd; x++){
+                int pointIdx = y*width + x;
+                if(sites[pointIdx] == y){
+                    lastSiteRow[x - xStart] = y;
+                }
+                sites[pointIdx] = lastSiteRow[x - xStart];
+            }
+        }
+        Arrays.fill(lastSiteRow, NO_SITE);
+        for(int y=size.height()-1; y>=0; y--){
+            for(int x=xStart; x<xEnd; x++){
+                int pointIdx = y*width + x;
+                int siteAbove = sites[pointIdx];
+                if(siteAbove == y){
+                    lastSiteRow[x - xStart] = y;
+                }else{
+                    sites[pointIdx] = closerSiteRow(y, siteAbove, lastSiteRow[x - xStart]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ties go to the site above, which comes first in row-major order.
+     */
+    private static int closerSiteRow(int y, int siteAbove, int siteBelow){
+        if(siteBelow == NO_SITE) return siteAbove;
+        if(siteAbove == NO_SITE) return siteBelow;
+        return siteBelow - y < y - siteAbove ? siteBelow : siteAbove;
+    }
+
+
+    /**
+     * Replaces each entry in the band with the index of its nearest site,
+     * using the column results of the same row only.
+     */
+    private static void findNearestSitesInRows(int[] sites, Size size, int yStart, int yEnd){
+        LowerEnvelope envelope = new LowerEnvelope(size.width());
+        for(int y=yStart; y<yEnd; y++){
+            envelope.build(sites, size.width(), y);
+            envelope.writeNearestSites(sites, size.width(), y);
+        }
+    }
+
+    private void assignRows(int[] sites, Size size, int yStart, int yEnd){
+        int width = size.width();
+        for(int y=yStart; y<yEnd; y++){
+            for(int x=0; x<width; x++){
+                int pointIdx = y*width + x;
+                int siteIdx = sites[pointIdx];
+                if(siteIdx != NO_SITE && siteIdx != pointIdx){
+                    grid.setCentroidByIndex(pointIdx, grid.centroidID(siteIdx),
+                            manhattanDistance(x, y, siteIdx % width, siteIdx / width));
+                }
+            }
+        }
+    }
+
+    private static int manhattanDistance(int x, int y, int siteX, int siteY){
+        return Math.abs(x - siteX) + Math.abs(y - siteY);
+    }
+
+
+    /**
+     * The lower envelope of the parabolas (x - column)^2 + height along one
+     * row, one per column which has a site. Reused between rows.
+     * A parabola which only touches the envelope at a single point is kept,
+     * so that every site tied for nearest at a point is still there to be
+     * chosen from.
+     */
+    private static final class LowerEnvelope{
+
+
+        private final int[] columns;
+        private final int[] siteRows;
+        private final double[] boundaries;
+        private int numParabolas;
+
+
+        private LowerEnvelope(int width){
+            columns = new int[width];
+            siteRows = new int[width];
+            boundaries = new double[width + 1];
+        }
+
+
+        private void build(int[] sites, int width, int y){
+            numParabolas = 0;
+            int rowStart = y*width;
+            for(int column=0; column<width; column++){
+                int siteRow = sites[rowStart + column];
+                if(siteRow != NO_SITE){
+                    addParabola(column, siteRow, y);
+                }
+            }
+        }
+
+        private void addParabola(int column, int siteRow, int y){
+            double height = square(y - siteRow);
+            if(numParabolas == 0){
+                push(column, siteRow, Double.NEGATIVE_INFINITY);
+                return;
+            }
+            double intersection = intersection(column, height, y);
+            while(intersection < boundaries[numParabolas - 1]){
+                numParabolas--;
+                if(numParabolas == 0){
+                    push(column, siteRow, Double.NEGATIVE_INFINITY);
+                    return;
+                }
+                intersection = intersection(column, height, y);
+            }
+            push(column, siteRow, intersection);
+        }
+
+        private double intersection(int column, double height, int y){
+            int top = numParabolas - 1;
+            double topHeight = square(y - siteRows[top]);
+            return ((height + square(column)) - (topHeight + square(columns[top])))
+                    / (2.0 * (column - columns[top]));
+        }
+
+        private void push(int column, int siteRow, double leftBoundary){
+            columns[numParabolas] = column;
+            siteRows[numParabolas] = siteRow;
+            boundaries[numParabolas] = leftBoundary;
+            numParabolas++;
+        }
+
+        private void writeNearestSites(int[] sites, int width, int y){
+            int rowStart = y*width;
+            if(numParabolas == 0){
+                Arrays.fill(sites, rowStart, rowStart + width, NO_SITE);
+                return;
+            }
+            int k = 0;
+            for(int x=0; x<width; x++){
+                while(k+1 < numParabolas && boundaries[k+1] < x){
+                    k++;
+                }
+                int nearest = firstTiedParabola(k, x);
+                sites[rowStart + x] = siteRows[nearest]*width + columns[nearest];
+            }
+        }
+
+        /**
+         * Parabola k is lowest at x, along with any which start exactly at x.
+         * Of those, the one whose site has the lowest row wins, then the one
+         * furthest left, which is the first of them.
+         */
+        private int firstTiedParabola(int k, int x){
+            int first = k;
+            for(int tied=k+1; tied<numParabolas && boundaries[tied] == x; tied++){
+                if(siteRows[tied] < siteRows[first]){
+                    first = tied;
+                }
+            }
+            return first;
+        }
+
+        private static double square(double value){
+            return value * value;
+        }
+
+    }
+
+}
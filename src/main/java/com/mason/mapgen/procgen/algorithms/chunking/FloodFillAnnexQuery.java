@@ -6,6 +6,6 @@ import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
 public interface FloodFillAnnexQuery<T extends CentroidData<T>>{
 
 
-    boolean canAnnex(ChunkingGrid<T> grid, CentroidData<T> centroid, Integer targetIdx);
+    boolean canAnnex(ChunkingGrid<T> grid, CentroidData<T> centroid, int targetIdx);
 
 }
@@ -0,0 +1,193 @@
+package com.mason.mapgen.procgen.algorithms.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Rect;
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.components.CentroidData;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.grids.lowMemory.IntQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Flood fills the grid tile by tile in parallel, then stitches the tiles.
+ * Each tile is filled on its own window, which covers the tile plus a halo and
+ * holds the centroids in that area, so chunks spilling over the tile edge are
+ * mostly right already. A sequential pass then resumes the flood fill from
+ * every point on a tile boundary. It applies the same annex rule until nothing
+ * changes, so the final grid is a fixed point of the rule, like the
+ * sequential fill. The tile layout does not depend on the pool, so the
+ * result is the same for any number of threads.
+ * The chunk graph is built afterwards by scanning adjacent points, since
+ * centroid data is shared between tiles.
+ * @author Adam Whittaker
+ */
+public class ParallelCentroidFloodFill<T extends CentroidData<T>> extends CentroidFloodFill<T>{
+
+
+    private final ForkJoinPool pool;
+    private final int tileSize;
+    private final int haloSize;
+
+
+    public ParallelCentroidFloodFill(ChunkingGrid<T> grid,
+                                     FloodFillAnnexQuery<T> annexQuery,
+                                     boolean connectChunkGraph,
+                                     ForkJoinPool pool,
+                                     int tileSize,
+                                     int haloSize){
+        super(grid, annexQuery, connectChunkGraph);
+        if(tileSize < 1 || haloSize < 0){
+            throw new IllegalArgumentException("Tile size must be positive and halo size non-negative!");
+        }
+        this.pool = pool;
+        this.tileSize = tileSize;
+        this.haloSize = haloSize;
+    }
+
+
+    @Override
+    protected void fillGrid(){
+        fillTilesInParallel();
+        reconcileTileBoundaries();
+        if(connectChunkGraph){
+            connectAdjacentChunksByScan();
+        }
+    }
+
+
+    private void fillTilesInParallel(){
+        List<Integer>[][] centroidsByTile = bucketCentroidsByTile();
+        List<Callable<Void>> tileFills = new ArrayList<>();
+        for(int tileY=0; tileY<centroidsByTile.length; tileY++){
+            for(int tileX=0; tileX<centroidsByTile[tileY].length; tileX++){
+                RectQuery tile = tileRect(tileX, tileY);
+                List<Integer> centroidIDs = centroidsInHalo(centroidsByTile, tileX, tileY);
+                tileFills.add(() -> {
+                    fillTile(tile, centroidIDs);
+                    return null;
+                });
+            }
+        }
+        invokeAll(tileFills);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer>[][] bucketCentroidsByTile(){
+        Size size = grid.size();
+        List<Integer>[][] buckets = new List[numTiles(size.height())][numTiles(size.width())];
+        for(List<Integer>[] row : buckets){
+            for(int n=0; n<row.length; n++){
+                row[n] = new ArrayList<>();
+            }
+        }
+        Coord centroidCoord;
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            centroidCoord = grid.getCentroidCoord(centroidID);
+            buckets[centroidCoord.y() / tileSize][centroidCoord.x() / tileSize].add(centroidID);
+        }
+        return buckets;
+    }
+
+    private int numTiles(int length){
+        return (length + tileSize - 1) / tileSize;
+    }
+
+    private RectQuery tileRect(int tileX, int tileY){
+        Size size = grid.size();
+        int x = tileX * tileSize;
+        int y = tileY * tileSize;
+        return new Rect(x, y, min(tileSize, size.width() - x), min(tileSize, size.height() - y));
+    }
+
+    private RectQuery haloRect(RectQuery tile){
+        Size size = grid.size();
+        int x = max(tile.x() - haloSize, 0);
+        int y = max(tile.y() - haloSize, 0);
+        int xEnd = min(tile.x() + tile.width() + haloSize, size.width());
+        int yEnd = min(tile.y() + tile.height() + haloSize, size.height());
+        return new Rect(x, y, xEnd - x, yEnd - y);
+    }
+
+    private List<Integer> centroidsInHalo(List<Integer>[][] centroidsByTile, int tileX, int tileY){
+        RectQuery halo = haloRect(tileRect(tileX, tileY));
+        List<Integer> centroidIDs = new ArrayList<>();
+        int tileReach = (haloSize + tileSize - 1) / tileSize;
+        for(int y=max(tileY-tileReach, 0); y<=min(tileY+tileReach, centroidsByTile.length-1); y++){
+            for(int x=max(tileX-tileReach, 0); x<=min(tileX+tileReach, centroidsByTile[y].length-1); x++){
+                addCentroidsWithinRect(centroidsByTile[y][x], halo, centroidIDs);
+            }
+        }
+        return centroidIDs;
+    }
+
+    private void addCentroidsWithinRect(List<Integer> candidates, RectQuery rect, List<Integer> centroidIDs){
+        Coord centroidCoord;
+        for(Integer centroidID : candidates){
+            centroidCoord = grid.getCentroidCoord(centroidID);
+            if(centroidCoord.x() >= rect.x() && centroidCoord.x() < rect.x() + rect.width()
+                    && centroidCoord.y() >= rect.y() && centroidCoord.y() < rect.y() + rect.height()){
+                centroidIDs.add(centroidID);
+            }
+        }
+    }
+
+    private void fillTile(RectQuery tile, List<Integer> centroidIDs){
+        ChunkingGrid<T> window = grid.window(haloRect(tile), centroidIDs);
+        new CentroidFloodFill<>(window, annexQuery, false).fillGrid();
+        grid.copyAssignments(window, tile);
+    }
+
+    private void invokeAll(List<Callable<Void>> tasks){
+        for(Future<Void> future : pool.invokeAll(tasks)){
+            try{
+                future.get();
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while flood filling tiles!", e);
+            }catch(ExecutionException e){
+                throw new IllegalStateException("Failed to flood fill tile!", e.getCause());
+            }
+        }
+    }
+
+
+    private void reconcileTileBoundaries(){
+        CentroidFloodFillFrontier frontier = new CentroidFloodFillFrontier(grid, assignedBoundaryPoints());
+        new CentroidFloodFill<>(grid, annexQuery, false).floodFillFrom(frontier);
+    }
+
+    private IntQueue assignedBoundaryPoints(){
+        Size size = grid.size();
+        IntQueue points = new IntQueue();
+        for(int boundary=tileSize; boundary<size.width(); boundary+=tileSize){
+            for(int y=0; y<size.height(); y++){
+                addIfAssigned(points, y*size.width() + boundary - 1);
+                addIfAssigned(points, y*size.width() + boundary);
+            }
+        }
+        for(int boundary=tileSize; boundary<size.height(); boundary+=tileSize){
+            for(int x=0; x<size.width(); x++){
+                addIfAssigned(points, (boundary-1)*size.width() + x);
+                addIfAssigned(points, boundary*size.width() + x);
+            }
+        }
+        return points;
+    }
+
+    private void addIfAssigned(IntQueue points, int pointIdx){
+        if(grid.hasCentroid(pointIdx)){
+            points.add(pointIdx);
+        }
+    }
+
+}
@@ -2,59 +2,158 @@ package com.mason.mapgen.procgen.algorithms.chunking.components;
 
 import com.mason.libgui.utils.structures.Coord;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Dense registry of centroids, indexed directly by their IDs.
+ * Centroid coordinates are mirrored into parallel int arrays so hot loops can
+ * read them with a single array load. Centroids must therefore only be moved
+ * through {@link #moveCentroid(int, Coord)}.
+ */
 public class CentroidIDMap<T extends CentroidData<T>>{
 
 
-    public static final short CENTROID_UNSET = -1;
+    public static final int CENTROID_UNSET = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Object[] data;
+    private int[] xs;
+    private int[] ys;
+    private final int maxCentroids;
+    private int size = 0;
+    private int nextID = 0;
+
+
+    public CentroidIDMap(int maxCentroids){
+        this.maxCentroids = maxCentroids;
+        int initialCapacity = Math.max(1, Math.min(INITIAL_CAPACITY, maxCentroids));
+        data = new Object[initialCapacity];
+        xs = new int[initialCapacity];
+        ys = new int[initialCapacity];
+    }
 
-    private final Map<Short, T> map;
-    private short nextID = 0;
 
+    public boolean isCentroid(int id){
+        return id >= 0 && id < data.length && data[id] != null;
+    }
 
-    public CentroidIDMap(){
-        map = new HashMap<>();
+    private void putCentroid(int id, T centroidData){
+        if(id < 0 || id >= maxCentroids){
+            throw new IllegalArgumentException("Centroid ID out of range!");
+        }
+        ensureCapacity(id + 1);
+        if(data[id] == null){
+            size++;
+        }
+        data[id] = centroidData;
+        Coord coord = centroidData.getCoord();
+        xs[id] = coord.x();
+        ys[id] = coord.y();
     }
 
+    private void ensureCapacity(int capacity){
+        if(capacity <= data.length){
+            return;
+        }
+        int newCapacity = Math.max(capacity, (int) Math.min(data.length * 2L, maxCentroids));
+        data = Arrays.copyOf(data, newCapacity);
+        xs = Arrays.copyOf(xs, newCapacity);
+        ys = Arrays.copyOf(ys, newCapacity);
+    }
 
-    public boolean isCentroid(short id){
-        return map.containsKey(id);
+    @SuppressWarnings("unchecked")
+    public T getCentroidData(int id){
+        return (T) data[id];
     }
 
-    private void putCentroid(short id, T data){
-        map.put(id, data);
+    public Coord getCentroidCoord(int id){
+        return getCentroidData(id).getCoord();
     }
 
-    public T getCentroidData(short id){
-        return map.get(id);
+    public int getCentroidX(int id){
+        return xs[id];
     }
 
-    public Coord getCentroidCoord(short id){
-        T data = getCentroidData(id);
-        return data.getCoord();
+    public int getCentroidY(int id){
+        return ys[id];
     }
 
-    public void moveCentroid(short id, Coord newCoord){
-        T data = map.get(id);
-        data.setCoord(newCoord);
+    public void moveCentroid(int id, Coord newCoord){
+        getCentroidData(id).setCoord(newCoord);
+        xs[id] = newCoord.x();
+        ys[id] = newCoord.y();
     }
 
-    public short createCentroidAndReturnID(T data){
-        short id = generateID();
-        putCentroid(id, data);
+    public int createCentroidAndReturnID(T centroidData){
+        int id = generateID();
+        putCentroid(id, centroidData);
         return id;
     }
 
-    private short generateID(){
-        short id = nextID;
+    /**
+     * Adds a centroid under an ID issued by another map. The map grows to hold
+     * every ID up to it.
+     */
+    public void registerCentroid(int id, T centroidData){
+        putCentroid(id, centroidData);
+        if(nextID <= id){
+            nextID = id + 1;
+        }
+    }
+
+    private int generateID(){
+        if(nextID >= maxCentroids){
+            throw new IllegalStateException("Too many centroids!");
+        }
+        int id = nextID;
         nextID++;
         return id;
     }
 
-    public Iterable<Short> getCentroidIDs(){
-        return map.keySet();
+    public int size(){
+        return size;
+    }
+
+    public int maxCentroids(){
+        return maxCentroids;
+    }
+
+    /**
+     * One more than the largest ID handed out, for looping over IDs directly.
+     */
+    public int idBound(){
+        return nextID;
+    }
+
+    public Iterable<Integer> getCentroidIDs(){
+        return () -> new Iterator<>(){
+
+            int next = advanceFrom(0);
+
+            private int advanceFrom(int id){
+                while(id < nextID && data[id] == null){
+                    id++;
+                }
+                return id;
+            }
+
+            @Override
+            public boolean hasNext(){
+                return next < nextID;
+            }
+
+            @Override
+            public Integer next(){
+                if(!hasNext()){
+                    throw new NoSuchElementException();
+                }
+                int id = next;
+                next = advanceFrom(next + 1);
+                return id;
+            }
+        };
     }
 
 }
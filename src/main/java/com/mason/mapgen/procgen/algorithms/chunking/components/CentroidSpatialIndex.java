@@ -0,0 +1,96 @@
+package com.mason.mapgen.procgen.algorithms.chunking.components;
+
+import com.mason.libgui.utils.structures.Size;
+
+import java.util.function.IntConsumer;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Buckets the centroids of a grid into square cells so the centroids near a
+ * point can be found without walking the chunk graph. Cells are about as
+ * wide as the average gap between centroids, so each holds one or two.
+ * The centroids of each cell are stored together in flat arrays, with their
+ * coordinates alongside their IDs, and queries compare squared distances, so
+ * a query allocates nothing and takes no square roots.
+ * The index is a snapshot: it must be rebuilt if centroids are added or
+ * moved.
+ */
+public final class CentroidSpatialIndex{
+
+
+    private final int cellSize;
+    private final int cellsX, cellsY;
+    private final int[] cellOffsets;
+    private final int[] ids;
+    private final int[] xs, ys;
+
+
+    private CentroidSpatialIndex(Size size, int numCentroids){
+        cellSize = max(1, (int) Math.sqrt((double) size.width() * size.height() / max(numCentroids, 1)));
+        cellsX = (size.width() + cellSize - 1) / cellSize;
+        cellsY = (size.height() + cellSize - 1) / cellSize;
+        cellOffsets = new int[cellsX * cellsY + 1];
+        ids = new int[numCentroids];
+        xs = new int[numCentroids];
+        ys = new int[numCentroids];
+    }
+
+    /**
+     * Counts the centroids in each cell, then writes each into its cell's
+     * place, in ID order within a cell.
+     */
+    public static CentroidSpatialIndex build(ChunkingGrid<?> grid){
+        CentroidSpatialIndex index = new CentroidSpatialIndex(grid.size(), grid.numCentroids());
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            index.cellOffsets[index.cellOf(grid.centroidX(centroidID), grid.centroidY(centroidID)) + 1]++;
+        }
+        for(int cell=0; cell<index.cellsX*index.cellsY; cell++){
+            index.cellOffsets[cell + 1] += index.cellOffsets[cell];
+        }
+        int[] next = index.cellOffsets.clone();
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            int x = grid.centroidX(centroidID), y = grid.centroidY(centroidID);
+            int slot = next[index.cellOf(x, y)]++;
+            index.ids[slot] = centroidID;
+            index.xs[slot] = x;
+            index.ys[slot] = y;
+        }
+        return index;
+    }
+
+    private int cellOf(int x, int y){
+        return y/cellSize * cellsX + x/cellSize;
+    }
+
+
+    public int numCentroids(){
+        return ids.length;
+    }
+
+    /**
+     * Passes the ID of every centroid strictly closer than the radius to the
+     * point, in no particular order.
+     */
+    public void forEachWithin(int x, int y, int radius, IntConsumer action){
+        if(radius <= 0){
+            return;
+        }
+        long radiusSquared = (long) radius * radius;
+        int firstCellX = max((x - radius) / cellSize, 0), lastCellX = min((x + radius) / cellSize, cellsX - 1);
+        int firstCellY = max((y - radius) / cellSize, 0), lastCellY = min((y + radius) / cellSize, cellsY - 1);
+        for(int cellY=firstCellY; cellY<=lastCellY; cellY++){
+            for(int cellX=firstCellX; cellX<=lastCellX; cellX++){
+                int cell = cellY*cellsX + cellX;
+                for(int slot=cellOffsets[cell]; slot<cellOffsets[cell + 1]; slot++){
+                    long dx = xs[slot] - x, dy = ys[slot] - y;
+                    if(dx*dx + dy*dy < radiusSquared){
+                        action.accept(ids[slot]);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.mason.mapgen.procgen.algorithms.chunking.components;
+
+import com.mason.mapgen.structures.parallel.RowBands;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
+import static java.lang.Math.min;
+
+/**
+ * The points of every chunk as horizontal runs, so a chunk's points can be
+ * visited without looking at any other chunk's. Each run is a row and a
+ * half-open range of columns, counted from the grid's top left corner rather
+ * than in its coordinates, so that on a window grid the row and column are
+ * still offsets into the grid's own points: the run's points have indices
+ * from row*width + xStart up to row*width + xEnd. The runs of a chunk
+ * are stored together, top to bottom, in flat arrays indexed by run; the
+ * runs of chunk n are those from {@link #firstSpan(int)} up to
+ * {@link #spanEnd(int)}.
+ * The index is a snapshot: it must be rebuilt if points change chunk.
+ */
+public final class ChunkSpanIndex{
+
+
+    private final int[] spanOffsets;
+    private final int[] rows;
+    private final int[] xStarts;
+    private final int[] xEnds;
+
+
+    private ChunkSpanIndex(int[] spanOffsets, int numSpans){
+        this.spanOffsets = spanOffsets;
+        rows = new int[numSpans];
+        xStarts = new int[numSpans];
+        xEnds = new int[numSpans];
+    }
+
+    public static ChunkSpanIndex build(ChunkingGrid<?> grid){
+        return build(grid, Math.max(grid.size().height(), 1), null);
+    }
+
+    public static ChunkSpanIndex build(ChunkingGrid<?> grid, ForkJoinPool pool){
+        return build(grid, RowBands.defaultBandHeight(grid.size().height(), pool.getParallelism()), pool);
+    }
+
+    /**
+     * Scans the grid twice: once to count each chunk's runs and once to
+     * write them into place. The rows are split into bands which count their
+     * runs separately, so each band knows where its runs go in every chunk
+     * and the bands can write at the same time. Bands are laid out top to
+     * bottom, so the result is the same however many there are.
+     */
+    private static ChunkSpanIndex build(ChunkingGrid<?> grid, int bandHeight, ForkJoinPool pool){
+        int height = grid.size().height(), bound = grid.centroidIDBound();
+        int numBands = (height + bandHeight - 1) / bandHeight;
+        int[][] bandCounts = new int[numBands][bound];
+        forEachBand(numBands, pool, band -> forEachRun(grid, band*bandHeight, min((band + 1)*bandHeight, height),
+                (centroidID, y, xStart, xEnd) -> bandCounts[band][centroidID]++));
+
+        int[] spanOffsets = new int[bound + 1];
+        for(int centroidID=0; centroidID<bound; centroidID++){
+            int offset = spanOffsets[centroidID];
+            for(int[] counts : bandCounts){
+                int count = counts[centroidID];
+                counts[centroidID] = offset;
+                offset += count;
+            }
+            spanOffsets[centroidID + 1] = offset;
+        }
+
+        ChunkSpanIndex index = new ChunkSpanIndex(spanOffsets, spanOffsets[bound]);
+        forEachBand(numBands, pool, band -> {
+            int[] nextSpan = bandCounts[band];
+            forEachRun(grid, band*bandHeight, min((band + 1)*bandHeight, height), (centroidID, y, xStart, xEnd) -> {
+                int span = nextSpan[centroidID]++;
+                index.rows[span] = y;
+                index.xStarts[span] = xStart;
+                index.xEnds[span] = xEnd;
+            });
+        });
+        return index;
+    }
+
+    private static void forEachBand(int numBands, ForkJoinPool pool, IntConsumer bandAction){
+        if(pool == null){
+            for(int band=0; band<numBands; band++){
+                bandAction.accept(band);
+            }
+        }else{
+            RowBands.forEachBand(numBands, 1, pool, (bandStart, bandEnd) -> {
+                for(int band=bandStart; band<bandEnd; band++){
+                    bandAction.accept(band);
+                }
+            });
+        }
+    }
+
+    private static void forEachRun(ChunkingGrid<?> grid, int yStart, int yEnd, RunConsumer consumer){
+        int width = grid.size().width();
+        for(int row=yStart; row<yEnd; row++){
+            int rowStart = row * width;
+            int runStart = 0;
+            int runID = grid.centroidID(rowStart);
+            for(int x=1; x<=width; x++){
+                int centroidID = x == width ? CENTROID_UNSET : grid.centroidID(rowStart + x);
+                if(x == width || centroidID != runID){
+                    if(runID != CENTROID_UNSET){
+                        consumer.accept(runID, row, runStart, x);
+                    }
+                    runStart = x;
+                    runID = centroidID;
+                }
+            }
+        }
+    }
+
+
+    public int numSpans(){
+        return rows.length;
+    }
+
+    public int firstSpan(int centroidID){
+        return spanOffsets[centroidID];
+    }
+
+    public int spanEnd(int centroidID){
+        return spanOffsets[centroidID + 1];
+    }
+
+    public int row(int span){
+        return rows[span];
+    }
+
+    public int xStart(int span){
+        return xStarts[span];
+    }
+
+    /**
+     * One past the last column of the run.
+     */
+    public int xEnd(int span){
+        return xEnds[span];
+    }
+
+    public int numPoints(int centroidID){
+        int numPoints = 0;
+        for(int span=firstSpan(centroidID); span<spanEnd(centroidID); span++){
+            numPoints += xEnds[span] - xStarts[span];
+        }
+        return numPoints;
+    }
+
+
+    private interface RunConsumer{
+
+        void accept(int centroidID, int y, int xStart, int xEnd);
+
+    }
+
+}
@@ -1,33 +1,121 @@
 package com.mason.mapgen.procgen.algorithms.chunking.components;
 
 import com.mason.libgui.utils.structures.*;
-import com.mason.mapgen.procgen.algorithms.chunking.CentroidNeighbourhoodSearch;
 import com.mason.mapgen.structures.grids.lowMemory.CardinalIndexNeighbours;
-import com.mason.mapgen.structures.grids.lowMemory.ShortGrid;
+import com.mason.mapgen.structures.grids.lowMemory.GridAllocator;
+import com.mason.mapgen.structures.grids.lowMemory.IndexedIntGrid;
+import com.mason.mapgen.structures.grids.lowMemory.IntegerWidth;
 
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.StreamSupport;
 
 import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
+/**
+ * Records which centroid each point belongs to and how far it is from it.
+ * IDs and distances are stored at the narrowest width that fits the number of
+ * centroids and the size of the grid, so small maps stay compact while large
+ * maps can hold more than 32767 chunks. A {@link GridAllocator} can keep the
+ * two grids off the heap or in files for maps too large for it. Only the
+ * assignments go to those files; the centroids themselves stay on the heap, so
+ * a grid cannot be rebuilt from its files alone.
+ */
 public class ChunkingGrid<T extends CentroidData<T>>{
 
 
-    private static final short DIST_UNSET = -1;
+    public static final int DEFAULT_MAX_CENTROIDS = Short.MAX_VALUE;
+    private static final int DIST_UNSET = -1;
 
-    private final ShortGrid centroidIDGrid;
-    private final ShortGrid distToCentroidGrid;
+    private final IndexedIntGrid centroidIDGrid;
+    private final IndexedIntGrid distToCentroidGrid;
+    private final int maxStoredDist;
     private final CentroidIDMap<T> centroidDataMap;
     private final Size size;
-    private short maxDistToCentroid = -1;
+    private final Coord origin;
+    private final int[] parentIDs;
+    private int maxDistToCentroid = -1;
+    private ChunkSpanIndex spanIndex;
+    private CentroidSpatialIndex centroidIndex;
 
 
     public ChunkingGrid(Size size){
+        this(size, DEFAULT_MAX_CENTROIDS);
+    }
+
+    public ChunkingGrid(Size size, int maxCentroids){
+        this(size, maxCentroids, GridAllocator.HEAP);
+    }
+
+    /**
+     * The allocator is asked for two grids, named "centroidIDs" and "distances".
+     */
+    public ChunkingGrid(Size size, int maxCentroids, GridAllocator allocator){
+        this(size, new Coord(0, 0), maxCentroids,
+                IntegerWidth.fitting(maxCentroids - 1), IntegerWidth.fitting(size.width() + size.height()), allocator, null);
+    }
+
+    private ChunkingGrid(Size size, Coord origin, int maxCentroids, IntegerWidth idWidth, IntegerWidth distWidth,
+                         GridAllocator allocator, int[] parentIDs){
+        if(maxCentroids < 1){
+            throw new IllegalArgumentException("Grid must allow at least one centroid!");
+        }
         this.size = size;
-        centroidIDGrid = new ShortGrid(size, CENTROID_UNSET);
-        distToCentroidGrid = new ShortGrid(size, DIST_UNSET);
-        centroidDataMap = new CentroidIDMap<>();
+        this.origin = origin;
+        this.parentIDs = parentIDs;
+        centroidIDGrid = allocator.allocate(idWidth, size, CENTROID_UNSET, "centroidIDs");
+        distToCentroidGrid = allocator.allocate(distWidth, size, DIST_UNSET, "distances");
+        maxStoredDist = distWidth.maxValue();
+        centroidDataMap = new CentroidIDMap<>(maxCentroids);
+    }
+
+    /**
+     * Builds a standalone grid covering the given region of this one. Its
+     * coordinates stay in the parent's frame, so flood fills and annex queries
+     * run on it unchanged. The given centroids are numbered afresh from 0 in
+     * the order of their IDs here, so the window's registry is only as large as
+     * the centroids it holds, and {@link #copyAssignments} numbers them back.
+     * The centroid data is shared with this grid.
+     */
+    public ChunkingGrid<T> window(RectQuery region, Iterable<Integer> centroidIDs){
+        int[] ids = sortedIDs(centroidIDs);
+        ChunkingGrid<T> window = new ChunkingGrid<>(new Size(region.width(), region.height()), region.getCoord(),
+                max(ids.length, 1), IntegerWidth.fitting(ids.length - 1), distWidth(), GridAllocator.HEAP, ids);
+        for(int centroidID : ids){
+            window.createCentroid(getCentroidDataByID(centroidID));
+        }
+        return window;
+    }
+
+    private static int[] sortedIDs(Iterable<Integer> centroidIDs){
+        return StreamSupport.stream(centroidIDs.spliterator(), false).mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private IntegerWidth distWidth(){
+        return IntegerWidth.fitting(maxStoredDist);
+    }
+
+    /**
+     * Copies the centroid assignments of every point in the region from the
+     * window, which must cover it, turning the window's IDs back into this
+     * grid's.
+     */
+    public void copyAssignments(ChunkingGrid<T> window, RectQuery region){
+        for(int y=region.y(); y<region.y()+region.height(); y++){
+            int pointIdx = asIndex(new Coord(region.x(), y));
+            int windowIdx = window.asIndex(new Coord(region.x(), y));
+            for(int x=0; x<region.width(); x++){
+                setCentroidByIndex(pointIdx + x, window.parentID(window.centroidID(windowIdx + x)),
+                        window.distanceToCentroid(windowIdx + x));
+            }
+        }
+    }
+
+    private int parentID(int centroidID){
+        return centroidID == CENTROID_UNSET || parentIDs == null ? centroidID : parentIDs[centroidID];
     }
 
 
@@ -35,88 +123,127 @@ public class ChunkingGrid<T extends CentroidData<T>>{
         return size;
     }
 
-    public Iterable<Short> getAllCentroidIDs(){
+    public Iterable<Integer> getAllCentroidIDs(){
         return centroidDataMap.getCentroidIDs();
     }
 
-    public short centroidID(Integer pointIdx){
-        return centroidIDGrid.getByIndex(pointIdx);
+    public int numCentroids(){
+        return centroidDataMap.size();
     }
 
-    public short distanceToCentroid(Integer pointIdx){
-        return distToCentroidGrid.getByIndex(pointIdx);
+    public int centroidIDBound(){
+        return centroidDataMap.idBound();
     }
 
-    public T getCentroidDataByIndex(Integer pointIdx){
+    public int centroidID(int pointIdx){
+        return centroidIDGrid.getAsInt(pointIdx);
+    }
+
+    public int distanceToCentroid(int pointIdx){
+        return distToCentroidGrid.getAsInt(pointIdx);
+    }
+
+    public T getCentroidDataByIndex(int pointIdx){
         if(!hasCentroid(pointIdx)){
             throw new IllegalStateException("Point does not have centroid!");
         }
-        short centroidID = centroidIDGrid.getByIndex(pointIdx);
-        return centroidDataMap.getCentroidData(centroidID);
+        return centroidDataMap.getCentroidData(centroidIDGrid.getAsInt(pointIdx));
     }
 
-    public T getCentroidDataByID(short centroidID){
+    public T getCentroidDataByID(int centroidID){
         return centroidDataMap.getCentroidData(centroidID);
     }
 
-    public boolean hasCentroid(Integer pointIdx){
-        return centroidIDGrid.getByIndex(pointIdx) != CENTROID_UNSET;
+    public boolean hasCentroid(int pointIdx){
+        return centroidIDGrid.getAsInt(pointIdx) != CENTROID_UNSET;
     }
 
-    public boolean isCentroid(Integer pointIdx){
+    public boolean isCentroid(int pointIdx){
         if(!hasCentroid(pointIdx)){
             return false;
         }
-        short centroidID = centroidIDGrid.getByIndex(pointIdx);
-        return pointIndexMatchesCentroidCoord(pointIdx, centroidID);
+        return pointIndexMatchesCentroidCoord(pointIdx, centroidIDGrid.getAsInt(pointIdx));
     }
 
-    private boolean pointIndexMatchesCentroidCoord(Integer pointIdx, short centroidID){
-        Coord centroidCoord = centroidDataMap.getCentroidCoord(centroidID);
-        int centroidIndex = centroidIDGrid.asIndex(centroidCoord);
+    private boolean pointIndexMatchesCentroidCoord(int pointIdx, int centroidID){
+        int centroidIndex = asIndex(centroidDataMap.getCentroidX(centroidID), centroidDataMap.getCentroidY(centroidID));
         return centroidIndex == pointIdx;
     }
 
-    public void setCentroid(Coord pointCoord, short centroidID, short distToCentroid){
-        int pointIndex = centroidIDGrid.asIndex(pointCoord);
+    public void setCentroid(Coord pointCoord, int centroidID, int distToCentroid){
+        int pointIndex = asIndex(pointCoord);
         setCentroidByIndex(pointIndex, centroidID, distToCentroid);
     }
 
-    public void setCentroidByIndex(int pointIdx, short centroidID, short distToCentroid){
-        centroidIDGrid.setByIndex(pointIdx, centroidID);
-        distToCentroidGrid.setByIndex(pointIdx, distToCentroid);
+    /**
+     * Distances too large for the grid's storage width are clamped to the
+     * largest storable value.
+     */
+    public void setCentroidByIndex(int pointIdx, int centroidID, int distToCentroid){
+        centroidIDGrid.setAsInt(pointIdx, centroidID);
+        distToCentroidGrid.setAsInt(pointIdx, min(distToCentroid, maxStoredDist));
     }
 
     public void unsetCentroidByIndex(int pointIdx){
         setCentroidByIndex(pointIdx, CENTROID_UNSET, DIST_UNSET);
     }
 
-    public Coord getCentroidCoord(short centroidID){
+    public void clearAssignments(){
+        int numPoints = size.width() * size.height();
+        for(int pointIdx=0; pointIdx<numPoints; pointIdx++){
+            unsetCentroidByIndex(pointIdx);
+        }
+    }
+
+    public Coord getCentroidCoord(int centroidID){
         return centroidDataMap.getCentroidCoord(centroidID);
     }
 
+    public int centroidX(int centroidID){
+        return centroidDataMap.getCentroidX(centroidID);
+    }
+
+    public int centroidY(int centroidID){
+        return centroidDataMap.getCentroidY(centroidID);
+    }
+
     public void createCentroid(T data){
-        short centroidID = centroidDataMap.createCentroidAndReturnID(data);
-        Coord centroidCoord = data.getCoord();
-        centroidIDGrid.set(centroidCoord.x(), centroidCoord.y(), centroidID);
+        int centroidID = centroidDataMap.createCentroidAndReturnID(data);
+        centroidIDGrid.setAsInt(asIndex(data.getCoord()), centroidID);
     }
 
-    public void moveCentroid(short centroidId, Coord newCoord){
+    public void moveCentroid(int centroidId, Coord newCoord){
         centroidDataMap.moveCentroid(centroidId, newCoord);
     }
 
-    public Coord asCoord(Integer targetIdx){
-        return new Coord(targetIdx % size.width(), targetIdx / size.width());
+    public Coord asCoord(int targetIdx){
+        return new Coord(pointX(targetIdx), pointY(targetIdx));
     }
 
-    public Integer asIndex(Coord coord){
-        return coord.y()*size.width() + coord.x();
+    public int pointX(int pointIdx){
+        return origin.x() + pointIdx % size.width();
     }
 
-    public Iterable<Integer> cardinalNeighbours(Integer pointIdx){
+    public int pointY(int pointIdx){
+        return origin.y() + pointIdx / size.width();
+    }
+
+    public int asIndex(Coord coord){
+        return asIndex(coord.x(), coord.y());
+    }
+
+    public int asIndex(int x, int y){
+        return (y - origin.y())*size.width() + x - origin.x();
+    }
+
+    public Iterable<Integer> cardinalNeighbours(int pointIdx){
         return new CardinalIndexNeighbours(pointIdx, size);
     }
 
+    public void forEachCardinalNeighbour(int pointIdx, IntConsumer visitor){
+        CardinalIndexNeighbours.forEach(pointIdx, size, visitor);
+    }
+
     public Iterable<Integer> pointIndices(){
         return () -> new Iterator<>(){
 
@@ -143,8 +270,8 @@ public class ChunkingGrid<T extends CentroidData<T>>{
     private RectQuery constructSafeClip(RectQuery clip){
         int x = max(clip.x(), 0);
         int y = max(clip.y(), 0);
-        int width = min(clip.width(), size.width()-x-1);
-        int height = min(clip.height(), size.height()-y-1);
+        int width = min(clip.width(), size.width()-x);
+        int height = min(clip.height(), size.height()-y);
         return new Rect(x, y, width, height);
     }
 
@@ -172,19 +299,55 @@ public class ChunkingGrid<T extends CentroidData<T>>{
     }
 
     public void updateMaxDistToCentroid(){
-        maxDistToCentroid = distToCentroidGrid.max();
+        maxDistToCentroid = distToCentroidGrid.maxAsInt();
+    }
+
+    /**
+     * The value found by the last call to {@link #updateMaxDistToCentroid()},
+     * or -1 before the first.
+     */
+    public int getMaxDistToCentroid(){
+        return maxDistToCentroid;
+    }
+
+    /**
+     * Indexes the points of every chunk as horizontal runs, on the common
+     * pool. Call once chunking is finished, and again if points change chunk.
+     */
+    public void updateSpanIndex(){
+        spanIndex = ChunkSpanIndex.build(this, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * The index built by the last call to {@link #updateSpanIndex()}, or null
+     * before the first.
+     */
+    public ChunkSpanIndex getSpanIndex(){
+        return spanIndex;
+    }
+
+    /**
+     * Buckets the centroids by position for radius queries. Call once
+     * chunking is finished, and again if centroids are added or moved.
+     */
+    public void updateCentroidIndex(){
+        centroidIndex = CentroidSpatialIndex.build(this);
+    }
+
+    /**
+     * The index built by the last call to {@link #updateCentroidIndex()}, or
+     * null before the first.
+     */
+    public CentroidSpatialIndex getCentroidIndex(){
+        return centroidIndex;
     }
 
     public RectQuery constructBoundingRectangle(Coord centroidCoord){
         int x = max(centroidCoord.x() - maxDistToCentroid, 0);
         int y = max(centroidCoord.y() - maxDistToCentroid, 0);
-        int width = min(2*maxDistToCentroid+1, size.width()-x-1);
-        int height = min(2*maxDistToCentroid+1, size.height()-y-1);
+        int width = min(2*maxDistToCentroid+1, size.width()-x);
+        int height = min(2*maxDistToCentroid+1, size.height()-y);
         return new Rect(x, y, width, height);
     }
 
-    public Iterable<T> centroidNeighbourhood(T data, int searchDepth){
-        return new CentroidNeighbourhoodSearch<>(this).centroidNeighbourhood(data, searchDepth);
-    }
-
 }
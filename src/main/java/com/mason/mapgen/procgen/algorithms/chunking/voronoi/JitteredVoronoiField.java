@@ -0,0 +1,161 @@
+package com.mason.mapgen.procgen.algorithms.chunking.voronoi;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Voronoi chunks for maps too large to chunk in one piece. The map is cut into
+ * square cells, about one per requested chunk, and each cell holds a single
+ * centroid at a position hashed from the seed and the cell. Any centroid can
+ * be found without looking at the others, so the chunks of a region can be
+ * worked out from that region alone.
+ * The centroid nearest a point always lies within two cells of the point's
+ * own cell, because the centroid of its own cell is nearer than anything
+ * further away. Jitter sets how far centroids may stray from the middle of
+ * their cells: 0 gives a regular grid and 1 lets them fall anywhere in the
+ * cell. Keeping one centroid per cell stands in for Lloyd relaxation, which
+ * needs the whole map at once.
+ * Chunk IDs are cell indices in row-major order. Ties between equally near
+ * centroids go to the lower ID.
+ * @author Adam Whittaker
+ */
+public class JitteredVoronoiField{
+
+
+    private static final int SEARCH_RADIUS = 2;
+
+    private final Size mapSize;
+    private final Seed seed;
+    private final double jitter;
+    private final int cellSize;
+    private final int cellsX, cellsY;
+
+
+    public JitteredVoronoiField(Size mapSize, int numChunks, Seed seed, double jitter){
+        if(numChunks < 1){
+            throw new IllegalArgumentException("There must be at least one chunk!");
+        }
+        if(jitter < 0 || jitter > 1){
+            throw new IllegalArgumentException("Jitter must be between 0 and 1!");
+        }
+        this.mapSize = mapSize;
+        this.seed = seed;
+        this.jitter = jitter;
+        cellSize = max(1, (int) Math.round(Math.sqrt((double) mapSize.width() * mapSize.height() / numChunks)));
+        cellsX = (mapSize.width() + cellSize - 1) / cellSize;
+        cellsY = (mapSize.height() + cellSize - 1) / cellSize;
+    }
+
+
+    public Size getMapSize(){
+        return mapSize;
+    }
+
+    public int getCellSize(){
+        return cellSize;
+    }
+
+    public int numChunks(){
+        return cellsX * cellsY;
+    }
+
+    public Coord getCentroidCoord(int chunkID){
+        int cellX = chunkID % cellsX, cellY = chunkID / cellsX;
+        return new Coord(centroidX(cellX, cellY), centroidY(cellX, cellY));
+    }
+
+    private int centroidX(int cellX, int cellY){
+        return cellX * cellSize + jitteredOffset(cellX, cellsX, mapSize.width(), Seed.key(cellX, cellY), 0);
+    }
+
+    private int centroidY(int cellX, int cellY){
+        return cellY * cellSize + jitteredOffset(cellY, cellsY, mapSize.height(), Seed.key(cellX, cellY), 1);
+    }
+
+    /**
+     * Cells in the last row or column may be cut short by the edge of the
+     * map, so their centroids are kept inside what is left.
+     */
+    private int jitteredOffset(int cell, int numCells, int mapLength, long cellKey, int axis){
+        int length = cell == numCells - 1 ? mapLength - cell * cellSize : cellSize;
+        return (int) (length * (0.5 + jitter * (seed.uniform(cellKey, axis) - 0.5)));
+    }
+
+
+    /**
+     * Writes the chunk ID of every point in the region into the given array,
+     * in row-major order with the region's width.
+     */
+    public void assignRegion(RectQuery region, int[] chunkIDs){
+        if(chunkIDs.length < region.width() * region.height()){
+            throw new IllegalArgumentException("The array is too small for the region!");
+        }
+        Candidates candidates = new Candidates(region);
+        for(int y=0; y<region.height(); y++){
+            int mapY = region.y() + y;
+            for(int x=0; x<region.width(); x++){
+                chunkIDs[y*region.width() + x] = candidates.nearest(region.x() + x, mapY);
+            }
+        }
+    }
+
+
+    /**
+     * The centroids of every cell within the search radius of a region,
+     * worked out once so each point only compares distances.
+     */
+    private final class Candidates{
+
+
+        private final int firstCellX, firstCellY;
+        private final int width, height;
+        private final int[] xs, ys;
+
+
+        private Candidates(RectQuery region){
+            firstCellX = max(region.x() / cellSize - SEARCH_RADIUS, 0);
+            firstCellY = max(region.y() / cellSize - SEARCH_RADIUS, 0);
+            int lastCellX = min((region.x() + region.width() - 1) / cellSize + SEARCH_RADIUS, cellsX - 1);
+            int lastCellY = min((region.y() + region.height() - 1) / cellSize + SEARCH_RADIUS, cellsY - 1);
+            width = lastCellX - firstCellX + 1;
+            height = lastCellY - firstCellY + 1;
+            xs = new int[width * height];
+            ys = new int[width * height];
+            for(int cy=0; cy<height; cy++){
+                for(int cx=0; cx<width; cx++){
+                    xs[cy*width + cx] = centroidX(firstCellX + cx, firstCellY + cy);
+                    ys[cy*width + cx] = centroidY(firstCellX + cx, firstCellY + cy);
+                }
+            }
+        }
+
+
+        private int nearest(int x, int y){
+            int cellX = x / cellSize, cellY = y / cellSize;
+            int startX = max(cellX - SEARCH_RADIUS, firstCellX), endX = min(cellX + SEARCH_RADIUS, firstCellX + width - 1);
+            int startY = max(cellY - SEARCH_RADIUS, firstCellY), endY = min(cellY + SEARCH_RADIUS, firstCellY + height - 1);
+            long bestDistance = Long.MAX_VALUE;
+            int bestID = -1;
+            for(int cy=startY; cy<=endY; cy++){
+                int rowStart = (cy - firstCellY) * width - firstCellX;
+                for(int cx=startX; cx<=endX; cx++){
+                    long dx = xs[rowStart + cx] - x;
+                    long dy = ys[rowStart + cx] - y;
+                    long distance = dx*dx + dy*dy;
+                    if(distance < bestDistance){
+                        bestDistance = distance;
+                        bestID = cy*cellsX + cx;
+                    }
+                }
+            }
+            return bestID;
+        }
+
+    }
+
+}
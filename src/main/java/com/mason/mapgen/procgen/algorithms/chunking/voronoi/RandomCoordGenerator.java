@@ -4,10 +4,11 @@ import com.mason.libgui.utils.structures.Coord;
 import com.mason.libgui.utils.structures.Size;
 
 import java.util.Set;
+import java.util.random.RandomGenerator;
 
 public interface RandomCoordGenerator{
 
 
-    Set<Coord> generateRandomDistinctCoords(Size bounds, int numCoords);
+    Set<Coord> generateRandomDistinctCoords(Size bounds, int numCoords, RandomGenerator random);
 
 }
@@ -5,38 +5,76 @@ import com.mason.libgui.utils.structures.Size;
 import com.mason.mapgen.procgen.algorithms.chunking.*;
 import com.mason.mapgen.procgen.algorithms.chunking.components.CentroidData;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.metrics.MetricsRegistry;
+import com.mason.mapgen.structures.records.Seed;
 
-import java.util.Map;
+import java.util.BitSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 public class VoronoiChunker<T extends CentroidData<T>>{
 
 
+    private static final String CENTROID_PLACEMENT_STAGE = "centroidPlacement";
+
     private final ChunkingGrid<T> grid;
+    private final Seed seed;
     private final int numChunks;
     private final int lloydRelaxCount;
     private final RandomCoordGenerator randomCoordGenerator;
     private final CentroidDataInitializer<T> centroidDataInitializer;
     private final CentroidFloodFill<T> lloydRelaxFloodFill;
     private final CentroidFloodFill<T> chunkingFloodFill;
+    private final boolean incrementalLloydRelax;
+    private final double lloydMoveThreshold;
+    private final double lloydConvergenceThreshold;
+    private final ForkJoinPool pool;
 
 
     protected VoronoiChunker(VoronoiChunkerSkeleton<T> skeleton){
         grid = skeleton.getGrid();
+        seed = skeleton.getSeed();
         numChunks = skeleton.getNumChunks();
         lloydRelaxCount = skeleton.getLloydRelaxCount();
         centroidDataInitializer = skeleton.getCentroidDataInitializer();
         lloydRelaxFloodFill = skeleton.getLloydRelaxFloodFill();
         chunkingFloodFill = skeleton.getChunkingFloodFill();
         randomCoordGenerator = skeleton.getRandomCoordGenerator();
+        incrementalLloydRelax = skeleton.isIncrementalLloydRelax();
+        lloydMoveThreshold = skeleton.getLloydMoveThreshold();
+        lloydConvergenceThreshold = skeleton.getLloydConvergenceThreshold();
+        pool = skeleton.getPool();
     }
 
     public static <E extends CentroidData<E>> VoronoiChunker<E> build(Size size,
                                                                       int numChunks,
                                                                       int lloydRelaxCount,
+                                                                      Seed seed,
                                                                       CentroidDataInitializer<E> centroidDataInitializer,
                                                                       FloodFillAnnexQuery<E> annexQuery){
-        return new VoronoiChunker<>(VoronoiChunkerBuilder.buildSkeleton(size, numChunks, lloydRelaxCount, centroidDataInitializer, annexQuery));
+        return new VoronoiChunker<>(VoronoiChunkerBuilder.buildSkeleton(size, numChunks, lloydRelaxCount, seed, centroidDataInitializer, annexQuery));
+    }
+
+    public static <E extends CentroidData<E>> VoronoiChunker<E> buildParallel(Size size,
+                                                                              int numChunks,
+                                                                              int lloydRelaxCount,
+                                                                              Seed seed,
+                                                                              CentroidDataInitializer<E> centroidDataInitializer,
+                                                                              FloodFillAnnexQuery<E> annexQuery,
+                                                                              ForkJoinPool pool){
+        return new VoronoiChunker<>(VoronoiChunkerBuilder.buildParallelSkeleton(size, numChunks, lloydRelaxCount, seed,
+                centroidDataInitializer, annexQuery, pool));
+    }
+
+    public static <E extends CentroidData<E>> VoronoiChunker<E> buildWithDistanceTransform(Size size,
+                                                                                           int numChunks,
+                                                                                           int lloydRelaxCount,
+                                                                                           Seed seed,
+                                                                                           CentroidDataInitializer<E> centroidDataInitializer,
+                                                                                           FloodFillAnnexQuery<E> annexQuery,
+                                                                                           ForkJoinPool pool){
+        return new VoronoiChunker<>(VoronoiChunkerBuilder.buildDistanceTransformSkeleton(size, numChunks, lloydRelaxCount, seed,
+                centroidDataInitializer, annexQuery, pool));
     }
 
     public static <E extends CentroidData<E>> VoronoiChunker<E> buildFromSkeleton(VoronoiChunkerSkeleton<E> skeleton){
@@ -55,29 +93,101 @@ public class VoronoiChunker<T extends CentroidData<T>>{
     }
 
     private void placeCentroidsRandomly(){
-        Set<Coord> coords = randomCoordGenerator.generateRandomDistinctCoords(grid.size(), numChunks);
-        for(Coord coord : coords){
-            grid.createCentroid(centroidDataInitializer.initializeCentroid(coord));
-        }
+        MetricsRegistry.global().time("VoronoiChunker.placeCentroidsRandomly", () -> {
+            Set<Coord> coords = randomCoordGenerator.generateRandomDistinctCoords(grid.size(), numChunks,
+                    seed.derive(CENTROID_PLACEMENT_STAGE).stream());
+            for(Coord coord : coords){
+                grid.createCentroid(centroidDataInitializer.initializeCentroid(coord));
+            }
+        });
     }
 
     private void lloydRelax(){
+        MetricsRegistry.global().time("VoronoiChunker.lloydRelax", () -> {
+            if(incrementalLloydRelax){
+                lloydRelaxIncrementally();
+            }else{
+                lloydRelaxFully();
+            }
+        });
+    }
+
+    private void lloydRelaxFully(){
         for(int n=0; n<lloydRelaxCount; n++){
             lloydRelaxFloodFill.floodFill();
-            resetCentroidsToChunkCentre();
+            if(resetCentroidsToChunkCentre() <= lloydConvergenceThreshold){
+                return;
+            }
         }
     }
 
-    private void resetCentroidsToChunkCentre(){
-        CentroidCounterMap counterMap = new CentroidCounterMap(grid);
+    private double resetCentroidsToChunkCentre(){
+        CentroidCounterMap counterMap = new CentroidCounterMap(grid, pool);
         counterMap.averageAndClearCentroids();
-        moveCentroidsToChunkCentre(counterMap);
+        return moveCentroidsToChunkCentre(counterMap, 0, null);
+    }
+
+    private void lloydRelaxIncrementally(){
+        if(lloydRelaxCount == 0){
+            return;
+        }
+        lloydRelaxFloodFill.floodFill();
+        for(int n=0; n<lloydRelaxCount; n++){
+            CentroidCounterMap counterMap = new CentroidCounterMap(grid, pool);
+            counterMap.averageCentroids();
+            boolean[] movedCentroids = new boolean[grid.centroidIDBound()];
+            double meanDisplacement = moveCentroidsToChunkCentre(counterMap, lloydMoveThreshold, movedCentroids);
+            if(n == lloydRelaxCount-1 || meanDisplacement <= lloydConvergenceThreshold){
+                break;
+            }
+            lloydRelaxFloodFill.refloodChunks(movedCentroids);
+        }
+        grid.clearAssignments();
     }
 
-    private void moveCentroidsToChunkCentre(CentroidCounterMap counterMap){
-        for(Map.Entry<Short, long[]> centroidPair : counterMap){
-            grid.moveCentroid(centroidPair.getKey(), counterMap.counterToCoord(centroidPair.getValue()));
+    /**
+     * Moves each centroid which would move further than the threshold to the
+     * centre of its chunk, flagging it if movedCentroids is given. The points
+     * held by centroids are tracked as they move, so a centroid whose centre
+     * is already held, including by a centroid moved earlier in this pass,
+     * stays where it is.
+     * @return the mean distance the centroids would move, including those
+     * under the threshold.
+     */
+    private double moveCentroidsToChunkCentre(CentroidCounterMap counterMap, double moveThreshold, boolean[] movedCentroids){
+        BitSet occupiedPoints = findOccupiedPoints();
+        double totalDisplacement = 0;
+        int numCentroids = 0;
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            numCentroids++;
+            if(!counterMap.hasPoints(centroidID)){
+                continue;
+            }
+            Coord centre = counterMap.averageCoord(centroidID);
+            double displacement = Math.hypot(centre.x() - grid.centroidX(centroidID), centre.y() - grid.centroidY(centroidID));
+            totalDisplacement += displacement;
+            if(displacement > moveThreshold && canMoveCentroidTo(centre, occupiedPoints)){
+                occupiedPoints.clear(grid.asIndex(grid.centroidX(centroidID), grid.centroidY(centroidID)));
+                occupiedPoints.set(grid.asIndex(centre));
+                grid.moveCentroid(centroidID, centre);
+                if(movedCentroids != null){
+                    movedCentroids[centroidID] = true;
+                }
+            }
         }
+        return numCentroids == 0 ? 0 : totalDisplacement / numCentroids;
+    }
+
+    private BitSet findOccupiedPoints(){
+        BitSet occupiedPoints = new BitSet(grid.size().width() * grid.size().height());
+        for(Integer centroidID : grid.getAllCentroidIDs()){
+            occupiedPoints.set(grid.asIndex(grid.centroidX(centroidID), grid.centroidY(centroidID)));
+        }
+        return occupiedPoints;
+    }
+
+    private boolean canMoveCentroidTo(Coord centre, BitSet occupiedPoints){
+        return !occupiedPoints.get(grid.asIndex(centre));
     }
 
 }
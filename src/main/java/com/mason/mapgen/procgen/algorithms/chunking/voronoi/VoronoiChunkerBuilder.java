@@ -4,24 +4,94 @@ import com.mason.libgui.utils.structures.Size;
 import com.mason.mapgen.procgen.algorithms.chunking.*;
 import com.mason.mapgen.procgen.algorithms.chunking.components.CentroidData;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.records.Seed;
+
+import java.util.concurrent.ForkJoinPool;
 
 public class VoronoiChunkerBuilder{
 
+
+    public static final int DEFAULT_TILE_SIZE = 256;
+    private static final int MIN_HALO_SIZE = 8;
+
+
     public static <E extends CentroidData<E>> VoronoiChunkerSkeleton<E> buildSkeleton(Size size,
                                                                                       int numChunks,
                                                                                       int lloydRelaxCount,
+                                                                                      Seed seed,
                                                                                       CentroidDataInitializer<E> centroidDataInitializer,
                                                                                       FloodFillAnnexQuery<E> annexQuery){
         VoronoiChunkerSkeleton<E> skeleton = new VoronoiChunkerSkeleton<>();
-        skeleton.setGrid(new ChunkingGrid<>(size));
+        skeleton.setGrid(createGrid(size, numChunks));
         skeleton.setNumChunks(numChunks);
         skeleton.setLloydRelaxCount(lloydRelaxCount);
+        skeleton.setSeed(seed);
         skeleton.setCentroidDataInitializer(centroidDataInitializer);
         constructLloydRelaxFloodFill(skeleton);
         constructChunkingFloodFill(skeleton, annexQuery);
         return skeleton;
     }
 
+    /**
+     * Builds a skeleton whose flood fills run tile by tile on the given pool.
+     * The halo around each tile is twice the average chunk radius, so most
+     * chunks crossing a tile edge are complete before the boundaries are
+     * reconciled.
+     */
+    public static <E extends CentroidData<E>> VoronoiChunkerSkeleton<E> buildParallelSkeleton(Size size,
+                                                                                              int numChunks,
+                                                                                              int lloydRelaxCount,
+                                                                                              Seed seed,
+                                                                                              CentroidDataInitializer<E> centroidDataInitializer,
+                                                                                              FloodFillAnnexQuery<E> annexQuery,
+                                                                                              ForkJoinPool pool){
+        VoronoiChunkerSkeleton<E> skeleton = new VoronoiChunkerSkeleton<>();
+        skeleton.setGrid(createGrid(size, numChunks));
+        skeleton.setNumChunks(numChunks);
+        skeleton.setLloydRelaxCount(lloydRelaxCount);
+        skeleton.setSeed(seed);
+        skeleton.setCentroidDataInitializer(centroidDataInitializer);
+        skeleton.setPool(pool);
+        int haloSize = computeHaloSize(size, numChunks);
+        skeleton.setLloydRelaxFloodFill(new ParallelCentroidFloodFill<>(skeleton.getGrid(), AnnexQueries::euclideanQuery,
+                false, pool, DEFAULT_TILE_SIZE, haloSize));
+        skeleton.setChunkingFloodFill(new ParallelCentroidFloodFill<>(skeleton.getGrid(), annexQuery,
+                true, pool, DEFAULT_TILE_SIZE, haloSize));
+        return skeleton;
+    }
+
+    /**
+     * Builds a skeleton whose Lloyd relaxation assigns points with an exact
+     * distance transform rather than a flood fill, split across the given
+     * pool. The final chunking still flood fills with the given annex query.
+     */
+    public static <E extends CentroidData<E>> VoronoiChunkerSkeleton<E> buildDistanceTransformSkeleton(Size size,
+                                                                                                       int numChunks,
+                                                                                                       int lloydRelaxCount,
+                                                                                                       Seed seed,
+                                                                                                       CentroidDataInitializer<E> centroidDataInitializer,
+                                                                                                       FloodFillAnnexQuery<E> annexQuery,
+                                                                                                       ForkJoinPool pool){
+        VoronoiChunkerSkeleton<E> skeleton = buildSkeleton(size, numChunks, lloydRelaxCount, seed, centroidDataInitializer, annexQuery);
+        skeleton.setLloydRelaxFloodFill(new DistanceTransformVoronoiFill<>(skeleton.getGrid(), false, pool));
+        skeleton.setPool(pool);
+        return skeleton;
+    }
+
+    /**
+     * Sizes the grid's ID storage from the chunk count. A non-positive count
+     * means the coordinate generator decides how many chunks there are, so
+     * the default limit is used.
+     */
+    private static <E extends CentroidData<E>> ChunkingGrid<E> createGrid(Size size, int numChunks){
+        return numChunks > 0 ? new ChunkingGrid<>(size, numChunks) : new ChunkingGrid<>(size);
+    }
+
+    private static int computeHaloSize(Size size, int numChunks){
+        double averageChunkArea = (double) size.width() * size.height() / Math.max(numChunks, 1);
+        return Math.max(MIN_HALO_SIZE, (int) Math.ceil(2 * Math.sqrt(averageChunkArea)));
+    }
+
     private static <E extends CentroidData<E>> void constructLloydRelaxFloodFill(VoronoiChunkerSkeleton<E> skeleton){
         CentroidFloodFill<E> lloydFloodFill = new CentroidFloodFill<>(skeleton.getGrid(), AnnexQueries::euclideanQuery, false);
         skeleton.setLloydRelaxFloodFill(lloydFloodFill);
@@ -4,17 +4,25 @@ import com.mason.mapgen.procgen.algorithms.chunking.CentroidFloodFill;
 import com.mason.mapgen.procgen.algorithms.chunking.components.CentroidData;
 import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
 import com.mason.mapgen.procgen.algorithms.misc.RandomCoords;
+import com.mason.mapgen.structures.records.Seed;
+
+import java.util.concurrent.ForkJoinPool;
 
 public class VoronoiChunkerSkeleton<T extends CentroidData<T>>{
 
 
     private ChunkingGrid<T> grid;
+    private Seed seed;
     private int numChunks;
     private int lloydRelaxCount;
     private RandomCoordGenerator randomCoordGenerator;
     private CentroidDataInitializer<T> centroidDataInitializer;
     private CentroidFloodFill<T> lloydRelaxFloodFill;
     private CentroidFloodFill<T> chunkingFloodFill;
+    private boolean incrementalLloydRelax = false;
+    private double lloydMoveThreshold = 0;
+    private double lloydConvergenceThreshold = 0;
+    private ForkJoinPool pool;
 
 
     public VoronoiChunkerSkeleton(){
@@ -33,6 +41,17 @@ public class VoronoiChunkerSkeleton<T extends CentroidData<T>>{
         return grid;
     }
 
+    public Seed getSeed(){
+        if(seed == null){
+            throw new IllegalStateException("seed is not set");
+        }
+        return seed;
+    }
+
+    public void setSeed(Seed seed){
+        this.seed = seed;
+    }
+
     public int getNumChunks(){
         return numChunks;
     }
@@ -89,6 +108,54 @@ public class VoronoiChunkerSkeleton<T extends CentroidData<T>>{
         chunkingFloodFill.shouldConnectChunkGraph(false);
     }
 
+    /**
+     * Makes Lloyd relaxation keep the grid between iterations and only
+     * reflood the chunks of centroids which moved further than the move
+     * threshold. Centroids which move less stay where they are.
+     */
+    public void enableIncrementalLloydRelax(double moveThreshold){
+        if(moveThreshold < 0){
+            throw new IllegalArgumentException("Move threshold must be non-negative!");
+        }
+        incrementalLloydRelax = true;
+        lloydMoveThreshold = moveThreshold;
+    }
+
+    public boolean isIncrementalLloydRelax(){
+        return incrementalLloydRelax;
+    }
+
+    public double getLloydMoveThreshold(){
+        return lloydMoveThreshold;
+    }
+
+    /**
+     * Lloyd relaxation stops early once the mean distance the centroids move
+     * in an iteration is no more than this.
+     */
+    public void setLloydConvergenceThreshold(double lloydConvergenceThreshold){
+        if(lloydConvergenceThreshold < 0){
+            throw new IllegalArgumentException("Convergence threshold must be non-negative!");
+        }
+        this.lloydConvergenceThreshold = lloydConvergenceThreshold;
+    }
+
+    public double getLloydConvergenceThreshold(){
+        return lloydConvergenceThreshold;
+    }
+
+    /**
+     * The pool used for the passes between flood fills, or null to run them
+     * on the calling thread.
+     */
+    public ForkJoinPool getPool(){
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool){
+        this.pool = pool;
+    }
+
     public RandomCoordGenerator getRandomCoordGenerator(){
         if(randomCoordGenerator == null){
             throw new IllegalStateException("randomCoordGenerator is not set");
@@ -6,29 +6,28 @@ import com.mason.libgui.utils.structures.Size;
 
 import java.util.HashSet;
 import java.util.Set;
-
-import static com.mason.mapgen.core.Utils.RANDOM;
+import java.util.random.RandomGenerator;
 
 public class RandomCoords{
 
 
-    public static Set<Coord> generateRandomDistinctCoords(Size bounds, int num){
+    public static Set<Coord> generateRandomDistinctCoords(Size bounds, int num, RandomGenerator random){
         Set<Coord> coords = new HashSet<>();
         while(coords.size() < num){
-            coords.add(generateRandomCoord(bounds));
+            coords.add(generateRandomCoord(bounds, random));
         }
         return coords;
     }
 
-    public static Coord generateRandomCoord(Size bounds){
-        int x = RANDOM.nextInt(bounds.width());
-        int y = RANDOM.nextInt(bounds.height());
+    public static Coord generateRandomCoord(Size bounds, RandomGenerator random){
+        int x = random.nextInt(bounds.width());
+        int y = random.nextInt(bounds.height());
         return new Coord(x, y);
     }
 
-    public static Coord generateRandomCoordWithinClip(RectQuery clip){
-        int x = clip.x() + RANDOM.nextInt(clip.width());
-        int y = clip.y() + RANDOM.nextInt(clip.height());
+    public static Coord generateRandomCoordWithinClip(RectQuery clip, RandomGenerator random){
+        int x = clip.x() + random.nextInt(clip.width());
+        int y = clip.y() + random.nextInt(clip.height());
         return new Coord(x, y);
     }
 
@@ -1,12 +1,13 @@
 package com.mason.mapgen.procgen.noise;
 
 import com.mason.libgui.utils.structures.Size;
-import com.mason.mapgen.structures.grids.MutableGrid;
+import com.mason.mapgen.metrics.MetricsRegistry;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
 
 public abstract class AbstractNoise implements Noise{
 
 
-    final MutableGrid<Double> grid;
+    final DoubleGrid grid;
     private boolean isNoiseGenerated = false;
 
 
@@ -17,7 +18,7 @@ public abstract class AbstractNoise implements Noise{
 
     //Accessors
     @Override
-    public MutableGrid<Double> getGrid(){
+    public DoubleGrid getGrid(){
         return grid;
     }
 
@@ -34,14 +35,14 @@ public abstract class AbstractNoise implements Noise{
             throw new IllegalStateException("Noise has already been generated!");
         }
         isNoiseGenerated = true;
-        generateNoiseSafely();
+        MetricsRegistry.global().time(getClass().getSimpleName() + ".generateNoise", this::generateNoiseSafely);
     }
 
     protected abstract void generateNoiseSafely();
 
 
-    public static MutableGrid<Double> createDoubleGridOfZeros(Size size){
-        return MutableGrid.buildGrid(new Double[size.height()][size.width()], (coord) -> 0d);
+    public static DoubleGrid createDoubleGridOfZeros(Size size){
+        return new DoubleGrid(size);
     }
 
 }
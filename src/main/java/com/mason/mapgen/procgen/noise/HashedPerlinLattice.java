@@ -0,0 +1,43 @@
+package com.mason.mapgen.procgen.noise;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+
+import static java.lang.Math.PI;
+
+/**
+ * A Perlin lattice whose gradients are hashed from a seed whenever they are
+ * read instead of being stored. It takes no memory however large the map, and
+ * any part of it can be evaluated from any thread, which is what tiled
+ * generation of maps larger than the heap needs.
+ * The gradients differ from those of a stored lattice drawn from the same
+ * seed.
+ * @author Adam Whittaker
+ */
+public class HashedPerlinLattice extends PerlinLattice{
+
+
+    private final Seed seed;
+
+
+    public HashedPerlinLattice(Size size, Seed seed){
+        super(size);
+        this.seed = seed;
+    }
+
+
+    @Override
+    double gradientXByIndex(long idx){
+        return Math.cos(angle(idx));
+    }
+
+    @Override
+    double gradientYByIndex(long idx){
+        return Math.sin(angle(idx));
+    }
+
+    private double angle(long idx){
+        return 2 * PI * seed.uniform(idx, 0);
+    }
+
+}
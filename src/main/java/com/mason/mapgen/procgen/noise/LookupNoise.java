@@ -2,7 +2,8 @@ package com.mason.mapgen.procgen.noise;
 
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.libgui.utils.structures.Size;
-import com.mason.mapgen.structures.grids.Grid;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Seed;
 
 public class LookupNoise extends AbstractNoise{
 
@@ -18,21 +19,23 @@ public class LookupNoise extends AbstractNoise{
     }
 
     public static LookupNoise buildPerlinLookupNoise(Size gridSize,
+                                                     Seed seed,
                                                      double amplitude,
                                                      int octaveNum,
                                                      double lacunarity,
                                                      double persistence,
                                                      LookupFunction lookupFunction){
-        Noise noise = new PerlinNoise(gridSize, amplitude, octaveNum, lacunarity, persistence);
+        Noise noise = new PerlinNoise(gridSize, seed, amplitude, octaveNum, lacunarity, persistence);
         return new LookupNoise(noise, lookupFunction);
     }
 
     public static LookupNoise buildWithDefaultPerlinLookupFunction(Size gridSize,
+                                                                   Seed seed,
                                                                    double amplitude,
                                                                    int octaveNum,
                                                                    double lacunarity,
                                                                    double persistence){
-        return buildPerlinLookupNoise(gridSize, amplitude, octaveNum, lacunarity, persistence, LookupFunction::defaultLookupFunction);
+        return buildPerlinLookupNoise(gridSize, seed, amplitude, octaveNum, lacunarity, persistence, LookupFunction::defaultLookupFunction);
     }
 
 
@@ -44,11 +47,11 @@ public class LookupNoise extends AbstractNoise{
     }
 
     private void lookupNoiseInUnderlyingGrid(){
-        Grid<Double> underlyingGrid = underlyingNoise.getGrid();
-        Size gridSize = underlyingGrid.getSize();
-        grid.transformSelf((coord, val) -> {
-            Coord lookupCoord = lookupFunction.lookup(coord, underlyingGrid.getValue(coord), gridSize);
-            return underlyingGrid.getValue(lookupCoord);
+        DoubleGrid underlyingGrid = underlyingNoise.getGrid();
+        Size gridSize = underlyingGrid.size();
+        grid.transformSelf((x, y, val) -> {
+            Coord lookupCoord = lookupFunction.lookup(new Coord(x, y), underlyingGrid.get(x, y), gridSize);
+            return underlyingGrid.get(lookupCoord);
         });
     }
 
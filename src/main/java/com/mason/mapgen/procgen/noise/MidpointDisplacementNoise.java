@@ -3,8 +3,9 @@ package com.mason.mapgen.procgen.noise;
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.libgui.utils.structures.Size;
 import com.mason.mapgen.structures.records.Rect;
+import com.mason.mapgen.structures.records.Seed;
 
-import static com.mason.mapgen.core.Utils.RANDOM;
+import java.util.random.RandomGenerator;
 
 public class MidpointDisplacementNoise extends AbstractNoise{
 
@@ -15,30 +16,36 @@ public class MidpointDisplacementNoise extends AbstractNoise{
      * each iteration.
      * tileArtefacts: Whether the noise will retain the square-based structure
      * of the generation algorithm (tiles look squarish and more regular).
+     * seed: Where the displacements are drawn from. The rectangles are always
+     * visited in the same order, so the same seed gives the same noise.
      */
     private final double initialJitter, jitterDecay;
     private final boolean tileArtefacts;
+    private final Seed seed;
+    private RandomGenerator random;
 
-    protected MidpointDisplacementNoise(Size gridSize, double initialJitter, double jitterDecay, boolean tileArtefacts){
+    protected MidpointDisplacementNoise(Size gridSize, Seed seed, double initialJitter, double jitterDecay, boolean tileArtefacts){
         super(gridSize);
+        this.seed = seed;
         this.initialJitter = initialJitter;
         this.jitterDecay = jitterDecay;
         this.tileArtefacts = tileArtefacts;
     }
 
-    public static MidpointDisplacementNoise buildInstance(Size gridSize, double initialJitter, double jitterDecay){
-        return new MidpointDisplacementNoise(gridSize, initialJitter, jitterDecay, false);
+    public static MidpointDisplacementNoise buildInstance(Size gridSize, Seed seed, double initialJitter, double jitterDecay){
+        return new MidpointDisplacementNoise(gridSize, seed, initialJitter, jitterDecay, false);
     }
 
-    public static MidpointDisplacementNoise buildInstanceWithTileArtefacts(Size gridSize, double initialJitter, double jitterDecay){
-        return new MidpointDisplacementNoise(gridSize, initialJitter, jitterDecay, true);
+    public static MidpointDisplacementNoise buildInstanceWithTileArtefacts(Size gridSize, Seed seed, double initialJitter, double jitterDecay){
+        return new MidpointDisplacementNoise(gridSize, seed, initialJitter, jitterDecay, true);
     }
 
 
     @Override
     protected void generateNoiseSafely(){
+        random = seed.stream();
         randomizeCorners();
-        Rect initialRectangle = initialRect(grid.getSize());
+        Rect initialRectangle = initialRect(grid.size());
         fillRectanglesRecursively(initialRectangle, initialJitter);
     }
 
@@ -48,7 +55,7 @@ public class MidpointDisplacementNoise extends AbstractNoise{
 
 
     private void randomizeCorners(){
-        Size size = grid.getSize();
+        Size size = grid.size();
         randomizeValueInCoord(new Coord(0, 0));
         randomizeValueInCoord(new Coord(0, size.height()-1));
         randomizeValueInCoord(new Coord(size.width()-1, 0));
@@ -56,11 +63,11 @@ public class MidpointDisplacementNoise extends AbstractNoise{
     }
 
     private void randomizeValueInCoord(Coord c){
-        grid.setValue(c, randomDouble());
+        grid.set(c, randomDouble());
     }
 
     private double randomDouble(){
-        return 2D*RANDOM.nextDouble() - 1D;
+        return 2D*random.nextDouble() - 1D;
     }
 
 
@@ -85,16 +92,16 @@ public class MidpointDisplacementNoise extends AbstractNoise{
     }
 
     private double interpolateEdgeMidpointWithJitter(Coord a, Coord b, double jitter){
-        double midpoint = (grid.getValue(a) + grid.getValue(b)) / 2;
+        double midpoint = (grid.get(a) + grid.get(b)) / 2;
         double randomFactor = randomDouble() * jitter / 2;
         return midpoint + randomFactor;
     }
 
     private void setClampedValueIfUninitialized(Coord c, double val){
-        if(grid.getValue(c) != 0){
+        if(grid.get(c) != 0){
             return;
         }
-        grid.setValue(c, clampValue(val));
+        grid.set(c, clampValue(val));
     }
 
     private double clampValue(double val){
@@ -107,9 +114,9 @@ public class MidpointDisplacementNoise extends AbstractNoise{
     }
 
     private void computeCentre(Rect view, double jitter){
-        double average = (grid.getValue(view.topLeft()) + grid.getValue(view.topRight())
-                + grid.getValue(view.bottomLeft()) + grid.getValue(view.bottomRight())) / 4D;
-        double randomFactor = RANDOM.nextDouble() * jitter;
+        double average = (grid.get(view.topLeft()) + grid.get(view.topRight())
+                + grid.get(view.bottomLeft()) + grid.get(view.bottomRight())) / 4D;
+        double randomFactor = random.nextDouble() * jitter;
         if(!tileArtefacts) randomFactor -= jitter / 2;
         setClampedValueIfUninitialized(view.centre(), average + randomFactor);
     }
@@ -1,14 +1,15 @@
 package com.mason.mapgen.procgen.noise;
 
 import com.mason.libgui.utils.structures.Size;
-import com.mason.mapgen.structures.grids.MutableGrid;
+import com.mason.mapgen.metrics.MetricsRegistry;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
 
 public interface Noise{
 
-    MutableGrid<Double> getGrid();
+    DoubleGrid getGrid();
 
     default Size getSize(){
-        return getGrid().getSize();
+        return getGrid().size();
     }
 
     boolean isNoiseGenerated();
@@ -16,29 +17,8 @@ public interface Noise{
     void generateNoise();
 
     default void normalise(){
-        double min = calculateGlobalMinimum();
-        double max = calculateGlobalMaximum();
-        shiftMinAndMaxToUnitInterval(min, max);
-    }
-
-    private double calculateGlobalMinimum(){
-        double min = Double.MAX_VALUE;
-        for(Double d : getGrid()){
-            if(min > d){
-                min = d;
-            }
-        }
-        return min;
-    }
-
-    private double calculateGlobalMaximum(){
-        double max = -Double.MAX_VALUE;
-        for(Double d : getGrid()){
-            if(max < d){
-                max = d;
-            }
-        }
-        return max;
+        MetricsRegistry.global().time(getClass().getSimpleName() + ".normalise",
+                () -> shiftMinAndMaxToUnitInterval(getGrid().min(), getGrid().max()));
     }
 
     private void shiftMinAndMaxToUnitInterval(double min, double max){
@@ -51,15 +31,11 @@ public interface Noise{
     }
 
     private void transformToDefaultValueOneHalf(){
-        getGrid().transformSelf((coord, val) -> {
-            return 0.5;
-        });
+        getGrid().fill(0.5);
     }
 
     private void transformRangeToUnitIntervalSafely(double min, double range){
-        getGrid().transformSelf((coord, val) -> {
-            return (val - min)/range;
-        });
+        getGrid().transformSelf(val -> (val - min)/range);
     }
 
 }
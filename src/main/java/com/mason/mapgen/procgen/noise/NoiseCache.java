@@ -0,0 +1,289 @@
+package com.mason.mapgen.procgen.noise;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keeps generated noise layers so that worlds built from the same layers do
+ * not generate them again. Layers are held by {@link NoiseKey} and dropped
+ * least recently used first once they take more than the byte budget.
+ * Given a spill directory, dropped layers are written there and read back
+ * the next time they are asked for, so the directory can also carry layers
+ * between runs. A layer which cannot be written is simply dropped, and
+ * counted in {@link #spillFailures()}.
+ * Every caller gets its own copy of a layer, so callers may change what they
+ * are given. If several threads ask for the same missing layer at once, only
+ * one generates it and the rest wait for it.
+ * @author Adam Whittaker
+ */
+public class NoiseCache{
+
+
+    private static final int MAGIC = 0x4E4F4953;
+    private static final int DOUBLES_PER_WRITE = 1 << 16;
+
+    private final long maxBytes;
+    private final Path spillDirectory;
+    private final LinkedHashMap<NoiseKey, DoubleGrid> layers = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<NoiseKey, CompletableFuture<DoubleGrid>> inFlight = new ConcurrentHashMap<>();
+    private long bytesHeld = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder spillHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder spillFailures = new LongAdder();
+
+
+    public NoiseCache(long maxBytes){
+        this(maxBytes, null);
+    }
+
+    public NoiseCache(long maxBytes, Path spillDirectory){
+        if(maxBytes < 0){
+            throw new IllegalArgumentException("The cache size must not be negative!");
+        }
+        this.maxBytes = maxBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+
+    public long hits(){
+        return hits.sum();
+    }
+
+    public long spillHits(){
+        return spillHits.sum();
+    }
+
+    public long misses(){
+        return misses.sum();
+    }
+
+    public long spillFailures(){
+        return spillFailures.sum();
+    }
+
+    public synchronized long bytesHeld(){
+        return bytesHeld;
+    }
+
+    public synchronized boolean isHeld(NoiseKey key){
+        return layers.containsKey(key);
+    }
+
+
+    /**
+     * Returns a copy of the layer with the given key, calling the generator
+     * only if the layer is neither held nor spilled. The generator must
+     * return a finished layer of the key's size.
+     */
+    public DoubleGrid get(NoiseKey key, Supplier<DoubleGrid> generator){
+        CompletableFuture<DoubleGrid> pending = new CompletableFuture<>();
+        CompletableFuture<DoubleGrid> existing = inFlight.putIfAbsent(key, pending);
+        if(existing != null){
+            return awaitCopy(existing);
+        }
+        try{
+            DoubleGrid layer = find(key);
+            if(layer == null){
+                misses.increment();
+                layer = generator.get();
+                if(!layer.size().equals(key.size())){
+                    throw new IllegalStateException("The generated layer is not the size of its key!");
+                }
+                hold(key, layer);
+            }
+            pending.complete(layer);
+            return layer.copy();
+        }catch(RuntimeException | Error e){
+            pending.completeExceptionally(e);
+            throw e;
+        }finally{
+            inFlight.remove(key);
+        }
+    }
+
+    private static DoubleGrid awaitCopy(CompletableFuture<DoubleGrid> future){
+        try{
+            return future.join().copy();
+        }catch(CompletionException e){
+            if(e.getCause() instanceof RuntimeException cause) throw cause;
+            if(e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private DoubleGrid find(NoiseKey key){
+        synchronized(this){
+            DoubleGrid layer = layers.get(key);
+            if(layer != null){
+                hits.increment();
+                return layer;
+            }
+        }
+        DoubleGrid layer = readSpilled(key);
+        if(layer != null){
+            spillHits.increment();
+            hold(key, layer);
+        }
+        return layer;
+    }
+
+    private void hold(NoiseKey key, DoubleGrid layer){
+        List<Map.Entry<NoiseKey, DoubleGrid>> evicted = new ArrayList<>();
+        synchronized(this){
+            DoubleGrid previous = layers.put(key, layer);
+            if(previous != null){
+                bytesHeld -= bytesOf(previous);
+            }
+            bytesHeld += bytesOf(layer);
+            Iterator<Map.Entry<NoiseKey, DoubleGrid>> eldest = layers.entrySet().iterator();
+            while(bytesHeld > maxBytes && eldest.hasNext()){
+                Map.Entry<NoiseKey, DoubleGrid> entry = eldest.next();
+                bytesHeld -= bytesOf(entry.getValue());
+                evicted.add(Map.entry(entry.getKey(), entry.getValue()));
+                eldest.remove();
+            }
+        }
+        for(Map.Entry<NoiseKey, DoubleGrid> entry : evicted){
+            trySpill(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static long bytesOf(DoubleGrid layer){
+        return (long) layer.length() * Double.BYTES;
+    }
+
+    public synchronized void clear(){
+        layers.clear();
+        bytesHeld = 0;
+    }
+
+
+    /**
+     * An evicted layer is only worth keeping, so a failed spill must not fail
+     * the request which caused the eviction. The layer is dropped instead and
+     * regenerated if asked for again.
+     */
+    private void trySpill(NoiseKey key, DoubleGrid layer){
+        try{
+            spill(key, layer);
+        }catch(IOException e){
+            spillFailures.increment();
+        }
+    }
+
+    private void spill(NoiseKey key, DoubleGrid layer) throws IOException{
+        if(spillDirectory == null) return;
+        Path file = spillDirectory.resolve(key.fileName());
+        if(Files.exists(file)) return;
+        Files.createDirectories(spillDirectory);
+        Path temp = Files.createTempFile(spillDirectory, key.fileName(), ".tmp");
+        try{
+            try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)){
+                writeLayer(channel, key, layer);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }finally{
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The key is written out in full so that two keys with the same stable
+     * hash cannot read each other's layers.
+     */
+    private static void writeLayer(FileChannel channel, NoiseKey key, DoubleGrid layer) throws IOException{
+        DataOutputStream header = new DataOutputStream(Channels.newOutputStream(channel));
+        header.writeInt(MAGIC);
+        header.writeUTF(key.toString());
+        header.writeInt(layer.size().width());
+        header.writeInt(layer.size().height());
+        header.flush();
+        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES * DOUBLES_PER_WRITE).order(ByteOrder.LITTLE_ENDIAN);
+        for(int idx=0; idx<layer.length(); idx++){
+            buffer.putDouble(layer.getByIndex(idx));
+            if(!buffer.hasRemaining()){
+                drain(channel, buffer);
+            }
+        }
+        drain(channel, buffer);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException{
+        buffer.flip();
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private DoubleGrid readSpilled(NoiseKey key){
+        if(spillDirectory == null) return null;
+        Path file = spillDirectory.resolve(key.fileName());
+        if(!Files.exists(file)) return null;
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            return readLayer(channel, key);
+        }catch(IOException e){
+            throw new UncheckedIOException("Could not read spilled noise layer " + key + "!", e);
+        }
+    }
+
+    /**
+     * Returns null if the file belongs to a different key.
+     */
+    private static DoubleGrid readLayer(FileChannel channel, NoiseKey key) throws IOException{
+        DataInputStream header = new DataInputStream(Channels.newInputStream(channel));
+        if(header.readInt() != MAGIC){
+            throw new IOException("Not a spilled noise layer!");
+        }
+        if(!header.readUTF().equals(key.toString())){
+            return null;
+        }
+        Size size = new Size(header.readInt(), header.readInt());
+        DoubleGrid layer = new DoubleGrid(size);
+        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES * DOUBLES_PER_WRITE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        for(int idx=0; idx<layer.length(); idx++){
+            if(buffer.remaining() < Double.BYTES){
+                refill(channel, buffer);
+            }
+            layer.setByIndex(idx, buffer.getDouble());
+        }
+        return layer;
+    }
+
+    private static void refill(FileChannel channel, ByteBuffer buffer) throws IOException{
+        buffer.compact();
+        while(buffer.position() < Double.BYTES){
+            if(channel.read(buffer) < 0){
+                throw new IOException("The spilled noise layer is cut short!");
+            }
+        }
+        buffer.flip();
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.mason.mapgen.procgen.noise;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Names a generated noise layer by everything that decides its values: the
+ * kind of noise, the size of the grid, the seed, and the parameters in the
+ * order the noise takes them. Two layers with equal keys hold the same
+ * values, so a {@link NoiseCache} can hand one out in place of the other.
+ * The type should also say what was done to the noise after generation, such
+ * as normalising it.
+ * @author Adam Whittaker
+ */
+public record NoiseKey(String type, Size size, Seed seed, List<Double> parameters){
+
+
+    public NoiseKey{
+        parameters = List.copyOf(parameters);
+    }
+
+    public static NoiseKey of(String type, Size size, Seed seed, double... parameters){
+        List<Double> boxed = new ArrayList<>(parameters.length);
+        for(double parameter : parameters){
+            boxed.add(parameter);
+        }
+        return new NoiseKey(type, size, seed, boxed);
+    }
+
+
+    /**
+     * A hash of the key which is the same on every run, unlike
+     * {@link #hashCode()}, so it can name files.
+     */
+    public long stableHash(){
+        Seed hash = seed.derive(type).derive(Seed.key(size.width(), size.height()));
+        for(double parameter : parameters){
+            hash = hash.derive(Double.doubleToLongBits(parameter));
+        }
+        return hash.value();
+    }
+
+    String fileName(){
+        return type.replaceAll("[^A-Za-z0-9_-]", "_") + "-" + Long.toHexString(stableHash()) + ".noise";
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.mason.mapgen.procgen.noise;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Vector;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The wrappable grid of random unit gradients underlying Perlin noise, stored
+ * as two flat row-major arrays so that octave kernels can read them without
+ * touching any objects. The gradients are drawn in row-major order from the
+ * given stream.
+ * Lattice points are addressed by long indices so that subclasses which do
+ * not store their gradients can cover maps with more points than an array.
+ * @author Adam Whittaker
+ */
+public class PerlinLattice{
+
+
+    private final Size size;
+    private final double[] gradientX;
+    private final double[] gradientY;
+
+
+    public PerlinLattice(Size size, RandomGenerator random){
+        this.size = size;
+        gradientX = new double[size.width()*size.height()];
+        gradientY = new double[size.width()*size.height()];
+        fillWithRandomUnitVectors(random);
+    }
+
+    /**
+     * For subclasses which compute their gradients instead of storing them.
+     */
+    protected PerlinLattice(Size size){
+        this.size = size;
+        gradientX = null;
+        gradientY = null;
+    }
+
+    private void fillWithRandomUnitVectors(RandomGenerator random){
+        Vector gradient;
+        for(int idx=0; idx<gradientX.length; idx++){
+            gradient = Vector.generateRandomUnitVector(random);
+            gradientX[idx] = gradient.x();
+            gradientY[idx] = gradient.y();
+        }
+    }
+
+
+    public Size size(){
+        return size;
+    }
+
+    public Vector gradient(int x, int y){
+        long idx = wrapY(y) + wrapX(x);
+        return new Vector(gradientXByIndex(idx), gradientYByIndex(idx));
+    }
+
+    double gradientXByIndex(long idx){
+        return gradientX[(int) idx];
+    }
+
+    double gradientYByIndex(long idx){
+        return gradientY[(int) idx];
+    }
+
+    int wrapX(int x){
+        return x % size.width();
+    }
+
+    /**
+     * Returns the index of the first lattice point in the wrapped row.
+     */
+    long wrapY(int y){
+        return (long) (y % size.height()) * size.width();
+    }
+
+}
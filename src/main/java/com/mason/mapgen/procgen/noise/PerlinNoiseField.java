@@ -0,0 +1,56 @@
+package com.mason.mapgen.procgen.noise;
+
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+
+/**
+ * Perlin noise over a whole map which is only ever evaluated a region at a
+ * time. The octave kernels are built once and shared, so regions can be
+ * sampled from many threads at once, and each region holds exactly the values
+ * {@link PerlinNoise} would give those cells with the same lattice.
+ * Together with a {@link HashedPerlinLattice} this generates noise for maps
+ * which do not fit in memory.
+ * @author Adam Whittaker
+ */
+public class PerlinNoiseField{
+
+
+    private final Size mapSize;
+    private final PerlinOctaveKernel[] kernels;
+
+
+    public PerlinNoiseField(PerlinLattice lattice,
+                            double amplitude,
+                            int octaveNum,
+                            double lacunarity,
+                            double persistence){
+        mapSize = lattice.size();
+        kernels = new PerlinOctaveKernel[octaveNum];
+        Size boxSize = PerlinNoise.computeInitialBoxSize(mapSize);
+        for(int n=0; n<octaveNum; n++){
+            kernels[n] = new PerlinOctaveKernel(lattice, mapSize, boxSize, amplitude);
+            amplitude *= persistence;
+            boxSize = PerlinNoise.getBoxSizeForNextIteration(boxSize, lacunarity);
+        }
+    }
+
+
+    public Size getMapSize(){
+        return mapSize;
+    }
+
+    public DoubleGrid sample(RectQuery region){
+        if(region.x() < 0 || region.y() < 0
+                || region.x() + region.width() > mapSize.width()
+                || region.y() + region.height() > mapSize.height()){
+            throw new IllegalArgumentException("The region must lie inside the map!");
+        }
+        DoubleGrid grid = new DoubleGrid(region.getSize());
+        for(PerlinOctaveKernel kernel : kernels){
+            kernel.overlayRegion(grid, region.x(), region.y(), 0, region.height());
+        }
+        return grid;
+    }
+
+}
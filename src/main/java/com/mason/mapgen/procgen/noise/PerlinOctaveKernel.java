@@ -0,0 +1,116 @@
+package com.mason.mapgen.procgen.noise;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+
+import static java.lang.Math.min;
+
+/**
+ * Overlays a single Perlin octave onto a grid without allocating per cell.
+ * The relative offsets to each box corner and the hermite fade depend only on
+ * a cell's position inside its box, so they are tabulated once per octave and
+ * the gradients of a box's corners are loaded once per box row.
+ * @author Adam Whittaker
+ */
+public class PerlinOctaveKernel{
+
+
+    private final PerlinLattice lattice;
+    private final int boxWidth, boxHeight;
+    private final double amplitude;
+
+    private final double[] nearOffsetX, farOffsetX, fadeX;
+    private final double[] nearOffsetY, farOffsetY, fadeY;
+
+
+    public PerlinOctaveKernel(PerlinLattice lattice, Size gridSize, Size boxSize, double amplitude){
+        this.lattice = lattice;
+        this.boxWidth = boxSize.width();
+        this.boxHeight = boxSize.height();
+        this.amplitude = amplitude;
+        int columns = min(boxWidth, gridSize.width());
+        int rows = min(boxHeight, gridSize.height());
+        nearOffsetX = tabulateOffsets(columns, boxWidth, 0);
+        farOffsetX = tabulateOffsets(columns, boxWidth, boxWidth - 1);
+        fadeX = tabulateFade(columns, boxWidth);
+        nearOffsetY = tabulateOffsets(rows, boxHeight, 0);
+        farOffsetY = tabulateOffsets(rows, boxHeight, boxHeight - 1);
+        fadeY = tabulateFade(rows, boxHeight);
+    }
+
+    private static double[] tabulateOffsets(int length, int boxDim, int cornerOffset){
+        double[] offsets = new double[length];
+        for(int n=0; n<length; n++){
+            offsets[n] = (double)(n - cornerOffset) / boxDim;
+        }
+        return offsets;
+    }
+
+    private static double[] tabulateFade(int length, int boxDim){
+        double[] fade = new double[length];
+        for(int n=0; n<length; n++){
+            fade[n] = hermiteSmoothe((double) n / boxDim);
+        }
+        return fade;
+    }
+
+    private static double hermiteSmoothe(double t){
+        return t * t * (3 - 2*t);
+    }
+
+
+    public void overlayRows(DoubleGrid grid, int yStart, int yEnd){
+        overlayRegion(grid, 0, 0, yStart, yEnd);
+    }
+
+    /**
+     * Overlays the octave onto a grid which holds only part of the map, with
+     * its top left corner at (originX, originY) on the map. Only the rows
+     * from yStart to yEnd of the target are touched. Each cell gets exactly
+     * the value it would get in a grid covering the whole map, so tiles can
+     * be generated separately and still meet without seams.
+     */
+    public void overlayRegion(DoubleGrid target, int originX, int originY, int yStart, int yEnd){
+        for(int y=yStart; y<yEnd; y++){
+            overlayRow(target, originX, originY + y, y * target.size().width());
+        }
+    }
+
+    private void overlayRow(DoubleGrid target, int originX, int mapY, int rowStart){
+        int width = target.size().width();
+        int boxY = mapY % boxHeight;
+        long topRow = lattice.wrapY(mapY - boxY);
+        long bottomRow = lattice.wrapY(mapY - boxY + boxHeight - 1);
+        int length;
+        for(int x=0; x<width; x+=length){
+            int column = (originX + x) % boxWidth;
+            int boxX = originX + x - column;
+            length = min(boxWidth - column, width - x);
+            overlayBoxRow(target, rowStart + x, column, length,
+                    topRow, bottomRow, lattice.wrapX(boxX), lattice.wrapX(boxX + boxWidth - 1),
+                    nearOffsetY[boxY], farOffsetY[boxY], fadeY[boxY]);
+        }
+    }
+
+    private void overlayBoxRow(DoubleGrid grid, int startIdx, int firstColumn, int length,
+                               long topRow, long bottomRow, int left, int right,
+                               double topDy, double bottomDy, double lambdaY){
+        double topLeftX = lattice.gradientXByIndex(topRow + left), topLeftY = lattice.gradientYByIndex(topRow + left);
+        double topRightX = lattice.gradientXByIndex(topRow + right), topRightY = lattice.gradientYByIndex(topRow + right);
+        double bottomLeftX = lattice.gradientXByIndex(bottomRow + left), bottomLeftY = lattice.gradientYByIndex(bottomRow + left);
+        double bottomRightX = lattice.gradientXByIndex(bottomRow + right), bottomRightY = lattice.gradientYByIndex(bottomRow + right);
+        for(int i=0; i<length; i++){
+            int column = firstColumn + i;
+            double nearDx = nearOffsetX[column], farDx = farOffsetX[column], lambdaX = fadeX[column];
+            double top = interpolate(topLeftX*nearDx + topLeftY*topDy, topRightX*farDx + topRightY*topDy, lambdaX);
+            double bottom = interpolate(bottomLeftX*nearDx + bottomLeftY*bottomDy, bottomRightX*farDx + bottomRightY*bottomDy, lambdaX);
+            int idx = startIdx + i;
+            grid.setByIndex(idx, grid.getByIndex(idx) + amplitude * interpolate(top, bottom, lambdaY));
+        }
+    }
+
+    private static double interpolate(double start, double end, double lambda){
+        return start*(1-lambda) + end*lambda;
+    }
+
+}
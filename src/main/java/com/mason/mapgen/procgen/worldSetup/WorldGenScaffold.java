@@ -2,9 +2,9 @@ package com.mason.mapgen.procgen.worldSetup;
 
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.libgui.utils.structures.Size;
-import com.mason.mapgen.structures.grids.Grid;
-import com.mason.mapgen.structures.grids.MutableGrid;
-import com.mason.mapgen.world.WorldPoint;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.world.HeapWorldColumns;
+import com.mason.mapgen.world.WorldColumns;
 import com.mason.mapgen.world.WorldSkeleton;
 
 import java.util.Map;
@@ -12,30 +12,18 @@ import java.util.Map;
 public class WorldGenScaffold implements WorldSkeleton{
 
 
-    private final MutableGrid<WorldPointScaffold> map;
+    private final HeapWorldColumns columns;
     private Map<Coord, WorldPointScaffold> scaffoldCentroidMap;
 
 
     public WorldGenScaffold(Size size){
-        map = buildInitialMap(size);
-    }
-
-    private MutableGrid<WorldPointScaffold> buildInitialMap(Size size){
-        WorldPointScaffold[][] pointGrid = new WorldPointScaffold[size.height()][size.width()];
-        return MutableGrid.buildGrid(pointGrid, WorldPointScaffold::new);
+        columns = new HeapWorldColumns(size, ChunkingGrid.DEFAULT_MAX_CENTROIDS);
     }
 
 
     @Override
-    public Grid<WorldPoint> getWorldMapGrid(){
-        Size size = map.getSize();
-        WorldPoint[][] worldMap = new WorldPoint[size.height()][size.width()];
-        for(int y=0; y<size.height(); y++){
-            for(int x=0; x<size.width(); x++){
-                worldMap[y][x] = new WorldPoint(map.getValue(new Coord(x, y)));
-            }
-        }
-        return new Grid<>(worldMap);
+    public WorldColumns getWorldColumns(){
+        return columns;
     }
 
 
@@ -43,16 +31,16 @@ public class WorldGenScaffold implements WorldSkeleton{
         scaffoldCentroidMap = centroidMap;
     }
 
-    public Grid<WorldPointScaffold> getScaffoldMap(){
-        return map;
+    public HeapWorldColumns getColumns(){
+        return columns;
     }
 
     public WorldPointScaffold getPoint(Coord coord){
-        return map.getValue(coord);
+        return new WorldPointScaffold(columns, coord);
     }
 
     public Size getSize(){
-        return map.getSize();
+        return columns.size();
     }
 
 }
@@ -3,36 +3,41 @@ package com.mason.mapgen.procgen.worldSetup;
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.mapgen.world.*;
 
-public class WorldPointScaffold implements WorldPointSkeleton{
+import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
 
+/**
+ * A view of one point of a {@link WorldGenScaffold} while it is being built.
+ * The point's data lives in the scaffold's columns.
+ * @author Adam Whittaker
+ */
+public class WorldPointScaffold{
 
-    private Coord coord;
-    private double elevation;
-    private double moisture;
-    private Biome biome;
 
+    private final HeapWorldColumns columns;
+    private final Coord coord;
 
-    public WorldPointScaffold(Coord coord){
+
+    public WorldPointScaffold(HeapWorldColumns columns, Coord coord){
+        this.columns = columns;
         this.coord = coord;
-        elevation = 0;
-        moisture = 0;
-        biome = Biome.UNSET;
     }
 
 
-    @Override
     public Coord getCoord(){
         return coord;
     }
 
-    @Override
     public TerrainData getTerrainData(){
-        return new TerrainData(elevation, moisture, biome);
+        int x = coord.x(), y = coord.y();
+        return new TerrainData(columns.elevation(x, y), columns.moisture(x, y), columns.biome(x, y));
     }
 
-    @Override
     public Coord getCentroidCoord(){
-        throw new UnsupportedOperationException("Unfinished");
+        int centroidID = columns.centroidID(coord.x(), coord.y());
+        if(centroidID == CENTROID_UNSET){
+            throw new IllegalStateException("The point has not been given a chunk yet!");
+        }
+        return columns.centroidCoord(centroidID);
     }
 
 }
@@ -1,8 +1,10 @@
 package com.mason.mapgen.structures.distribution;
 
+import java.util.random.RandomGenerator;
+
 
 public interface Distribution<T>{
 
-    T next();
+    T next(RandomGenerator random);
 
 }
@@ -2,8 +2,7 @@ package com.mason.mapgen.structures.distribution;
 
 import java.util.List;
 import java.util.function.Function;
-
-import static com.mason.mapgen.core.Utils.RANDOM;
+import java.util.random.RandomGenerator;
 
 public class PMFDistribution<T> implements Distribution<T>{
 
@@ -55,8 +54,8 @@ public class PMFDistribution<T> implements Distribution<T>{
 
 
     @Override
-    public T next(){
-        double chance = RANDOM.nextDouble() * totalMass;
+    public T next(RandomGenerator random){
+        double chance = random.nextDouble() * totalMass;
         for(int n=0; n<pmf.length; n++){
             if(chance < pmf[n]) return items.get(n);
             else chance -= pmf[n];
@@ -0,0 +1,79 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+
+import java.util.Arrays;
+
+public class ByteGrid implements IndexedIntGrid{
+
+    private final Size size;
+    private final byte[] grid;
+
+
+    public ByteGrid(Size size){
+        this.size = size;
+        grid = new byte[size.width()*size.height()];
+    }
+
+    public ByteGrid(Size size, byte initialValue){
+        this(size);
+        Arrays.fill(grid, initialValue);
+    }
+
+
+    public int asIndex(Coord coord){
+        return index(coord.x(), coord.y());
+    }
+
+    private int index(int x, int y){
+        return y * size.width() + x;
+    }
+
+    public byte get(int x, int y){
+        return getByIndex(index(x, y));
+    }
+
+    public byte getByIndex(int idx){
+        return grid[idx];
+    }
+
+    public void set(int x, int y, byte value){
+        setByIndex(index(x, y), value);
+    }
+
+    public void setByIndex(int idx, byte value){
+        grid[idx] = value;
+    }
+
+    @Override
+    public Size size(){
+        return size;
+    }
+
+    public byte max(){
+        byte max = Byte.MIN_VALUE;
+        for(byte value : grid){
+            if(max < value){
+                max = value;
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public int getAsInt(int idx){
+        return grid[idx];
+    }
+
+    @Override
+    public void setAsInt(int idx, int value){
+        grid[idx] = (byte) value;
+    }
+
+    @Override
+    public int maxAsInt(){
+        return max();
+    }
+
+}
@@ -5,6 +5,7 @@ import com.mason.libgui.utils.structures.Size;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 public class CardinalIndexNeighbours implements Iterable<Integer>{
 
@@ -14,20 +15,31 @@ public class CardinalIndexNeighbours implements Iterable<Integer>{
 
     public CardinalIndexNeighbours(Integer index, Size size){
         this.neighbours = new ArrayList<>(4);
-        populateNeighbours(index, size);
+        forEach(index, size, neighbours::add);
     }
 
-    private void populateNeighbours(Integer index, Size size){
+
+    /**
+     * Passes each in-bounds cardinal neighbour index to the visitor without
+     * allocating, in the same order as iterating over the neighbours. Points
+     * at the end of a row have no neighbour on that side, rather than the
+     * point at the other end of the next or previous row.
+     */
+    public static void forEach(int index, Size size, IntConsumer visitor){
         int indexCapacity = size.height() * size.width();
-        tryAdd(index-size.width(), indexCapacity);
-        tryAdd(index+1, indexCapacity);
-        tryAdd(index+size.width(), indexCapacity);
-        tryAdd(index-1, indexCapacity);
+        visitIfInBounds(index-size.width(), indexCapacity, visitor);
+        if((index+1) % size.width() != 0){
+            visitIfInBounds(index+1, indexCapacity, visitor);
+        }
+        visitIfInBounds(index+size.width(), indexCapacity, visitor);
+        if(index % size.width() != 0){
+            visitIfInBounds(index-1, indexCapacity, visitor);
+        }
     }
 
-    private void tryAdd(int index, int indexCapacity){
+    private static void visitIfInBounds(int index, int indexCapacity, IntConsumer visitor){
         if(index >= 0 && index < indexCapacity){
-            neighbours.add(index);
+            visitor.accept(index);
         }
     }
 
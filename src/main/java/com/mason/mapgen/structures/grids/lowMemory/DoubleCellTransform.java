@@ -0,0 +1,8 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+@FunctionalInterface
+public interface DoubleCellTransform{
+
+    double apply(int x, int y, double value);
+
+}
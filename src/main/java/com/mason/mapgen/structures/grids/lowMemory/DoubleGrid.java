@@ -0,0 +1,123 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.iterators.CoordIterator;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+public class DoubleGrid{
+
+
+    private final Size size;
+    private final double[] grid;
+
+
+    public DoubleGrid(Size size){
+        this.size = size;
+        grid = new double[size.width()*size.height()];
+    }
+
+    public DoubleGrid(Size size, double initialValue){
+        this(size);
+        Arrays.fill(grid, initialValue);
+    }
+
+    private DoubleGrid(DoubleGrid other){
+        size = other.size;
+        grid = other.grid.clone();
+    }
+
+
+    public int asIndex(Coord coord){
+        return index(coord.x(), coord.y());
+    }
+
+    private int index(int x, int y){
+        return y * size.width() + x;
+    }
+
+    public double get(int x, int y){
+        return getByIndex(index(x, y));
+    }
+
+    public double get(Coord coord){
+        return getByIndex(asIndex(coord));
+    }
+
+    public double getByIndex(int idx){
+        return grid[idx];
+    }
+
+    public void set(int x, int y, double value){
+        setByIndex(index(x, y), value);
+    }
+
+    public void set(Coord coord, double value){
+        setByIndex(asIndex(coord), value);
+    }
+
+    public void setByIndex(int idx, double value){
+        grid[idx] = value;
+    }
+
+    public Size size(){
+        return size;
+    }
+
+    public int length(){
+        return grid.length;
+    }
+
+    public DoubleGrid copy(){
+        return new DoubleGrid(this);
+    }
+
+    public double min(){
+        double min = Double.MAX_VALUE;
+        for(double value : grid){
+            if(min > value){
+                min = value;
+            }
+        }
+        return min;
+    }
+
+    public double max(){
+        double max = -Double.MAX_VALUE;
+        for(double value : grid){
+            if(max < value){
+                max = value;
+            }
+        }
+        return max;
+    }
+
+
+    public Iterable<Coord> coordIterable(){
+        return () -> new CoordIterator(size);
+    }
+
+
+    public void fill(double value){
+        Arrays.fill(grid, value);
+    }
+
+    public void transformSelf(DoubleUnaryOperator transform){
+        for(int idx=0; idx<grid.length; idx++){
+            grid[idx] = transform.applyAsDouble(grid[idx]);
+        }
+    }
+
+    public void transformSelf(DoubleCellTransform transform){
+        int idx = 0;
+        for(int y=0; y<size.height(); y++){
+            for(int x=0; x<size.width(); x++){
+                grid[idx] = transform.apply(x, y, grid[idx]);
+                idx++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Size;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides where the integer grids of a larger structure are stored. Each grid
+ * is given a name, so that file-backed grids can be told apart.
+ * @author Adam Whittaker
+ */
+@FunctionalInterface
+public interface GridAllocator{
+
+
+    GridAllocator HEAP = (width, size, initialValue, name) -> width.createGrid(size, initialValue);
+
+    GridAllocator DIRECT = (width, size, initialValue, name) -> width.createDirectGrid(size, initialValue);
+
+
+    IndexedIntGrid allocate(IntegerWidth width, Size size, int initialValue, String name);
+
+    /**
+     * Maps each grid to a new file in the given directory, named after the
+     * prefix and the grid, so structures given different prefixes can share a
+     * directory. A name this allocator has already used is numbered, as in
+     * "world.distances.1.grid", so one allocator can serve several structures.
+     */
+    static GridAllocator mappedIn(Path directory, String prefix){
+        Map<String, Integer> timesUsed = new ConcurrentHashMap<>();
+        return (width, size, initialValue, name) -> {
+            int previousUses = timesUsed.merge(name, 1, Integer::sum) - 1;
+            String fileName = prefix + "." + name + (previousUses == 0 ? "" : "." + previousUses) + ".grid";
+            try{
+                return width.createMappedGrid(directory.resolve(fileName), size, initialValue);
+            }catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+}
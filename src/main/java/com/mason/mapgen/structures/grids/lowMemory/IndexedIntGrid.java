@@ -0,0 +1,21 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Size;
+
+/**
+ * A row-major grid of integers read and written by index, whatever width
+ * the values are actually stored at.
+ * @author Adam Whittaker
+ */
+public interface IndexedIntGrid{
+
+
+    Size size();
+
+    int getAsInt(int idx);
+
+    void setAsInt(int idx, int value);
+
+    int maxAsInt();
+
+}
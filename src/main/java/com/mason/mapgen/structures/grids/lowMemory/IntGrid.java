@@ -2,7 +2,9 @@ package com.mason.mapgen.structures.grids.lowMemory;
 
 import com.mason.libgui.utils.structures.Size;
 
-public class IntGrid{
+import java.util.Arrays;
+
+public class IntGrid implements IndexedIntGrid{
 
 
     private final Size size;
@@ -14,6 +16,11 @@ public class IntGrid{
         grid = new int[size.width()*size.height()];
     }
 
+    public IntGrid(Size size, int initialValue){
+        this(size);
+        Arrays.fill(grid, initialValue);
+    }
+
 
     private int index(int x, int y){
         return y * size.width() + x;
@@ -27,4 +34,42 @@ public class IntGrid{
         grid[index(x, y)] = value;
     }
 
+    public int getByIndex(int idx){
+        return grid[idx];
+    }
+
+    public void setByIndex(int idx, int value){
+        grid[idx] = value;
+    }
+
+    @Override
+    public Size size(){
+        return size;
+    }
+
+    public int max(){
+        int max = Integer.MIN_VALUE;
+        for(int value : grid){
+            if(max < value){
+                max = value;
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public int getAsInt(int idx){
+        return grid[idx];
+    }
+
+    @Override
+    public void setAsInt(int idx, int value){
+        grid[idx] = value;
+    }
+
+    @Override
+    public int maxAsInt(){
+        return max();
+    }
+
 }
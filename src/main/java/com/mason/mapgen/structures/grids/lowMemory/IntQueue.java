@@ -0,0 +1,79 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+/**
+ * A first-in first-out queue of primitive ints backed by a ring buffer.
+ * The buffer doubles when full and is never shrunk, so a queue reused across
+ * a flood fill settles at its peak size and stops allocating.
+ * @author Adam Whittaker
+ */
+public class IntQueue{
+
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private int[] buffer;
+    private int mask;
+    private int head = 0;
+    private int size = 0;
+
+
+    public IntQueue(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntQueue(int initialCapacity){
+        if(initialCapacity < 1){
+            throw new IllegalArgumentException("Initial capacity must be positive!");
+        }
+        buffer = new int[roundUpToPowerOfTwo(initialCapacity)];
+        mask = buffer.length - 1;
+    }
+
+    private static int roundUpToPowerOfTwo(int n){
+        int highest = Integer.highestOneBit(n);
+        return highest == n ? n : highest << 1;
+    }
+
+
+    public void add(int value){
+        if(size == buffer.length){
+            grow();
+        }
+        buffer[(head + size) & mask] = value;
+        size++;
+    }
+
+    public int poll(){
+        if(size == 0){
+            throw new IllegalStateException("Queue is empty!");
+        }
+        int value = buffer[head];
+        head = (head + 1) & mask;
+        size--;
+        return value;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public void clear(){
+        head = 0;
+        size = 0;
+    }
+
+    private void grow(){
+        int[] grown = new int[buffer.length << 1];
+        int firstPart = buffer.length - head;
+        System.arraycopy(buffer, head, grown, 0, firstPart);
+        System.arraycopy(buffer, 0, grown, firstPart, head);
+        buffer = grown;
+        mask = grown.length - 1;
+        head = 0;
+    }
+
+}
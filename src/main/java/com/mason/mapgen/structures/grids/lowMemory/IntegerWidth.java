@@ -0,0 +1,78 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Size;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The storage widths available to an {@link IndexedIntGrid}. Every width
+ * also holds -1, so it can mark unset cells.
+ * @author Adam Whittaker
+ */
+public enum IntegerWidth{
+
+    BYTE(Byte.MAX_VALUE, Byte.BYTES),
+    SHORT(Short.MAX_VALUE, Short.BYTES),
+    INT(Integer.MAX_VALUE, Integer.BYTES);
+
+
+    private final int maxValue;
+    private final int cellBytes;
+
+
+    IntegerWidth(int maxValue, int cellBytes){
+        this.maxValue = maxValue;
+        this.cellBytes = cellBytes;
+    }
+
+
+    public int maxValue(){
+        return maxValue;
+    }
+
+    public int cellBytes(){
+        return cellBytes;
+    }
+
+    /**
+     * The narrowest width which can store every value from -1 to maxValue.
+     */
+    public static IntegerWidth fitting(int maxValue){
+        for(IntegerWidth width : values()){
+            if(maxValue <= width.maxValue){
+                return width;
+            }
+        }
+        return INT;
+    }
+
+    /**
+     * The width whose cells take up the given number of bytes.
+     */
+    public static IntegerWidth withCellBytes(int cellBytes){
+        for(IntegerWidth width : values()){
+            if(cellBytes == width.cellBytes){
+                return width;
+            }
+        }
+        throw new IllegalArgumentException("No width has " + cellBytes + " byte cells!");
+    }
+
+    public IndexedIntGrid createGrid(Size size, int initialValue){
+        return switch(this){
+            case BYTE -> new ByteGrid(size, (byte) initialValue);
+            case SHORT -> new ShortGrid(size, (short) initialValue);
+            case INT -> new IntGrid(size, initialValue);
+        };
+    }
+
+    public IndexedIntGrid createDirectGrid(Size size, int initialValue){
+        return MappedGrid.allocateDirect(this, size, initialValue);
+    }
+
+    public IndexedIntGrid createMappedGrid(Path file, Size size, int initialValue) throws IOException{
+        return MappedGrid.create(file, this, size, initialValue);
+    }
+
+}
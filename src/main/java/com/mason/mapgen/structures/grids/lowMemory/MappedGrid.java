@@ -0,0 +1,147 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * An {@link IndexedIntGrid} whose values live outside the heap, either in a
+ * direct buffer or in a memory-mapped file, stored at the given
+ * {@link IntegerWidth}. It has the same accessors as the heap grids, with
+ * values passed as ints whatever the width. A file-backed grid survives the
+ * process, can be shared with other processes mapping the same file, and is
+ * reopened without reading it in. Call {@link #flush()} to make sure changes
+ * have reached the file.
+ * @author Adam Whittaker
+ */
+public class MappedGrid implements IndexedIntGrid{
+
+
+    private final MappedGridStorage storage;
+    private final IntegerWidth width;
+    private final Size size;
+
+
+    private MappedGrid(MappedGridStorage storage, IntegerWidth width){
+        this.storage = storage;
+        this.width = width;
+        size = storage.size();
+    }
+
+    public static MappedGrid allocateDirect(IntegerWidth width, Size size, int initialValue){
+        return filled(MappedGridStorage.allocateDirect(size, width.cellBytes(), MappedGridStorage.DEFAULT_SEGMENT_SHIFT),
+                width, initialValue);
+    }
+
+    /**
+     * Creates a new grid file, which must not already exist.
+     */
+    public static MappedGrid create(Path file, IntegerWidth width, Size size, int initialValue) throws IOException{
+        return filled(MappedGridStorage.create(file, size, width.cellBytes(), MappedGridStorage.DEFAULT_SEGMENT_SHIFT),
+                width, initialValue);
+    }
+
+    /**
+     * Reopens a grid file at the width recorded in its header.
+     */
+    public static MappedGrid open(Path file) throws IOException{
+        MappedGridStorage storage = MappedGridStorage.open(file, MappedGridStorage.DEFAULT_SEGMENT_SHIFT);
+        return new MappedGrid(storage, IntegerWidth.withCellBytes(storage.cellBytes()));
+    }
+
+    static MappedGrid filled(MappedGridStorage storage, IntegerWidth width, int initialValue){
+        MappedGrid grid = new MappedGrid(storage, width);
+        if(initialValue != 0){
+            for(int idx=0; idx<storage.numCells(); idx++){
+                grid.setByIndex(idx, initialValue);
+            }
+        }
+        return grid;
+    }
+
+
+    public int asIndex(Coord coord){
+        return index(coord.x(), coord.y());
+    }
+
+    private int index(int x, int y){
+        return y * size.width() + x;
+    }
+
+    public int get(int x, int y){
+        return getByIndex(index(x, y));
+    }
+
+    public int get(Coord coord){
+        return getByIndex(asIndex(coord));
+    }
+
+    public int getByIndex(int idx){
+        return switch(width){
+            case BYTE -> storage.getByte(idx);
+            case SHORT -> storage.getShort(idx);
+            case INT -> storage.getInt(idx);
+        };
+    }
+
+    public void set(int x, int y, int value){
+        setByIndex(index(x, y), value);
+    }
+
+    public void set(Coord coord, int value){
+        setByIndex(asIndex(coord), value);
+    }
+
+    /**
+     * Narrows the value to the grid's width, as a cast would.
+     */
+    public void setByIndex(int idx, int value){
+        switch(width){
+            case BYTE -> storage.putByte(idx, (byte) value);
+            case SHORT -> storage.putShort(idx, (short) value);
+            case INT -> storage.putInt(idx, value);
+        }
+    }
+
+    public IntegerWidth width(){
+        return width;
+    }
+
+    @Override
+    public Size size(){
+        return size;
+    }
+
+    public int max(){
+        int max = Integer.MIN_VALUE;
+        for(int idx=0; idx<storage.numCells(); idx++){
+            int value = getByIndex(idx);
+            if(max < value){
+                max = value;
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public int getAsInt(int idx){
+        return getByIndex(idx);
+    }
+
+    @Override
+    public void setAsInt(int idx, int value){
+        setByIndex(idx, value);
+    }
+
+    @Override
+    public int maxAsInt(){
+        return max();
+    }
+
+    public void flush(){
+        storage.force();
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Size;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The row-major cells of a grid held outside the heap, either in a direct
+ * buffer or in a file mapped into memory. A single buffer can only span 2GB,
+ * so the cells are split across as many segments as they need; a segment
+ * always holds whole cells.
+ * Files start with a header giving the cell width and the grid size, so they
+ * can be reopened without knowing how they were made. Cells are stored little
+ * endian.
+ * @author Adam Whittaker
+ */
+final class MappedGridStorage{
+
+
+    static final int MAGIC = 0x4D474744;
+    static final int HEADER_BYTES = 4*Integer.BYTES;
+    static final int DEFAULT_SEGMENT_SHIFT = 30;
+
+    private final Size size;
+    private final int cellBytes;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final ByteBuffer[] segments;
+
+
+    private MappedGridStorage(Size size, int cellBytes, int segmentShift){
+        this.size = size;
+        this.cellBytes = cellBytes;
+        this.segmentShift = segmentShift;
+        segmentMask = (1L << segmentShift) - 1;
+        segments = new ByteBuffer[(int) ((dataBytes() + segmentMask) >>> segmentShift)];
+    }
+
+    static MappedGridStorage allocateDirect(Size size, int cellBytes, int segmentShift){
+        MappedGridStorage storage = new MappedGridStorage(size, cellBytes, segmentShift);
+        for(int n=0; n<storage.segments.length; n++){
+            storage.segments[n] = ByteBuffer.allocateDirect(storage.segmentLength(n)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return storage;
+    }
+
+    static MappedGridStorage create(Path file, Size size, int cellBytes, int segmentShift) throws IOException{
+        MappedGridStorage storage = new MappedGridStorage(size, cellBytes, segmentShift);
+        try(FileChannel channel = FileChannel.open(file, CREATE_NEW, READ, WRITE)){
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(cellBytes).putInt(size.width()).putInt(size.height()).flip();
+            while(header.hasRemaining()){
+                channel.write(header, header.position());
+            }
+            storage.map(channel);
+        }
+        return storage;
+    }
+
+    /**
+     * The cell width is read from the file's header.
+     */
+    static MappedGridStorage open(Path file, int segmentShift) throws IOException{
+        try(FileChannel channel = FileChannel.open(file, READ, WRITE)){
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while(header.hasRemaining()){
+                if(channel.read(header, header.position()) < 0){
+                    throw new IOException("The grid file is truncated!");
+                }
+            }
+            header.flip();
+            if(header.getInt() != MAGIC){
+                throw new IOException("Not a grid file!");
+            }
+            int cellBytes = header.getInt();
+            if(cellBytes != Byte.BYTES && cellBytes != Short.BYTES && cellBytes != Integer.BYTES){
+                throw new IOException("The grid file holds unsupported " + cellBytes + " byte cells!");
+            }
+            MappedGridStorage storage = new MappedGridStorage(new Size(header.getInt(), header.getInt()), cellBytes, segmentShift);
+            if(channel.size() < HEADER_BYTES + storage.dataBytes()){
+                throw new IOException("The grid file is truncated!");
+            }
+            storage.map(channel);
+            return storage;
+        }
+    }
+
+    /**
+     * Mappings stay valid after their channel is closed.
+     */
+    private void map(FileChannel channel) throws IOException{
+        for(int n=0; n<segments.length; n++){
+            long position = HEADER_BYTES + ((long) n << segmentShift);
+            segments[n] = channel.map(READ_WRITE, position, segmentLength(n)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private long dataBytes(){
+        return (long) size.width() * size.height() * cellBytes;
+    }
+
+    private int segmentLength(int segment){
+        return (int) Math.min(segmentMask + 1, dataBytes() - ((long) segment << segmentShift));
+    }
+
+
+    Size size(){
+        return size;
+    }
+
+    int cellBytes(){
+        return cellBytes;
+    }
+
+    int numCells(){
+        return size.width() * size.height();
+    }
+
+    byte getByte(int idx){
+        return segments[segment(idx)].get(offset(idx));
+    }
+
+    void putByte(int idx, byte value){
+        segments[segment(idx)].put(offset(idx), value);
+    }
+
+    short getShort(int idx){
+        return segments[segment(idx)].getShort(offset(idx));
+    }
+
+    void putShort(int idx, short value){
+        segments[segment(idx)].putShort(offset(idx), value);
+    }
+
+    int getInt(int idx){
+        return segments[segment(idx)].getInt(offset(idx));
+    }
+
+    void putInt(int idx, int value){
+        segments[segment(idx)].putInt(offset(idx), value);
+    }
+
+    private int segment(int idx){
+        return (int) (((long) idx * cellBytes) >>> segmentShift);
+    }
+
+    private int offset(int idx){
+        return (int) (((long) idx * cellBytes) & segmentMask);
+    }
+
+    /**
+     * Writes any changes to a mapped file back to disk. Does nothing for
+     * direct buffers.
+     */
+    void force(){
+        for(ByteBuffer segment : segments){
+            if(segment instanceof MappedByteBuffer mapped){
+                mapped.force();
+            }
+        }
+    }
+
+}
@@ -5,7 +5,7 @@ import com.mason.libgui.utils.structures.Size;
 
 import java.util.Arrays;
 
-public class ShortGrid{
+public class ShortGrid implements IndexedIntGrid{
 
     private final Size size;
     private final short[] grid;
@@ -46,6 +46,7 @@ public class ShortGrid{
         grid[idx] = value;
     }
 
+    @Override
     public Size size(){
         return size;
     }
@@ -60,4 +61,19 @@ public class ShortGrid{
         return max;
     }
 
+    @Override
+    public int getAsInt(int idx){
+        return grid[idx];
+    }
+
+    @Override
+    public void setAsInt(int idx, int value){
+        grid[idx] = (short) value;
+    }
+
+    @Override
+    public int maxAsInt(){
+        return max();
+    }
+
 }
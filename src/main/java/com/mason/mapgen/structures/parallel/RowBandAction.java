@@ -0,0 +1,11 @@
+package com.mason.mapgen.structures.parallel;
+
+@FunctionalInterface
+public interface RowBandAction{
+
+    /**
+     * Processes the rows in [yStart, yEnd).
+     */
+    void apply(int yStart, int yEnd);
+
+}
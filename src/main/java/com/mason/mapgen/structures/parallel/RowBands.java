@@ -0,0 +1,67 @@
+package com.mason.mapgen.structures.parallel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the rows of a grid into contiguous bands and processes them on a
+ * ForkJoinPool. Bands never overlap, so actions which only write to their own
+ * rows need no further synchronisation.
+ * @author Adam Whittaker
+ */
+public final class RowBands{
+
+
+    private static final int BANDS_PER_THREAD = 4;
+
+
+    private RowBands(){}
+
+
+    public static void forEachBand(int height, ForkJoinPool pool, RowBandAction action){
+        forEachBand(height, defaultBandHeight(height, pool.getParallelism()), pool, action);
+    }
+
+    public static void forEachBand(int height, int bandHeight, ForkJoinPool pool, RowBandAction action){
+        if(bandHeight < 1){
+            throw new IllegalArgumentException("Band height must be positive!");
+        }
+        pool.invoke(new RowBandTask(0, height, bandHeight, action));
+    }
+
+    public static int defaultBandHeight(int height, int parallelism){
+        return Math.max(1, height / (parallelism * BANDS_PER_THREAD));
+    }
+
+
+    private static class RowBandTask extends RecursiveAction{
+
+
+        private static final long serialVersionUID = 1L;
+
+        private final int yStart, yEnd, bandHeight;
+        private final RowBandAction action;
+
+
+        RowBandTask(int yStart, int yEnd, int bandHeight, RowBandAction action){
+            this.yStart = yStart;
+            this.yEnd = yEnd;
+            this.bandHeight = bandHeight;
+            this.action = action;
+        }
+
+
+        @Override
+        protected void compute(){
+            if(yEnd - yStart <= bandHeight){
+                action.apply(yStart, yEnd);
+                return;
+            }
+            int yMid = (yStart + yEnd) >>> 1;
+            invokeAll(new RowBandTask(yStart, yMid, bandHeight, action),
+                    new RowBandTask(yMid, yEnd, bandHeight, action));
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.mason.mapgen.structures.records;
+
+import java.util.SplittableRandom;
+
+/**
+ * The root of every random choice made while generating a map. Generators are
+ * handed a seed, or a stream drawn from one, instead of sharing a global
+ * Random, so a seed always gives the same map however the work is split
+ * between threads.
+ * Child seeds, streams and single values are all found by hashing the seed
+ * with a key rather than by drawing from a parent stream, so each stage sees
+ * the same numbers whatever ran before it. Values keyed by position can be
+ * computed in any order, which is what parallel stages need.
+ * @author Adam Whittaker
+ */
+public record Seed(long value){
+
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+
+    /**
+     * Picks a fresh seed. Record its value to generate the same map again.
+     */
+    public static Seed random(){
+        return new Seed(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Packs two coordinates into one key.
+     */
+    public static long key(int x, int y){
+        return ((long) y << 32) | (x & 0xFFFFFFFFL);
+    }
+
+
+    public Seed derive(long key){
+        return new Seed(hash(value, key));
+    }
+
+    public Seed derive(String stage){
+        return derive(stage.hashCode());
+    }
+
+    /**
+     * A sequential stream for a stage which draws its numbers in a fixed
+     * order. Streams are not thread safe, so each thread needs its own.
+     */
+    public SplittableRandom stream(){
+        return new SplittableRandom(value);
+    }
+
+    public SplittableRandom stream(long key){
+        return new SplittableRandom(hash(value, key));
+    }
+
+    /**
+     * A uniform value in [0, 1) which depends only on this seed and the
+     * keys, so it can be computed from any thread in any order.
+     */
+    public double uniform(long key1, long key2){
+        return (hash(hash(value, key1), key2) >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * A uniform int in [0, bound), computed like {@link #uniform(long, long)}.
+     */
+    public int uniformInt(long key1, long key2, int bound){
+        if(bound < 1){
+            throw new IllegalArgumentException("Bound must be positive!");
+        }
+        return (int) (uniform(key1, key2) * bound);
+    }
+
+
+    private static long hash(long seed, long key){
+        return mix(seed + mix(key * GOLDEN_GAMMA + GOLDEN_GAMMA));
+    }
+
+    /**
+     * The finaliser of SplitMix64, which spreads every input bit over the
+     * whole output.
+     */
+    private static long mix(long z){
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.mason.mapgen.structures.records;
 
-import static com.mason.mapgen.core.Utils.RANDOM;
+import java.util.random.RandomGenerator;
+
 import static java.lang.Math.PI;
 
 public record Vector(double x, double y){
@@ -19,8 +20,8 @@ public record Vector(double x, double y){
         return new Vector(x, y);
     }
 
-    public static Vector generateRandomUnitVector(){
-        return fromPolar(1, 2 * PI * RANDOM.nextDouble());
+    public static Vector generateRandomUnitVector(RandomGenerator random){
+        return fromPolar(1, 2 * PI * random.nextDouble());
     }
 
 
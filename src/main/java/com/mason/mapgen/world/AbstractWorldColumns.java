@@ -0,0 +1,100 @@
+package com.mason.mapgen.world;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.grids.lowMemory.IndexedIntGrid;
+import com.mason.mapgen.structures.grids.lowMemory.IntegerWidth;
+
+import java.util.Arrays;
+
+import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
+
+/**
+ * The part of a world's columns which every layout shares: the centroid ID
+ * of each point, stored at the narrowest width that fits the centroid limit,
+ * and the coordinates of each centroid.
+ * Centroids are added as they are found and numbered in that order.
+ * @author Adam Whittaker
+ */
+public abstract class AbstractWorldColumns implements WorldColumns{
+
+
+    private final Size size;
+    private final IndexedIntGrid centroidIDs;
+    private final int maxCentroids;
+    private int[] centroidXs = new int[16], centroidYs = new int[16];
+    private int numCentroids = 0;
+
+
+    protected AbstractWorldColumns(Size size, int maxCentroids){
+        if(maxCentroids < 1){
+            throw new IllegalArgumentException("The world must allow at least one centroid!");
+        }
+        this.size = size;
+        this.maxCentroids = maxCentroids;
+        centroidIDs = IntegerWidth.fitting(maxCentroids - 1).createGrid(size, CENTROID_UNSET);
+    }
+
+
+    public int asIndex(int x, int y){
+        return y * size.width() + x;
+    }
+
+    @Override
+    public Size size(){
+        return size;
+    }
+
+    /**
+     * Returns {@link com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap#CENTROID_UNSET}
+     * for a point which has not been given a chunk.
+     */
+    @Override
+    public int centroidID(int x, int y){
+        return centroidIDs.getAsInt(asIndex(x, y));
+    }
+
+    @Override
+    public int numCentroids(){
+        return numCentroids;
+    }
+
+    public int getMaxCentroids(){
+        return maxCentroids;
+    }
+
+    @Override
+    public Coord centroidCoord(int centroidID){
+        checkCentroid(centroidID);
+        return new Coord(centroidXs[centroidID], centroidYs[centroidID]);
+    }
+
+    protected void checkCentroid(int centroidID){
+        if(centroidID < 0 || centroidID >= numCentroids){
+            throw new IllegalArgumentException("There is no centroid " + centroidID + "!");
+        }
+    }
+
+
+    public void setCentroidIDByIndex(int idx, int centroidID){
+        centroidIDs.setAsInt(idx, centroidID);
+    }
+
+    /**
+     * Records a centroid and returns its ID.
+     */
+    public int addCentroid(Coord coord){
+        if(numCentroids == maxCentroids){
+            throw new IllegalStateException("The world cannot hold more than " + maxCentroids + " centroids!");
+        }
+        if(numCentroids == centroidXs.length){
+            int capacity = (int) Math.min((long) centroidXs.length * 2, maxCentroids);
+            centroidXs = Arrays.copyOf(centroidXs, capacity);
+            centroidYs = Arrays.copyOf(centroidYs, capacity);
+        }
+        centroidXs[numCentroids] = coord.x();
+        centroidYs[numCentroids] = coord.y();
+        return numCentroids++;
+    }
+
+}
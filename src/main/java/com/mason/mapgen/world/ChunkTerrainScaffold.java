@@ -0,0 +1,76 @@
+package com.mason.mapgen.world;
+
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+
+import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
+
+/**
+ * Builds a world whose terrain is held per chunk, from a chunked grid and
+ * normalised elevation and moisture noise. A chunk's elevation and moisture
+ * are the means over its points, found in a single pass over the map, and
+ * everything after that works on chunks alone: a chunk whose mean is below
+ * sea level becomes ocean and every other chunk is land waiting for a biome.
+ * @author Adam Whittaker
+ */
+public class ChunkTerrainScaffold implements WorldSkeleton{
+
+
+    private final ChunkingGrid<?> chunkingGrid;
+    private final DoubleGrid elevation;
+    private final DoubleGrid moisture;
+    private final double seaLevel;
+
+
+    public ChunkTerrainScaffold(ChunkingGrid<?> chunkingGrid, DoubleGrid elevation, DoubleGrid moisture, double seaLevel){
+        if(!chunkingGrid.size().equals(elevation.size()) || !chunkingGrid.size().equals(moisture.size())){
+            throw new IllegalArgumentException("The chunking grid and noise grids must be the same size!");
+        }
+        this.chunkingGrid = chunkingGrid;
+        this.elevation = elevation;
+        this.moisture = moisture;
+        this.seaLevel = seaLevel;
+    }
+
+
+    @Override
+    public ChunkWorldColumns getWorldColumns(){
+        ChunkWorldColumns columns = new ChunkWorldColumns(chunkingGrid.size(), Math.max(chunkingGrid.centroidIDBound(), 1));
+        int[] worldIDs = WorldScaffold.addCentroids(chunkingGrid, columns);
+        int numCentroids = columns.numCentroids();
+        double[] elevationSums = new double[numCentroids], moistureSums = new double[numCentroids];
+        int[] pointCounts = new int[numCentroids];
+        for(int pointIdx=0; pointIdx<elevation.size().width()*elevation.size().height(); pointIdx++){
+            int centroidID = chunkingGrid.centroidID(pointIdx);
+            if(centroidID != CENTROID_UNSET){
+                int worldID = worldIDs[centroidID];
+                columns.setCentroidIDByIndex(pointIdx, worldID);
+                elevationSums[worldID] += elevation.getByIndex(pointIdx);
+                moistureSums[worldID] += moisture.getByIndex(pointIdx);
+                pointCounts[worldID]++;
+            }
+        }
+        for(int centroidID=0; centroidID<numCentroids; centroidID++){
+            setChunkTerrain(columns, centroidID, elevationSums[centroidID], moistureSums[centroidID], pointCounts[centroidID]);
+        }
+        return columns;
+    }
+
+    /**
+     * A chunk without any points takes the noise at its centroid.
+     */
+    private void setChunkTerrain(ChunkWorldColumns columns, int centroidID, double elevationSum, double moistureSum, int pointCount){
+        double chunkElevation, chunkMoisture;
+        if(pointCount == 0){
+            int centroidIdx = chunkingGrid.asIndex(columns.centroidCoord(centroidID));
+            chunkElevation = elevation.getByIndex(centroidIdx);
+            chunkMoisture = moisture.getByIndex(centroidIdx);
+        }else{
+            chunkElevation = elevationSum / pointCount;
+            chunkMoisture = moistureSum / pointCount;
+        }
+        Biome biome = chunkElevation < seaLevel ? Biome.OCEAN : Biome.UNSET_LAND;
+        columns.setCentroidTerrain(centroidID, chunkElevation, chunkMoisture, biome);
+    }
+
+}
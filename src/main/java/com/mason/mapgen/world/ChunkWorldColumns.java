@@ -0,0 +1,84 @@
+package com.mason.mapgen.world;
+
+import com.mason.libgui.utils.structures.Size;
+
+import java.util.Arrays;
+
+import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
+
+/**
+ * The columns of a world whose terrain is held per chunk rather than per
+ * point. Each centroid has one elevation, moisture and biome, and a point
+ * reads its terrain through its centroid ID, so the only per-point data is
+ * the ID itself. Terrain decisions can then be made once per chunk, which is
+ * tens of thousands of times instead of tens of millions.
+ * A point without a chunk has no terrain: its biome is
+ * {@link Biome#UNSET} and its elevation and moisture are 0.
+ * @author Adam Whittaker
+ */
+public class ChunkWorldColumns extends AbstractWorldColumns{
+
+
+    private static final Biome[] BIOMES = Biome.values();
+
+    private final float[] elevation;
+    private final float[] moisture;
+    private final byte[] biome;
+
+
+    public ChunkWorldColumns(Size size, int maxCentroids){
+        super(size, maxCentroids);
+        elevation = new float[maxCentroids];
+        moisture = new float[maxCentroids];
+        biome = new byte[maxCentroids];
+        Arrays.fill(biome, (byte) Biome.UNSET.ordinal());
+    }
+
+
+    @Override
+    public float elevation(int x, int y){
+        int centroidID = centroidID(x, y);
+        return centroidID == CENTROID_UNSET ? 0 : elevation[centroidID];
+    }
+
+    @Override
+    public float moisture(int x, int y){
+        int centroidID = centroidID(x, y);
+        return centroidID == CENTROID_UNSET ? 0 : moisture[centroidID];
+    }
+
+    @Override
+    public Biome biome(int x, int y){
+        int centroidID = centroidID(x, y);
+        return centroidID == CENTROID_UNSET ? Biome.UNSET : BIOMES[biome[centroidID]];
+    }
+
+
+    public float centroidElevation(int centroidID){
+        checkCentroid(centroidID);
+        return elevation[centroidID];
+    }
+
+    public float centroidMoisture(int centroidID){
+        checkCentroid(centroidID);
+        return moisture[centroidID];
+    }
+
+    public Biome centroidBiome(int centroidID){
+        checkCentroid(centroidID);
+        return BIOMES[biome[centroidID]];
+    }
+
+    public void setCentroidTerrain(int centroidID, double chunkElevation, double chunkMoisture, Biome chunkBiome){
+        checkCentroid(centroidID);
+        elevation[centroidID] = (float) chunkElevation;
+        moisture[centroidID] = (float) chunkMoisture;
+        biome[centroidID] = (byte) chunkBiome.ordinal();
+    }
+
+    public void setCentroidBiome(int centroidID, Biome chunkBiome){
+        checkCentroid(centroidID);
+        biome[centroidID] = (byte) chunkBiome.ordinal();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.mason.mapgen.world;
+
+import com.mason.libgui.utils.structures.Size;
+
+import java.util.Arrays;
+
+/**
+ * The columns of a world held in flat arrays on the heap: a float each for
+ * elevation and moisture, a byte for the biome, and a centroid ID stored at
+ * the narrowest width that fits the centroid limit. With fewer than 32768
+ * centroids that is 11 bytes a point, so a 4096x4096 world takes under
+ * 200MB.
+ * @author Adam Whittaker
+ */
+public class HeapWorldColumns extends AbstractWorldColumns{
+
+
+    private static final Biome[] BIOMES = Biome.values();
+
+    private final float[] elevation;
+    private final float[] moisture;
+    private final byte[] biome;
+
+
+    public HeapWorldColumns(Size size, int maxCentroids){
+        super(size, maxCentroids);
+        int numPoints = size.width() * size.height();
+        elevation = new float[numPoints];
+        moisture = new float[numPoints];
+        biome = new byte[numPoints];
+        Arrays.fill(biome, (byte) Biome.UNSET.ordinal());
+    }
+
+
+    @Override
+    public float elevation(int x, int y){
+        return elevation[asIndex(x, y)];
+    }
+
+    @Override
+    public float moisture(int x, int y){
+        return moisture[asIndex(x, y)];
+    }
+
+    @Override
+    public Biome biome(int x, int y){
+        return BIOMES[biome[asIndex(x, y)]];
+    }
+
+
+    public void setTerrainByIndex(int idx, double pointElevation, double pointMoisture, Biome pointBiome){
+        elevation[idx] = (float) pointElevation;
+        moisture[idx] = (float) pointMoisture;
+        biome[idx] = (byte) pointBiome.ordinal();
+    }
+
+}
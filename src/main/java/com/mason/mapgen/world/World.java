@@ -10,4 +10,13 @@ public class World{
         map = new WorldMap(skeleton);
     }
 
+    public World(WorldMap map){
+        this.map = map;
+    }
+
+
+    public WorldMap getMap(){
+        return map;
+    }
+
 }
@@ -0,0 +1,17 @@
+package com.mason.mapgen.world;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.mapgen.procgen.algorithms.chunking.components.BasicCentroidData;
+
+/**
+ * The centroid of one chunk of a generated world.
+ * @author Adam Whittaker
+ */
+public class WorldCentroidData extends BasicCentroidData<WorldCentroidData>{
+
+
+    public WorldCentroidData(Coord coord){
+        super(coord);
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.mason.mapgen.world;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+
+/**
+ * The per-point data of a world read column by column, with no object per
+ * point. Centroids are numbered from 0, and each point records the ID of the
+ * centroid of its chunk.
+ * @author Adam Whittaker
+ */
+public interface WorldColumns{
+
+
+    Size size();
+
+    float elevation(int x, int y);
+
+    float moisture(int x, int y);
+
+    Biome biome(int x, int y);
+
+    int centroidID(int x, int y);
+
+    int numCentroids();
+
+    Coord centroidCoord(int centroidID);
+
+}
@@ -1,15 +1,42 @@
 package com.mason.mapgen.world;
 
-import com.mason.mapgen.structures.grids.Grid;
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
 
+/**
+ * The points of a world, stored column by column in its
+ * {@link WorldColumns}. Points are views built when asked for, so a map
+ * costs only its columns whether it was generated or loaded from a file.
+ */
 public class WorldMap{
 
 
-    private final Grid<WorldPoint> map;
+    private final WorldColumns columns;
 
 
     public WorldMap(WorldSkeleton skeleton){
-        map = skeleton.getWorldMapGrid();
+        this(skeleton.getWorldColumns());
+    }
+
+    public WorldMap(WorldColumns columns){
+        this.columns = columns;
+    }
+
+
+    public Size getSize(){
+        return columns.size();
+    }
+
+    public WorldColumns getColumns(){
+        return columns;
+    }
+
+    public WorldPoint getPoint(Coord coord){
+        return getPoint(coord.x(), coord.y());
+    }
+
+    public WorldPoint getPoint(int x, int y){
+        return new WorldPoint(columns, x, y);
     }
 
 }
@@ -2,31 +2,52 @@ package com.mason.mapgen.world;
 
 import com.mason.libgui.utils.structures.Coord;
 
+/**
+ * A view of one point of a world. It holds only the point's position and
+ * reads everything else from the world's columns when asked, so points are
+ * only ever built for the code that looks at them.
+ * @author Adam Whittaker
+ */
 public class WorldPoint{
 
 
-    private final Coord coord;
-    private final Coord centroidCoord;
-    private final TerrainData terrainData;
+    private final WorldColumns columns;
+    private final int x, y;
 
 
-    public WorldPoint(WorldPointSkeleton skeleton){
-        this.coord = skeleton.getCoord();
-        this.terrainData = skeleton.getTerrainData();
-        this.centroidCoord = skeleton.getCentroidCoord();
+    public WorldPoint(WorldColumns columns, int x, int y){
+        this.columns = columns;
+        this.x = x;
+        this.y = y;
     }
 
 
     public Coord getCoord(){
-        return coord;
+        return new Coord(x, y);
+    }
+
+    public double getElevation(){
+        return columns.elevation(x, y);
+    }
+
+    public double getMoisture(){
+        return columns.moisture(x, y);
+    }
+
+    public Biome getBiome(){
+        return columns.biome(x, y);
     }
 
     public TerrainData getTerrainData(){
-        return terrainData;
+        return new TerrainData(getElevation(), getMoisture(), getBiome());
+    }
+
+    public int getCentroidID(){
+        return columns.centroidID(x, y);
     }
 
     public Coord getCentroidCoord(){
-        return centroidCoord;
+        return columns.centroidCoord(getCentroidID());
     }
 
 }
@@ -0,0 +1,62 @@
+package com.mason.mapgen.world;
+
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+
+import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
+
+/**
+ * Builds the columns of a world from a chunked grid and normalised elevation
+ * and moisture noise. Points below sea level become ocean and every other
+ * point is land waiting for a biome.
+ * @author Adam Whittaker
+ */
+public class WorldScaffold implements WorldSkeleton{
+
+
+    private final ChunkingGrid<?> chunkingGrid;
+    private final DoubleGrid elevation;
+    private final DoubleGrid moisture;
+    private final double seaLevel;
+
+
+    public WorldScaffold(ChunkingGrid<?> chunkingGrid, DoubleGrid elevation, DoubleGrid moisture, double seaLevel){
+        if(!chunkingGrid.size().equals(elevation.size()) || !chunkingGrid.size().equals(moisture.size())){
+            throw new IllegalArgumentException("The chunking grid and noise grids must be the same size!");
+        }
+        this.chunkingGrid = chunkingGrid;
+        this.elevation = elevation;
+        this.moisture = moisture;
+        this.seaLevel = seaLevel;
+    }
+
+
+    @Override
+    public WorldColumns getWorldColumns(){
+        HeapWorldColumns columns = new HeapWorldColumns(chunkingGrid.size(), Math.max(chunkingGrid.centroidIDBound(), 1));
+        int[] worldIDs = addCentroids(chunkingGrid, columns);
+        for(int pointIdx=0; pointIdx<elevation.size().width()*elevation.size().height(); pointIdx++){
+            double pointElevation = elevation.getByIndex(pointIdx);
+            Biome biome = pointElevation < seaLevel ? Biome.OCEAN : Biome.UNSET_LAND;
+            columns.setTerrainByIndex(pointIdx, pointElevation, moisture.getByIndex(pointIdx), biome);
+            int centroidID = chunkingGrid.centroidID(pointIdx);
+            if(centroidID != CENTROID_UNSET){
+                columns.setCentroidIDByIndex(pointIdx, worldIDs[centroidID]);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Chunking grids can leave gaps in their IDs, so the world numbers its
+     * centroids afresh. Returns the world ID of each grid ID.
+     */
+    static int[] addCentroids(ChunkingGrid<?> chunkingGrid, AbstractWorldColumns columns){
+        int[] worldIDs = new int[chunkingGrid.centroidIDBound()];
+        for(Integer centroidID : chunkingGrid.getAllCentroidIDs()){
+            worldIDs[centroidID] = columns.addCentroid(chunkingGrid.getCentroidCoord(centroidID));
+        }
+        return worldIDs;
+    }
+
+}
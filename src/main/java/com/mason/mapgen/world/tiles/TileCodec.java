@@ -0,0 +1,73 @@
+package com.mason.mapgen.world.tiles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * How each tile of a tiled world file is stored. Raw tiles can be mapped
+ * straight into memory and read without copying, which makes loading almost
+ * free. Deflated tiles are smaller on disk and on the wire, but are inflated
+ * into the heap the first time they are read.
+ * @author Adam Whittaker
+ */
+public enum TileCodec{
+
+    RAW,
+    DEFLATE;
+
+
+    ByteBuffer encode(ByteBuffer raw){
+        if(this == RAW){
+            return raw;
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try{
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteBuffer stored = ByteBuffer.allocate(raw.remaining() / 2 + 64);
+            while(!deflater.finished()){
+                if(!stored.hasRemaining()){
+                    stored = grow(stored);
+                }
+                deflater.deflate(stored);
+            }
+            return stored.flip();
+        }finally{
+            deflater.end();
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer){
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        return larger.put(buffer.flip());
+    }
+
+    ByteBuffer decode(ByteBuffer stored, int rawLength) throws IOException{
+        if(this == RAW){
+            return stored.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        Inflater inflater = new Inflater();
+        try{
+            inflater.setInput(stored);
+            ByteBuffer raw = ByteBuffer.allocate(rawLength).order(ByteOrder.LITTLE_ENDIAN);
+            while(raw.hasRemaining() && !inflater.finished()){
+                if(inflater.inflate(raw) == 0 && inflater.needsInput()){
+                    break;
+                }
+            }
+            if(raw.hasRemaining()){
+                throw new IOException("A deflated tile is truncated!");
+            }
+            return raw.flip();
+        }catch(DataFormatException e){
+            throw new IOException("A deflated tile is corrupt!", e);
+        }finally{
+            inflater.end();
+        }
+    }
+
+}
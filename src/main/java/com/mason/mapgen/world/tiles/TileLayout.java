@@ -0,0 +1,47 @@
+package com.mason.mapgen.world.tiles;
+
+import com.mason.libgui.utils.structures.Rect;
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.libgui.utils.structures.Size;
+
+/**
+ * Cuts a map into square tiles, numbered in row-major order. Tiles in the
+ * last row and column are cut short by the edge of the map.
+ * @author Adam Whittaker
+ */
+public record TileLayout(Size mapSize, int tileSize){
+
+
+    public TileLayout{
+        if(tileSize < 1){
+            throw new IllegalArgumentException("Tiles must be at least one point wide!");
+        }
+        if(mapSize.width() < 1 || mapSize.height() < 1){
+            throw new IllegalArgumentException("The map must not be empty!");
+        }
+    }
+
+
+    public int tilesX(){
+        return (mapSize.width() + tileSize - 1) / tileSize;
+    }
+
+    public int tilesY(){
+        return (mapSize.height() + tileSize - 1) / tileSize;
+    }
+
+    public int numTiles(){
+        return tilesX() * tilesY();
+    }
+
+    public int tileIndex(int tileX, int tileY){
+        return tileY * tilesX() + tileX;
+    }
+
+    public RectQuery tileRect(int tileIdx){
+        int x = (tileIdx % tilesX()) * tileSize;
+        int y = (tileIdx / tilesX()) * tileSize;
+        return new Rect(x, y, Math.min(tileSize, mapSize.width() - x), Math.min(tileSize, mapSize.height() - y));
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.mason.mapgen.world.tiles;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.grids.lowMemory.IntegerWidth;
+import com.mason.mapgen.world.Biome;
+import com.mason.mapgen.world.WorldColumns;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the columns of a world straight out of the tiles of an open
+ * {@link TiledWorldReader}, without copying them.
+ * @author Adam Whittaker
+ */
+class TiledWorldColumns implements WorldColumns{
+
+
+    private static final Biome[] BIOMES = Biome.values();
+
+    private final TiledWorldReader reader;
+    private final Size size;
+    private final int tileSize;
+    private final int tilesX;
+    private final IntegerWidth centroidIDWidth;
+
+
+    TiledWorldColumns(TiledWorldReader reader){
+        this.reader = reader;
+        TileLayout layout = reader.getHeader().layout();
+        size = layout.mapSize();
+        tileSize = layout.tileSize();
+        tilesX = layout.tilesX();
+        centroidIDWidth = reader.getHeader().centroidIDWidth();
+    }
+
+
+    @Override
+    public Size size(){
+        return size;
+    }
+
+    @Override
+    public float elevation(int x, int y){
+        checkInMap(x, y);
+        return tile(x, y).getFloat(idxInTile(x, y) * Float.BYTES);
+    }
+
+    @Override
+    public float moisture(int x, int y){
+        checkInMap(x, y);
+        return tile(x, y).getFloat(WorldTile.moistureOffset(numPointsInTile(x, y)) + idxInTile(x, y) * Float.BYTES);
+    }
+
+    @Override
+    public Biome biome(int x, int y){
+        checkInMap(x, y);
+        return BIOMES[tile(x, y).get(WorldTile.biomeOffset(numPointsInTile(x, y), centroidIDWidth) + idxInTile(x, y))];
+    }
+
+    @Override
+    public int centroidID(int x, int y){
+        checkInMap(x, y);
+        int position = WorldTile.centroidIDOffset(numPointsInTile(x, y)) + idxInTile(x, y) * centroidIDWidth.cellBytes();
+        return WorldTile.getStoredCentroidID(tile(x, y), position, centroidIDWidth);
+    }
+
+    @Override
+    public int numCentroids(){
+        return reader.getHeader().numCentroids();
+    }
+
+    @Override
+    public Coord centroidCoord(int centroidID){
+        return reader.getCentroidCoord(centroidID);
+    }
+
+    private void checkInMap(int x, int y){
+        if(x < 0 || y < 0 || x >= size.width() || y >= size.height()){
+            throw new IndexOutOfBoundsException("(" + x + ", " + y + ") is outside the map!");
+        }
+    }
+
+    /**
+     * The tile holding the point. The tile, the point's index in it and the
+     * tile's size are worked out separately, from the point alone, so that
+     * reading a column allocates nothing.
+     */
+    private ByteBuffer tile(int x, int y){
+        return reader.tileBuffer((y / tileSize)*tilesX + x / tileSize);
+    }
+
+    private int idxInTile(int x, int y){
+        return (y % tileSize) * tileWidth(x) + x % tileSize;
+    }
+
+    private int numPointsInTile(int x, int y){
+        return tileWidth(x) * tileHeight(y);
+    }
+
+    /**
+     * Tiles in the last column and row are cut short by the edge of the map.
+     */
+    private int tileWidth(int x){
+        return Math.min(tileSize, size.width() - (x / tileSize)*tileSize);
+    }
+
+    private int tileHeight(int y){
+        return Math.min(tileSize, size.height() - (y / tileSize)*tileSize);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.mason.mapgen.world.tiles;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.grids.lowMemory.IntegerWidth;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The fixed-size header at the start of a tiled world file: a magic number
+ * and version, the map and tile sizes, the tile codec, the number of
+ * centroids and the width their IDs are stored at, and the seed. It ends with the offsets of the centroid table and
+ * the tile index, which are written after the tiles once every tile is done.
+ * The offsets are 0 in a file which was never finished.
+ * Everything in the file is little endian.
+ * @author Adam Whittaker
+ */
+public record TiledWorldHeader(Size mapSize, int tileSize, long seed, int numCentroids, TileCodec codec){
+
+
+    public static final int MAGIC = 0x4D47544C;
+    public static final int VERSION = 3;
+    public static final int BYTES = 8*Integer.BYTES + 3*Long.BYTES;
+
+
+    public TileLayout layout(){
+        return new TileLayout(mapSize, tileSize);
+    }
+
+    /**
+     * The narrowest width which holds every centroid ID of the map.
+     */
+    public IntegerWidth centroidIDWidth(){
+        return IntegerWidth.fitting(numCentroids - 1);
+    }
+
+
+    ByteBuffer toBuffer(long centroidTableOffset, long tileIndexOffset){
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putInt(mapSize.width()).putInt(mapSize.height()).putInt(tileSize)
+                .putInt(codec.ordinal()).putInt(numCentroids).putInt(centroidIDWidth().cellBytes()).putLong(seed)
+                .putLong(centroidTableOffset).putLong(tileIndexOffset);
+        return buffer.flip();
+    }
+
+    /**
+     * Leaves the buffer at the two table offsets.
+     */
+    static TiledWorldHeader fromBuffer(ByteBuffer buffer) throws IOException{
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if(buffer.getInt() != MAGIC){
+            throw new IOException("Not a tiled world file!");
+        }
+        int version = buffer.getInt();
+        if(version != VERSION){
+            throw new IOException("Unsupported tiled world version " + version + "!");
+        }
+        Size mapSize = new Size(buffer.getInt(), buffer.getInt());
+        int tileSize = buffer.getInt();
+        int codec = buffer.getInt();
+        if(codec < 0 || codec >= TileCodec.values().length){
+            throw new IOException("Unknown tile codec " + codec + "!");
+        }
+        int numCentroids = buffer.getInt();
+        int centroidIDBytes = buffer.getInt();
+        TiledWorldHeader header = new TiledWorldHeader(mapSize, tileSize, buffer.getLong(), numCentroids,
+                TileCodec.values()[codec]);
+        if(centroidIDBytes != header.centroidIDWidth().cellBytes()){
+            throw new IOException("Centroid IDs are stored in " + centroidIDBytes + " bytes, but " + numCentroids
+                    + " centroids need " + header.centroidIDWidth().cellBytes() + "!");
+        }
+        return header;
+    }
+
+}
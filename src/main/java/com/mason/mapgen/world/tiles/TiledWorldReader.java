@@ -0,0 +1,148 @@
+package com.mason.mapgen.world.tiles;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.mapgen.world.WorldMap;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Opens a tiled world file by reading only its header and tile index, and
+ * mapping its centroid table. Tiles are mapped, or inflated if the file is
+ * deflated, the first time they are read and kept from then on, so opening
+ * even a very large world takes a few milliseconds.
+ * The maps returned by {@link #openMap()} read the file in place and stay
+ * valid until the reader is closed.
+ * @author Adam Whittaker
+ */
+public class TiledWorldReader implements AutoCloseable{
+
+
+    private final FileChannel channel;
+    private final TiledWorldHeader header;
+    private final long[] tileOffsets;
+    private final int[] tileLengths;
+    private final ByteBuffer centroidTable;
+    private final AtomicReferenceArray<ByteBuffer> tiles;
+
+
+    public TiledWorldReader(Path file) throws IOException{
+        channel = FileChannel.open(file, READ);
+        try{
+            ByteBuffer headerBuffer = readFully(TiledWorldHeader.BYTES, 0);
+            header = TiledWorldHeader.fromBuffer(headerBuffer);
+            long centroidTableOffset = headerBuffer.getLong();
+            long tileIndexOffset = headerBuffer.getLong();
+            if(tileIndexOffset == 0){
+                throw new IOException("The tiled world file was never finished!");
+            }
+            int numTiles = header.layout().numTiles();
+            tileOffsets = new long[numTiles];
+            tileLengths = new int[numTiles];
+            readTileIndex(readFully(numTiles * (Long.BYTES + Integer.BYTES), tileIndexOffset));
+            centroidTable = channel.map(READ_ONLY, centroidTableOffset, (long) header.numCentroids() * 2*Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            tiles = new AtomicReferenceArray<>(numTiles);
+        }catch(IOException | RuntimeException e){
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readTileIndex(ByteBuffer index){
+        for(int tileIdx=0; tileIdx<tileOffsets.length; tileIdx++){
+            tileOffsets[tileIdx] = index.getLong();
+            tileLengths[tileIdx] = index.getInt();
+        }
+    }
+
+
+    public TiledWorldHeader getHeader(){
+        return header;
+    }
+
+    public WorldMap openMap(){
+        return new WorldMap(new TiledWorldColumns(this));
+    }
+
+    public Coord getCentroidCoord(int centroidID){
+        int position = centroidID * 2*Integer.BYTES;
+        return new Coord(centroidTable.getInt(position), centroidTable.getInt(position + Integer.BYTES));
+    }
+
+    public WorldTile readTile(int tileX, int tileY) throws IOException{
+        return readTile(header.layout().tileIndex(tileX, tileY));
+    }
+
+    /**
+     * Copies a tile out of the file.
+     */
+    public WorldTile readTile(int tileIdx) throws IOException{
+        WorldTile tile = new WorldTile(header.layout().tileRect(tileIdx));
+        tile.readFrom(loadTile(tileIdx).duplicate().order(ByteOrder.LITTLE_ENDIAN), header.centroidIDWidth());
+        return tile;
+    }
+
+    /**
+     * The stored columns of a tile, read only through absolute gets so that
+     * many threads can share it.
+     */
+    ByteBuffer tileBuffer(int tileIdx){
+        try{
+            return loadTile(tileIdx);
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer loadTile(int tileIdx) throws IOException{
+        ByteBuffer tile = tiles.get(tileIdx);
+        if(tile == null){
+            tile = header.codec().decode(readStoredTile(tileIdx), rawLength(tileIdx));
+            if(!tiles.compareAndSet(tileIdx, null, tile)){
+                tile = tiles.get(tileIdx);
+            }
+        }
+        return tile;
+    }
+
+    private ByteBuffer readStoredTile(int tileIdx) throws IOException{
+        if(header.codec() == TileCodec.RAW){
+            return channel.map(READ_ONLY, tileOffsets[tileIdx], tileLengths[tileIdx]);
+        }
+        return readFully(tileLengths[tileIdx], tileOffsets[tileIdx]);
+    }
+
+    private int rawLength(int tileIdx){
+        RectQuery region = header.layout().tileRect(tileIdx);
+        return region.width() * region.height() * WorldTile.storedBytesPerPoint(header.centroidIDWidth());
+    }
+
+    private ByteBuffer readFully(int length, long position) throws IOException{
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while(buffer.hasRemaining()){
+            int read = channel.read(buffer, position);
+            if(read < 0){
+                throw new EOFException("The tiled world file is truncated!");
+            }
+            position += read;
+        }
+        return buffer.flip().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public void close() throws IOException{
+        channel.close();
+    }
+
+}
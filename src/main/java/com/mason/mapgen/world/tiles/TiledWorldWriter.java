@@ -0,0 +1,159 @@
+package com.mason.mapgen.world.tiles;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.mapgen.world.WorldColumns;
+import com.mason.mapgen.world.WorldMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes the tiles of a world to a file as they are finished. Each tile is
+ * appended where the last one ended, so tiles can be written in any order
+ * and from several threads at once, and only the tile being written is ever
+ * held in memory. Closing the writer appends the centroid table and the tile
+ * index and fills in their offsets in the header; every tile must have been
+ * written by then.
+ * @author Adam Whittaker
+ */
+public class TiledWorldWriter implements AutoCloseable{
+
+
+    private final TiledWorldHeader header;
+    private final IntFunction<Coord> centroidCoords;
+    private final FileChannel channel;
+    private final AtomicLong end = new AtomicLong(TiledWorldHeader.BYTES);
+    private final AtomicLongArray tileOffsets;
+    private final AtomicIntegerArray tileLengths;
+
+
+    public TiledWorldWriter(Path file, TiledWorldHeader header, IntFunction<Coord> centroidCoords) throws IOException{
+        this.header = header;
+        this.centroidCoords = centroidCoords;
+        int numTiles = header.layout().numTiles();
+        tileOffsets = new AtomicLongArray(numTiles);
+        tileLengths = new AtomicIntegerArray(numTiles);
+        channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+        writeFully(header.toBuffer(0, 0), 0);
+    }
+
+    /**
+     * Writes a whole map, cut into tiles of the given size.
+     */
+    public static void write(WorldMap map, Path file, int tileSize, TileCodec codec, long seed) throws IOException{
+        WorldColumns columns = map.getColumns();
+        TiledWorldHeader header = new TiledWorldHeader(map.getSize(), tileSize, seed, columns.numCentroids(), codec);
+        try(TiledWorldWriter writer = new TiledWorldWriter(file, header, columns::centroidCoord)){
+            TileLayout layout = header.layout();
+            for(int tileIdx=0; tileIdx<layout.numTiles(); tileIdx++){
+                writer.writeTile(tileIdx, copyTile(columns, layout.tileRect(tileIdx)));
+            }
+        }
+    }
+
+    private static WorldTile copyTile(WorldColumns columns, RectQuery region){
+        WorldTile tile = new WorldTile(region);
+        int[] centroidIDs = tile.getCentroidIDs();
+        for(int y=region.y(); y<region.y()+region.height(); y++){
+            for(int x=region.x(); x<region.x()+region.width(); x++){
+                int idx = tile.asIndex(x, y);
+                tile.setPoint(idx, columns.elevation(x, y), columns.moisture(x, y), columns.biome(x, y));
+                centroidIDs[idx] = columns.centroidID(x, y);
+            }
+        }
+        return tile;
+    }
+
+
+    public TiledWorldHeader getHeader(){
+        return header;
+    }
+
+    public void writeTile(int tileIdx, WorldTile tile) throws IOException{
+        if(!sameRegion(header.layout().tileRect(tileIdx), tile.getRegion())){
+            throw new IllegalArgumentException("The tile does not cover tile " + tileIdx + "!");
+        }
+        ByteBuffer raw = ByteBuffer.allocate(tile.numPoints() * WorldTile.storedBytesPerPoint(header.centroidIDWidth()))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        tile.writeTo(raw, header.centroidIDWidth());
+        ByteBuffer stored = header.codec().encode(raw.flip());
+        int length = stored.remaining();
+        long offset = end.getAndAdd(length);
+        writeFully(stored, offset);
+        tileOffsets.set(tileIdx, offset);
+        tileLengths.set(tileIdx, length);
+    }
+
+    private static boolean sameRegion(RectQuery a, RectQuery b){
+        return a.x() == b.x() && a.y() == b.y() && a.width() == b.width() && a.height() == b.height();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException{
+        while(buffer.hasRemaining()){
+            position += channel.write(buffer, position);
+        }
+    }
+
+    @Override
+    public void close() throws IOException{
+        try(channel){
+            for(int tileIdx=0; tileIdx<tileLengths.length(); tileIdx++){
+                if(tileLengths.get(tileIdx) == 0){
+                    throw new IOException("Tile " + tileIdx + " was never written!");
+                }
+            }
+            long centroidTableOffset = end.get();
+            long tileIndexOffset = writeCentroidTable(centroidTableOffset);
+            writeTileIndex(tileIndexOffset);
+            writeFully(header.toBuffer(centroidTableOffset, tileIndexOffset), 0);
+        }
+    }
+
+    /**
+     * Writes each centroid as its x then y, and returns where the table ends.
+     */
+    private long writeCentroidTable(long position) throws IOException{
+        ByteBuffer buffer = ByteBuffer.allocate(4096 * 2*Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for(int centroidID=0; centroidID<header.numCentroids(); centroidID++){
+            Coord centroid = centroidCoords.apply(centroidID);
+            buffer.putInt(centroid.x()).putInt(centroid.y());
+            if(!buffer.hasRemaining()){
+                position = flush(buffer, position);
+            }
+        }
+        return flush(buffer, position);
+    }
+
+    /**
+     * Writes each tile's offset and stored length, in tile order.
+     */
+    private void writeTileIndex(long position) throws IOException{
+        ByteBuffer buffer = ByteBuffer.allocate(tileLengths.length() * (Long.BYTES + Integer.BYTES))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for(int tileIdx=0; tileIdx<tileLengths.length(); tileIdx++){
+            buffer.putLong(tileOffsets.get(tileIdx)).putInt(tileLengths.get(tileIdx));
+        }
+        flush(buffer, position);
+    }
+
+    private long flush(ByteBuffer buffer, long position) throws IOException{
+        buffer.flip();
+        long end = position + buffer.remaining();
+        writeFully(buffer, position);
+        buffer.clear();
+        return end;
+    }
+
+}
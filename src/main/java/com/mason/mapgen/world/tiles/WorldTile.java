@@ -0,0 +1,153 @@
+package com.mason.mapgen.world.tiles;
+
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.mapgen.structures.grids.lowMemory.IntegerWidth;
+import com.mason.mapgen.world.Biome;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * The generated points of one tile, held as one flat array per field rather
+ * than as point objects so that a tile costs 13 bytes a point. Points are
+ * indexed in row-major order within the tile.
+ * Stored tiles keep the same columns one after another: every elevation,
+ * then every moisture, centroid ID and biome, so the wider columns stay
+ * aligned. Centroid IDs are stored at the narrowest width that fits every
+ * centroid of the map, which the file's header records, so most maps store
+ * 11 bytes a point.
+ * @author Adam Whittaker
+ */
+public final class WorldTile{
+
+
+    private static final Biome[] BIOMES = Biome.values();
+
+    private final RectQuery region;
+    private final float[] elevation;
+    private final float[] moisture;
+    private final byte[] biome;
+    private final int[] centroidID;
+
+
+    public WorldTile(RectQuery region){
+        this.region = region;
+        int numPoints = region.width() * region.height();
+        elevation = new float[numPoints];
+        moisture = new float[numPoints];
+        biome = new byte[numPoints];
+        centroidID = new int[numPoints];
+    }
+
+
+    public RectQuery getRegion(){
+        return region;
+    }
+
+    public int numPoints(){
+        return elevation.length;
+    }
+
+    public int asIndex(int mapX, int mapY){
+        return (mapY - region.y()) * region.width() + (mapX - region.x());
+    }
+
+    public double getElevation(int idx){
+        return elevation[idx];
+    }
+
+    public double getMoisture(int idx){
+        return moisture[idx];
+    }
+
+    public Biome getBiome(int idx){
+        return BIOMES[biome[idx]];
+    }
+
+    public int getCentroidID(int idx){
+        return centroidID[idx];
+    }
+
+    public void setPoint(int idx, double pointElevation, double pointMoisture, Biome pointBiome){
+        elevation[idx] = (float) pointElevation;
+        moisture[idx] = (float) pointMoisture;
+        biome[idx] = (byte) pointBiome.ordinal();
+    }
+
+    /**
+     * The centroid IDs are filled in place by the chunking stage.
+     */
+    public int[] getCentroidIDs(){
+        return centroidID;
+    }
+
+
+    public static int storedBytesPerPoint(IntegerWidth centroidIDWidth){
+        return 2*Float.BYTES + 1 + centroidIDWidth.cellBytes();
+    }
+
+    static int moistureOffset(int numPoints){
+        return numPoints*Float.BYTES;
+    }
+
+    static int centroidIDOffset(int numPoints){
+        return 2*numPoints*Float.BYTES;
+    }
+
+    static int biomeOffset(int numPoints, IntegerWidth centroidIDWidth){
+        return centroidIDOffset(numPoints) + numPoints*centroidIDWidth.cellBytes();
+    }
+
+    /**
+     * Reads a stored centroid ID at an absolute position in the buffer.
+     */
+    static int getStoredCentroidID(ByteBuffer buffer, int position, IntegerWidth centroidIDWidth){
+        return switch(centroidIDWidth){
+            case BYTE -> buffer.get(position);
+            case SHORT -> buffer.getShort(position);
+            case INT -> buffer.getInt(position);
+        };
+    }
+
+    void writeTo(ByteBuffer buffer, IntegerWidth centroidIDWidth){
+        int start = buffer.position();
+        buffer.asFloatBuffer().put(elevation);
+        buffer.position(start + moistureOffset(numPoints()));
+        buffer.asFloatBuffer().put(moisture);
+        buffer.position(start + centroidIDOffset(numPoints()));
+        writeCentroidIDs(buffer, centroidIDWidth);
+        buffer.position(start + biomeOffset(numPoints(), centroidIDWidth));
+        buffer.put(biome);
+    }
+
+    private void writeCentroidIDs(ByteBuffer buffer, IntegerWidth centroidIDWidth){
+        switch(centroidIDWidth){
+            case BYTE -> {
+                for(int id : centroidID){
+                    buffer.put((byte) id);
+                }
+            }
+            case SHORT -> {
+                ShortBuffer ids = buffer.asShortBuffer();
+                for(int id : centroidID){
+                    ids.put((short) id);
+                }
+            }
+            case INT -> buffer.asIntBuffer().put(centroidID);
+        }
+    }
+
+    void readFrom(ByteBuffer buffer, IntegerWidth centroidIDWidth){
+        int start = buffer.position();
+        buffer.asFloatBuffer().get(elevation);
+        buffer.position(start + moistureOffset(numPoints()));
+        buffer.asFloatBuffer().get(moisture);
+        int idStart = start + centroidIDOffset(numPoints());
+        for(int idx=0; idx<centroidID.length; idx++){
+            centroidID[idx] = getStoredCentroidID(buffer, idStart + idx*centroidIDWidth.cellBytes(), centroidIDWidth);
+        }
+        buffer.position(start + biomeOffset(numPoints(), centroidIDWidth));
+        buffer.get(biome);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.mason.mapgen.batch;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchGeneratorTest{
+
+    private static final List<BatchJob> JOBS = List.of(
+            new BatchJob(new Seed(1L), new Size(96, 64), 30, 1),
+            new BatchJob(new Seed(2L), new Size(64, 64), 20, 0),
+            new BatchJob(new Seed(3L), new Size(80, 48), 15, 2));
+
+    @Test
+    void writesImagesForEveryJobAndTimesEveryStage() throws Exception {
+        Path output = Files.createTempDirectory("batch");
+        BatchRun run = new BatchGenerator(2, output).run(JOBS);
+
+        assertEquals(JOBS.size(), run.numSucceeded());
+        for (int n = 0; n < JOBS.size(); n++) {
+            JobResult result = run.results().get(n);
+            assertEquals(JOBS.get(n), result.job(), "Results should be in job order");
+            for (GenerationStage stage : GenerationStage.values()) {
+                assertTrue(result.stageNanos().containsKey(stage), "Stage " + stage + " should be timed");
+            }
+            Path jobDirectory = output.resolve(result.job().name());
+            assertTrue(Files.size(jobDirectory.resolve("terrain.png")) > 0);
+            assertTrue(Files.size(jobDirectory.resolve("chunks.png")) > 0);
+        }
+        assertTrue(run.mapsPerMinute() > 0);
+    }
+
+    @Test
+    void outputsDoNotDependOnTheNumberOfWorkers() throws Exception {
+        Path single = Files.createTempDirectory("batch");
+        Path several = Files.createTempDirectory("batch");
+        new BatchGenerator(1, single).run(JOBS);
+        new BatchGenerator(3, several).run(JOBS);
+
+        for (BatchJob job : JOBS) {
+            assertSameFile(single.resolve(job.name()).resolve("terrain.png"), several.resolve(job.name()).resolve("terrain.png"));
+            assertSameFile(single.resolve(job.name()).resolve("chunks.png"), several.resolve(job.name()).resolve("chunks.png"));
+        }
+    }
+
+    @Test
+    void failedJobIsReportedWithoutStoppingTheBatch() throws Exception {
+        Path output = Files.createTempDirectory("batch");
+        BatchJob blocked = JOBS.get(0);
+        Files.writeString(output.resolve(blocked.name()), "not a directory");
+
+        BatchRun run = new BatchGenerator(2, output).run(JOBS);
+
+        assertFalse(run.results().get(0).isSuccess());
+        assertTrue(run.results().get(0).stageNanos().containsKey(GenerationStage.SCAFFOLDING));
+        assertFalse(run.results().get(0).stageNanos().containsKey(GenerationStage.OUTPUT));
+        assertEquals(JOBS.size() - 1, run.numSucceeded());
+        assertEquals(1, run.numFailed());
+    }
+
+    @Test
+    void rejectsEmptyWorkerPool() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchGenerator(0, Path.of(".")));
+    }
+
+    private static void assertSameFile(Path expected, Path actual) throws IOException {
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(actual), actual + " differs");
+    }
+
+}
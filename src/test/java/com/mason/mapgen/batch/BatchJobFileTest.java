@@ -0,0 +1,53 @@
+package com.mason.mapgen.batch;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchJobFileTest{
+
+    @Test
+    void parsesJobsSkippingCommentsAndBlankLines() {
+        List<BatchJob> jobs = BatchJobFile.parse(List.of(
+                "# seed width height chunks [lloydRelaxCount]",
+                "",
+                "42 128 64 20 3",
+                "  -7\t32 32 4   # defaults the relax count"));
+
+        assertEquals(2, jobs.size());
+        assertEquals(new BatchJob(new Seed(42L), new Size(128, 64), 20, 3), jobs.get(0));
+        assertEquals(new BatchJob(new Seed(-7L), new Size(32, 32), 4, BatchJobFile.DEFAULT_LLOYD_RELAX_COUNT), jobs.get(1));
+    }
+
+    @Test
+    void rejectsLinesWithTheWrongNumberOfFields() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BatchJobFile.parse(List.of("1 2 3", "1 128 128")));
+        assertTrue(e.getMessage().startsWith("Line 1"), e.getMessage());
+    }
+
+    @Test
+    void rejectsInvalidNumbersWithTheirLine() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BatchJobFile.parse(List.of("1 64 64 10", "2 64 sixty 10")));
+        assertTrue(e.getMessage().startsWith("Line 2"), e.getMessage());
+    }
+
+    @Test
+    void rejectsMoreChunksThanPoints() {
+        assertThrows(IllegalArgumentException.class, () -> BatchJobFile.parse(List.of("1 4 4 17")));
+    }
+
+    @Test
+    void namesDifferForDifferentParameters() {
+        BatchJob job = new BatchJob(new Seed(1L), new Size(64, 64), 10, 2);
+
+        assertNotEquals(job.name(), new BatchJob(new Seed(1L), new Size(64, 64), 11, 2).name());
+        assertNotEquals(job.name(), new BatchJob(new Seed(2L), new Size(64, 64), 10, 2).name());
+    }
+
+}
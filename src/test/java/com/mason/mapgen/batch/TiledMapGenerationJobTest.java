@@ -0,0 +1,103 @@
+package com.mason.mapgen.batch;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+import com.mason.mapgen.world.Biome;
+import com.mason.mapgen.world.tiles.TileCodec;
+import com.mason.mapgen.world.tiles.TiledWorldHeader;
+import com.mason.mapgen.world.tiles.TiledWorldReader;
+import com.mason.mapgen.world.tiles.WorldTile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TiledMapGenerationJobTest{
+
+    private static final BatchJob JOB = new BatchJob(new Seed(11L), new Size(100, 70), 30, 2);
+
+    @Test
+    void writesEveryTileAfterTheHeader() throws Exception {
+        Path output = Files.createTempDirectory("tiled");
+        TiledMapGenerationJob job = new TiledMapGenerationJob(JOB, output, 32, 2);
+        JobResult result = job.call();
+
+        assertTrue(result.isSuccess(), "Job failed: " + result.failure());
+        for (GenerationStage stage : GenerationStage.values()) {
+            assertTrue(result.stageNanos().containsKey(stage), "Stage " + stage + " should be timed");
+        }
+        try (TiledWorldReader reader = new TiledWorldReader(job.getOutputFile())) {
+            TiledWorldHeader header = reader.getHeader();
+            assertEquals(JOB.size(), header.mapSize());
+            assertEquals(32, header.tileSize());
+            assertEquals(JOB.seed().value(), header.seed());
+            assertEquals(12, header.layout().numTiles());
+            assertEquals(TileCodec.RAW, header.codec());
+
+            WorldTile corner = reader.readTile(3, 2);
+            assertEquals(4, corner.getRegion().width());
+            assertEquals(6, corner.getRegion().height());
+        }
+    }
+
+    @Test
+    void outputDoesNotDependOnTileSizeOrWorkers() throws Exception {
+        Path whole = Files.createTempDirectory("tiled");
+        Path tiled = Files.createTempDirectory("tiled");
+        TiledMapGenerationJob oneTile = new TiledMapGenerationJob(JOB, whole, 128, 1);
+        TiledMapGenerationJob manyTiles = new TiledMapGenerationJob(JOB, tiled, 17, 3);
+        assertTrue(oneTile.call().isSuccess());
+        assertTrue(manyTiles.call().isSuccess());
+
+        try (TiledWorldReader reference = new TiledWorldReader(oneTile.getOutputFile());
+             TiledWorldReader reader = new TiledWorldReader(manyTiles.getOutputFile())) {
+            WorldTile all = reference.readTile(0);
+            double minElevation = 1, maxElevation = 0;
+            boolean sawOcean = false, sawLand = false;
+            for (int tileIdx = 0; tileIdx < reader.getHeader().layout().numTiles(); tileIdx++) {
+                WorldTile tile = reader.readTile(tileIdx);
+                for (int y = 0; y < tile.getRegion().height(); y++) {
+                    for (int x = 0; x < tile.getRegion().width(); x++) {
+                        int mapX = tile.getRegion().x() + x, mapY = tile.getRegion().y() + y;
+                        int idx = tile.asIndex(mapX, mapY);
+                        int wholeIdx = all.asIndex(mapX, mapY);
+                        assertEquals(all.getElevation(wholeIdx), tile.getElevation(idx), 0.0);
+                        assertEquals(all.getMoisture(wholeIdx), tile.getMoisture(idx), 0.0);
+                        assertEquals(all.getBiome(wholeIdx), tile.getBiome(idx));
+                        assertEquals(all.getCentroidID(wholeIdx), tile.getCentroidID(idx));
+                        minElevation = Math.min(minElevation, tile.getElevation(idx));
+                        maxElevation = Math.max(maxElevation, tile.getElevation(idx));
+                        sawOcean |= tile.getBiome(idx) == Biome.OCEAN;
+                        sawLand |= tile.getBiome(idx) == Biome.UNSET_LAND;
+                    }
+                }
+            }
+            assertEquals(0.0, minElevation, 0.0, "Elevation should be normalised over the whole map");
+            assertEquals(1.0, maxElevation, 0.0, "Elevation should be normalised over the whole map");
+            assertTrue(sawOcean && sawLand);
+        }
+    }
+
+    @Test
+    void readerRejectsFilesWhichAreNotTiledWorlds() throws Exception {
+        Path file = Files.createTempFile("tiled", ".tiles");
+        Files.write(file, new byte[TiledWorldHeader.BYTES]);
+
+        assertThrows(IOException.class, () -> new TiledWorldReader(file));
+    }
+
+    @Test
+    void batchGeneratorStreamsTilesWhenGivenATileSize() throws Exception {
+        Path output = Files.createTempDirectory("tiled");
+        BatchRun run = new BatchGenerator(2, output, 40).run(List.of(JOB));
+
+        assertEquals(1, run.numSucceeded());
+        assertTrue(Files.exists(output.resolve(JOB.name()).resolve(TiledMapGenerationJob.FILE_NAME)));
+        assertFalse(Files.exists(output.resolve(JOB.name()).resolve("terrain.png")));
+    }
+
+}
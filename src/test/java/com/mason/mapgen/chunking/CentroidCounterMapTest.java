@@ -0,0 +1,68 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.chunking.ChunkingTestFixtures.TestCentroid;
+import com.mason.mapgen.procgen.algorithms.chunking.CentroidCounterMap;
+import com.mason.mapgen.procgen.algorithms.chunking.DistanceTransformVoronoiFill;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentroidCounterMapTest{
+
+    private static final Size SIZE = new Size(131, 77);
+
+    @Test
+    void averagesAreChunkCentres() {
+        ChunkingGrid<TestCentroid> grid = new ChunkingGrid<>(new Size(4, 2));
+        grid.createCentroid(new TestCentroid(new Coord(0, 0)));
+        grid.createCentroid(new TestCentroid(new Coord(3, 1)));
+        for (int i = 0; i < 8; i++) {
+            grid.setCentroidByIndex(i, i % 4 < 2 ? 0 : 1, 0);
+        }
+        CentroidCounterMap counterMap = new CentroidCounterMap(grid);
+
+        counterMap.averageCentroids();
+
+        assertEquals(new Coord(0, 0), counterMap.averageCoord(0));
+        assertEquals(new Coord(2, 0), counterMap.averageCoord(1));
+        assertTrue(grid.hasCentroid(5));
+    }
+
+    @Test
+    void parallelAveragesMatchSequential() {
+        ChunkingGrid<TestCentroid> sequentialGrid = createFilledGrid();
+        ChunkingGrid<TestCentroid> parallelGrid = createFilledGrid();
+        ForkJoinPool pool = new ForkJoinPool(3);
+        CentroidCounterMap sequential = new CentroidCounterMap(sequentialGrid);
+        CentroidCounterMap parallel = new CentroidCounterMap(parallelGrid, pool);
+
+        sequential.averageAndClearCentroids();
+        parallel.averageAndClearCentroids();
+        pool.shutdown();
+
+        for (Integer id : sequentialGrid.getAllCentroidIDs()) {
+            assertEquals(sequential.hasPoints(id), parallel.hasPoints(id));
+            assertEquals(sequential.averageCoord(id), parallel.averageCoord(id));
+        }
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            assertFalse(parallelGrid.hasCentroid(i), "Point " + i + " should be cleared");
+        }
+    }
+
+    private static ChunkingGrid<TestCentroid> createFilledGrid() {
+        Random random = new Random(7L);
+        ChunkingGrid<TestCentroid> grid = new ChunkingGrid<>(SIZE);
+        for (int n = 0; n < 30; n++) {
+            grid.createCentroid(new TestCentroid(new Coord(random.nextInt(SIZE.width()), n * SIZE.height() / 30)));
+        }
+        new DistanceTransformVoronoiFill<>(grid, false).floodFill();
+        return grid;
+    }
+
+}
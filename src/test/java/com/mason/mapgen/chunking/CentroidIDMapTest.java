@@ -0,0 +1,79 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.mapgen.chunking.ChunkingTestFixtures.TestCentroid;
+import com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentroidIDMapTest{
+
+    @Test
+    void idsAreHandedOutDensely() {
+        CentroidIDMap<TestCentroid> map = new CentroidIDMap<>(1000);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.createCentroidAndReturnID(new TestCentroid(new Coord(i, 2 * i))));
+        }
+
+        assertEquals(100, map.size());
+        assertEquals(100, map.idBound());
+        assertEquals(new Coord(70, 140), map.getCentroidCoord(70));
+        assertEquals(70, map.getCentroidX(70));
+        assertEquals(140, map.getCentroidY(70));
+    }
+
+    @Test
+    void movingCentroidUpdatesDataAndCoordinates() {
+        CentroidIDMap<TestCentroid> map = new CentroidIDMap<>(1000);
+        TestCentroid centroid = new TestCentroid(new Coord(1, 1));
+        int id = map.createCentroidAndReturnID(centroid);
+
+        map.moveCentroid(id, new Coord(5, 7));
+
+        assertEquals(new Coord(5, 7), centroid.getCoord());
+        assertEquals(5, map.getCentroidX(id));
+        assertEquals(7, map.getCentroidY(id));
+    }
+
+    @Test
+    void registeredIdsAreIteratedInOrderAndSkipGaps() {
+        CentroidIDMap<TestCentroid> map = new CentroidIDMap<>(1000);
+        map.registerCentroid(90, new TestCentroid(new Coord(0, 0)));
+        map.registerCentroid(3, new TestCentroid(new Coord(1, 0)));
+
+        List<Integer> ids = new ArrayList<>();
+        map.getCentroidIDs().forEach(ids::add);
+
+        assertEquals(List.of(3, 90), ids);
+        assertTrue(map.isCentroid(3));
+        assertFalse(map.isCentroid(4));
+        assertEquals(91, map.createCentroidAndReturnID(new TestCentroid(new Coord(2, 0))));
+    }
+
+    @Test
+    void creatingMoreThanMaxCentroidsThrows() {
+        CentroidIDMap<TestCentroid> map = new CentroidIDMap<>(2);
+        map.createCentroidAndReturnID(new TestCentroid(new Coord(0, 0)));
+        map.createCentroidAndReturnID(new TestCentroid(new Coord(1, 0)));
+
+        assertThrows(IllegalStateException.class, () -> map.createCentroidAndReturnID(new TestCentroid(new Coord(2, 0))));
+        assertThrows(IllegalArgumentException.class, () -> map.registerCentroid(2, new TestCentroid(new Coord(2, 0))));
+    }
+
+    @Test
+    void idsBeyondShortRangeAreSupported() {
+        CentroidIDMap<TestCentroid> map = new CentroidIDMap<>(40000);
+
+        map.registerCentroid(39999, new TestCentroid(new Coord(3, 4)));
+
+        assertEquals(new Coord(3, 4), map.getCentroidCoord(39999));
+        assertEquals(39999, map.getCentroidIDs().iterator().next());
+        assertThrows(IllegalStateException.class, () -> map.createCentroidAndReturnID(new TestCentroid(new Coord(0, 0))));
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.components.CentroidSpatialIndex;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.structures.records.Seed;
+import com.mason.mapgen.world.WorldCentroidData;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentroidSpatialIndexTest{
+
+    @Test
+    void findsExactlyTheCentroidsInsideTheRadius() {
+        Size size = new Size(173, 121);
+        VoronoiChunker<WorldCentroidData> chunker = VoronoiChunker.buildWithDistanceTransform(size, 150, 1, new Seed(21L),
+                WorldCentroidData::new, AnnexQueries::euclideanQuery, null);
+        chunker.createChunks();
+        ChunkingGrid<WorldCentroidData> grid = chunker.getGrid();
+        grid.updateCentroidIndex();
+        CentroidSpatialIndex index = grid.getCentroidIndex();
+        Random random = new Random(4L);
+
+        assertEquals(grid.numCentroids(), index.numCentroids());
+        for (int query = 0; query < 200; query++) {
+            int x = random.nextInt(size.width()), y = random.nextInt(size.height()), radius = random.nextInt(60);
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (Integer centroidID : grid.getAllCentroidIDs()) {
+                long dx = grid.centroidX(centroidID) - x, dy = grid.centroidY(centroidID) - y;
+                if (dx * dx + dy * dy < (long) radius * radius) {
+                    expected.add(centroidID);
+                }
+            }
+            TreeSet<Integer> found = new TreeSet<>();
+            index.forEachWithin(x, y, radius, centroidID -> assertTrue(found.add(centroidID), "Centroid " + centroidID + " found twice"));
+            assertEquals(expected, found, "Query at (" + x + ", " + y + ") with radius " + radius);
+        }
+    }
+
+    @Test
+    void radiusReachingPastTheMapFindsEveryCentroid() {
+        Size size = new Size(40, 30);
+        VoronoiChunker<WorldCentroidData> chunker = VoronoiChunker.buildWithDistanceTransform(size, 12, 0, new Seed(2L),
+                WorldCentroidData::new, AnnexQueries::euclideanQuery, null);
+        chunker.createChunks();
+        CentroidSpatialIndex index = CentroidSpatialIndex.build(chunker.getGrid());
+
+        int[] count = {0};
+        index.forEachWithin(0, 0, 1000, centroidID -> count[0]++);
+
+        assertEquals(12, count[0]);
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Rect;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkSpanIndex;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.structures.records.Seed;
+import com.mason.mapgen.world.WorldCentroidData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkSpanIndexTest{
+
+    @Test
+    void spansCoverEachChunkExactlyOnce() {
+        Size size = new Size(97, 61);
+        VoronoiChunker<WorldCentroidData> chunker = VoronoiChunker.buildWithDistanceTransform(size, 37, 1, new Seed(11L),
+                WorldCentroidData::new, AnnexQueries::euclideanQuery, null);
+        chunker.createChunks();
+        ChunkingGrid<WorldCentroidData> grid = chunker.getGrid();
+        grid.updateSpanIndex();
+        ChunkSpanIndex spans = grid.getSpanIndex();
+
+        int[] covered = new int[size.width() * size.height()];
+        int totalPoints = 0;
+        for (Integer centroidID : grid.getAllCentroidIDs()) {
+            int previousRow = -1;
+            for (int span = spans.firstSpan(centroidID); span < spans.spanEnd(centroidID); span++) {
+                assertTrue(spans.row(span) >= previousRow, "Spans should run top to bottom");
+                assertTrue(spans.xStart(span) < spans.xEnd(span));
+                previousRow = spans.row(span);
+                for (int x = spans.xStart(span); x < spans.xEnd(span); x++) {
+                    int pointIdx = spans.row(span) * size.width() + x;
+                    assertEquals((int) centroidID, grid.centroidID(pointIdx));
+                    covered[pointIdx]++;
+                }
+            }
+            totalPoints += spans.numPoints(centroidID);
+        }
+
+        assertEquals(covered.length, totalPoints);
+        for (int count : covered) {
+            assertEquals(1, count);
+        }
+    }
+
+    @Test
+    void parallelBuildMatchesSequentialBuild() {
+        Size size = new Size(130, 211);
+        VoronoiChunker<WorldCentroidData> chunker = VoronoiChunker.buildWithDistanceTransform(size, 60, 0, new Seed(12L),
+                WorldCentroidData::new, AnnexQueries::euclideanQuery, null);
+        chunker.createChunks();
+        ChunkingGrid<WorldCentroidData> grid = chunker.getGrid();
+
+        ChunkSpanIndex sequential = ChunkSpanIndex.build(grid);
+        ChunkSpanIndex parallel = ChunkSpanIndex.build(grid, new ForkJoinPool(4));
+
+        assertEquals(sequential.numSpans(), parallel.numSpans());
+        for (Integer centroidID : grid.getAllCentroidIDs()) {
+            assertEquals(sequential.firstSpan(centroidID), parallel.firstSpan(centroidID));
+        }
+        for (int span = 0; span < sequential.numSpans(); span++) {
+            assertEquals(sequential.row(span), parallel.row(span));
+            assertEquals(sequential.xStart(span), parallel.xStart(span));
+            assertEquals(sequential.xEnd(span), parallel.xEnd(span));
+        }
+    }
+
+    @Test
+    void unassignedPointsSplitRuns() {
+        ChunkingGrid<WorldCentroidData> grid = new ChunkingGrid<>(new Size(6, 2));
+        grid.createCentroid(new WorldCentroidData(new Coord(0, 0)));
+        grid.createCentroid(new WorldCentroidData(new Coord(4, 0)));
+        grid.setCentroidByIndex(1, 0, 1);
+        grid.setCentroidByIndex(3, 0, 3);
+        grid.setCentroidByIndex(5, 1, 1);
+        grid.setCentroidByIndex(11, 1, 5);
+
+        ChunkSpanIndex spans = ChunkSpanIndex.build(grid);
+
+        assertEquals(2, spans.spanEnd(0) - spans.firstSpan(0));
+        assertEquals(0, spans.xStart(spans.firstSpan(0)));
+        assertEquals(2, spans.xEnd(spans.firstSpan(0)));
+        assertEquals(3, spans.xStart(spans.firstSpan(0) + 1));
+        assertEquals(3, spans.numPoints(0));
+        assertEquals(2, spans.spanEnd(1) - spans.firstSpan(1));
+        assertEquals(1, spans.row(spans.spanEnd(1) - 1));
+        assertEquals(3, spans.numPoints(1));
+    }
+
+    @Test
+    void windowSpansAreCountedFromTheWindowCorner() {
+        ChunkingGrid<WorldCentroidData> parent = new ChunkingGrid<>(new Size(10, 8));
+        parent.createCentroid(new WorldCentroidData(new Coord(3, 3)));
+        parent.createCentroid(new WorldCentroidData(new Coord(6, 5)));
+        ChunkingGrid<WorldCentroidData> window = parent.window(new Rect(2, 2, 6, 5), List.of(0, 1));
+        for (int pointIdx = 0; pointIdx < 30; pointIdx++) {
+            window.setCentroidByIndex(pointIdx, pointIdx % 6 < 3 ? 0 : 1, 0);
+        }
+
+        ChunkSpanIndex spans = ChunkSpanIndex.build(window);
+
+        assertEquals(0, spans.row(spans.firstSpan(0)));
+        assertEquals(0, spans.xStart(spans.firstSpan(0)));
+        assertEquals(3, spans.xEnd(spans.firstSpan(0)));
+        assertEquals(3, spans.xStart(spans.firstSpan(1)));
+        assertEquals(6, spans.xEnd(spans.firstSpan(1)));
+        assertEquals(4, spans.row(spans.spanEnd(1) - 1));
+        assertEquals(15, spans.numPoints(1));
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.components.BasicCentroidData;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The centroid type and grids shared by the chunking tests, and by other
+ * tests which need a chunked grid.
+ */
+public final class ChunkingTestFixtures{
+
+    private ChunkingTestFixtures() {
+    }
+
+    /**
+     * Distinct random points of a grid of the given size, in the order they
+     * were drawn.
+     */
+    public static List<Coord> createCentroids(Size size, int num, long seed) {
+        Random random = new Random(seed);
+        List<Coord> centroids = new ArrayList<>();
+        while (centroids.size() < num) {
+            Coord coord = new Coord(random.nextInt(size.width()), random.nextInt(size.height()));
+            if (!centroids.contains(coord)) {
+                centroids.add(coord);
+            }
+        }
+        return centroids;
+    }
+
+    /**
+     * An unfilled grid with a centroid at each point, with IDs in order.
+     */
+    public static ChunkingGrid<TestCentroid> createGrid(Size size, Iterable<Coord> centroids) {
+        ChunkingGrid<TestCentroid> grid = new ChunkingGrid<>(size);
+        for (Coord coord : centroids) {
+            grid.createCentroid(new TestCentroid(coord));
+        }
+        return grid;
+    }
+
+    public static boolean contains(Iterable<TestCentroid> centroids, TestCentroid target) {
+        for (TestCentroid centroid : centroids) {
+            if (centroid == target) return true;
+        }
+        return false;
+    }
+
+    public static class TestCentroid extends BasicCentroidData<TestCentroid>{
+
+        public TestCentroid(Coord coord) {
+            super(coord);
+        }
+
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.chunking.ChunkingTestFixtures.TestCentroid;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.CentroidFloodFill;
+import com.mason.mapgen.procgen.algorithms.chunking.DistanceTransformVoronoiFill;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.structures.grids.lowMemory.GridAllocator;
+import com.mason.mapgen.structures.grids.lowMemory.MappedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.mason.mapgen.chunking.ChunkingTestFixtures.contains;
+import static com.mason.mapgen.chunking.ChunkingTestFixtures.createCentroids;
+import static com.mason.mapgen.chunking.ChunkingTestFixtures.createGrid;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceTransformVoronoiFillTest{
+
+    private static final Size SIZE = new Size(157, 93);
+
+    @Test
+    void everyPointIsAssignedToANearestCentroid() {
+        List<Coord> centroids = createCentroids(SIZE, 40, 1L);
+        ChunkingGrid<TestCentroid> grid = createGrid(SIZE, centroids);
+
+        new DistanceTransformVoronoiFill<>(grid, false).floodFill();
+
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            Coord point = grid.asCoord(i);
+            Coord assigned = grid.getCentroidDataByIndex(i).getCoord();
+            assertEquals(nearestSquareDist(centroids, point), squareDist(assigned, point),
+                    "Point " + point + " is not assigned to a nearest centroid");
+        }
+    }
+
+    @Test
+    void tiesGoToTheFirstCentroidInRowMajorOrder() {
+        Size size = new Size(41, 37);
+        List<Coord> centroids = new ArrayList<>();
+        for (int y = 3; y < size.height(); y += 8) {
+            for (int x = 2 + y % 3; x < size.width(); x += 6) {
+                centroids.add(new Coord(x, y));
+            }
+        }
+        Collections.reverse(centroids);
+        ChunkingGrid<TestCentroid> grid = createGrid(size, centroids);
+
+        new DistanceTransformVoronoiFill<>(grid, false).floodFill();
+
+        for (int i = 0; i < size.width() * size.height(); i++) {
+            Coord point = grid.asCoord(i);
+            assertEquals(firstNearestCentroid(centroids, point), grid.getCentroidDataByIndex(i).getCoord(),
+                    "Point " + point + " should go to the first of its nearest centroids");
+        }
+    }
+
+    @Test
+    void distanceTransformAndFloodFillBreakTiesAlike() {
+        Size size = new Size(12, 9);
+        List<Coord> centroids = List.of(new Coord(2, 6), new Coord(8, 2));
+        ChunkingGrid<TestCentroid> transformed = createGrid(size, centroids);
+        ChunkingGrid<TestCentroid> flooded = createGrid(size, centroids);
+
+        new DistanceTransformVoronoiFill<>(transformed, false).floodFill();
+        new CentroidFloodFill<>(flooded, AnnexQueries::euclideanQuery, false).floodFill();
+
+        for (int i = 0; i < size.width() * size.height(); i++) {
+            assertEquals(flooded.centroidID(i), transformed.centroidID(i), "Point " + flooded.asCoord(i) + " differs");
+        }
+    }
+
+    @Test
+    void centroidsAreAssignedToThemselvesAtZeroDistance() {
+        List<Coord> centroids = createCentroids(SIZE, 25, 2L);
+        ChunkingGrid<TestCentroid> grid = createGrid(SIZE, centroids);
+
+        new DistanceTransformVoronoiFill<>(grid, false).floodFill();
+
+        for (Coord centroid : centroids) {
+            int idx = grid.asIndex(centroid);
+            assertTrue(grid.isCentroid(idx));
+            assertEquals(0, grid.distanceToCentroid(idx));
+        }
+    }
+
+    @Test
+    void distancesAreManhattan() {
+        ChunkingGrid<TestCentroid> grid = createGrid(SIZE, List.of(new Coord(10, 20)));
+
+        new DistanceTransformVoronoiFill<>(grid, false).floodFill();
+
+        assertEquals(10 + 20, grid.distanceToCentroid(0));
+        assertEquals(7 + 3, grid.distanceToCentroid(grid.asIndex(new Coord(17, 23))));
+    }
+
+    @Test
+    void parallelResultMatchesSequential() {
+        List<Coord> centroids = createCentroids(SIZE, 60, 3L);
+        ChunkingGrid<TestCentroid> sequential = createGrid(SIZE, centroids);
+        ChunkingGrid<TestCentroid> parallel = createGrid(SIZE, centroids);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        new DistanceTransformVoronoiFill<>(sequential, false).floodFill();
+        new DistanceTransformVoronoiFill<>(parallel, false, pool).floodFill();
+        pool.shutdown();
+
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            assertEquals(sequential.centroidID(i), parallel.centroidID(i), "Point " + i + " differs");
+            assertEquals(sequential.distanceToCentroid(i), parallel.distanceToCentroid(i), "Point " + i + " differs");
+        }
+    }
+
+    @Test
+    void chunkGraphConnectsAdjacentChunks() {
+        ChunkingGrid<TestCentroid> grid = createGrid(SIZE, List.of(new Coord(10, 10), new Coord(100, 10), new Coord(150, 90)));
+
+        new DistanceTransformVoronoiFill<>(grid, true).floodFill();
+
+        TestCentroid left = grid.getCentroidDataByIndex(grid.asIndex(new Coord(10, 10)));
+        TestCentroid right = grid.getCentroidDataByIndex(grid.asIndex(new Coord(100, 10)));
+        assertTrue(contains(left.neighbours(), right));
+        assertTrue(contains(right.neighbours(), left));
+    }
+
+    @Test
+    void gridsCanHoldMoreCentroidsThanShortIDsAllow() {
+        Size size = new Size(300, 200);
+        ChunkingGrid<TestCentroid> grid = new ChunkingGrid<>(size, 40000);
+        for (int n = 0; n < 40000; n++) {
+            grid.createCentroid(new TestCentroid(new Coord(n % size.width(), n / size.width())));
+        }
+
+        new DistanceTransformVoronoiFill<>(grid, false).floodFill();
+
+        int lastIdx = grid.asIndex(new Coord(39999 % size.width(), 39999 / size.width()));
+        assertEquals(39999, grid.centroidID(lastIdx));
+        assertTrue(grid.isCentroid(lastIdx));
+    }
+
+    @Test
+    void fileBackedGridMatchesHeapGridAndCanBeReopened() throws Exception {
+        List<Coord> centroids = createCentroids(SIZE, 30, 4L);
+        Path directory = Files.createTempDirectory("chunking");
+        ChunkingGrid<TestCentroid> heap = createGrid(SIZE, centroids);
+        ChunkingGrid<TestCentroid> mapped = new ChunkingGrid<>(SIZE, ChunkingGrid.DEFAULT_MAX_CENTROIDS,
+                GridAllocator.mappedIn(directory, "world"));
+        for (Coord coord : centroids) {
+            mapped.createCentroid(new TestCentroid(coord));
+        }
+
+        new DistanceTransformVoronoiFill<>(heap, false).floodFill();
+        new DistanceTransformVoronoiFill<>(mapped, false).floodFill();
+
+        MappedGrid reopened = MappedGrid.open(directory.resolve("world.centroidIDs.grid"));
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            assertEquals(heap.centroidID(i), mapped.centroidID(i), "Point " + i + " differs");
+            assertEquals(heap.distanceToCentroid(i), mapped.distanceToCentroid(i), "Point " + i + " differs");
+            assertEquals(heap.centroidID(i), reopened.getAsInt(i), "Point " + i + " differs in the file");
+        }
+    }
+
+    @Test
+    void fileBackedGridsCanShareADirectory() throws Exception {
+        Path directory = Files.createTempDirectory("chunking");
+        GridAllocator allocator = GridAllocator.mappedIn(directory, "world");
+
+        new ChunkingGrid<TestCentroid>(SIZE, 10, allocator);
+        new ChunkingGrid<TestCentroid>(SIZE, 10, allocator);
+        new ChunkingGrid<TestCentroid>(SIZE, 10, GridAllocator.mappedIn(directory, "other"));
+
+        assertTrue(Files.exists(directory.resolve("world.centroidIDs.grid")));
+        assertTrue(Files.exists(directory.resolve("world.distances.1.grid")));
+        assertTrue(Files.exists(directory.resolve("other.centroidIDs.grid")));
+    }
+
+    private static int nearestSquareDist(List<Coord> centroids, Coord point) {
+        int best = Integer.MAX_VALUE;
+        for (Coord centroid : centroids) {
+            best = Math.min(best, squareDist(centroid, point));
+        }
+        return best;
+    }
+
+    private static Coord firstNearestCentroid(List<Coord> centroids, Coord point) {
+        Coord first = null;
+        for (Coord centroid : centroids) {
+            if (first == null || squareDist(centroid, point) < squareDist(first, point)
+                    || squareDist(centroid, point) == squareDist(first, point) && comesFirst(centroid, first)) {
+                first = centroid;
+            }
+        }
+        return first;
+    }
+
+    private static boolean comesFirst(Coord a, Coord b) {
+        return a.y() < b.y() || (a.y() == b.y() && a.x() < b.x());
+    }
+
+    private static int squareDist(Coord a, Coord b) {
+        return (a.x() - b.x()) * (a.x() - b.x()) + (a.y() - b.y()) * (a.y() - b.y());
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.chunking.ChunkingTestFixtures.TestCentroid;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.CentroidFloodFill;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunkerBuilder;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunkerSkeleton;
+import com.mason.mapgen.structures.records.Seed;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.mason.mapgen.chunking.ChunkingTestFixtures.createCentroids;
+import static com.mason.mapgen.chunking.ChunkingTestFixtures.createGrid;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalLloydRelaxTest{
+
+    private static final Size SIZE = new Size(120, 90);
+
+    @Test
+    void refloodingMovedChunksIsAtLeastAsCloseAsFullFlood() {
+        List<Coord> centroids = createCentroids(SIZE, 30, 1L);
+        ChunkingGrid<TestCentroid> incremental = createGrid(SIZE, centroids);
+        CentroidFloodFill<TestCentroid> fill = new CentroidFloodFill<>(incremental, AnnexQueries::euclideanQuery, false);
+        fill.floodFill();
+
+        boolean[] moved = new boolean[incremental.centroidIDBound()];
+        moveCentroid(incremental, moved, 3, new Coord(60, 45));
+        moveCentroid(incremental, moved, 17, new Coord(5, 80));
+        fill.refloodChunks(moved);
+
+        ChunkingGrid<TestCentroid> full = createGrid(SIZE, centroids);
+        full.moveCentroid(3, new Coord(60, 45));
+        full.moveCentroid(17, new Coord(5, 80));
+        new CentroidFloodFill<>(full, AnnexQueries::euclideanQuery, false).floodFill();
+
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            Coord point = full.asCoord(i);
+            assertTrue(squareDist(incremental.getCentroidDataByIndex(i).getCoord(), point)
+                            <= squareDist(full.getCentroidDataByIndex(i).getCoord(), point),
+                    "Point " + point + " is further from its centroid than after a full flood");
+        }
+    }
+
+    private static int squareDist(Coord a, Coord b) {
+        return (a.x() - b.x()) * (a.x() - b.x()) + (a.y() - b.y()) * (a.y() - b.y());
+    }
+
+    @Test
+    void incrementalChunkerAssignsEveryPointAndBuildsGraph() {
+        VoronoiChunkerSkeleton<TestCentroid> skeleton = createSkeleton(5);
+        skeleton.enableIncrementalLloydRelax(1.0);
+        VoronoiChunker<TestCentroid> chunker = VoronoiChunker.buildFromSkeleton(skeleton);
+
+        chunker.createChunks();
+
+        ChunkingGrid<TestCentroid> grid = chunker.getGrid();
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            assertTrue(grid.hasCentroid(i), "Point " + grid.asCoord(i) + " should be assigned");
+        }
+        for (Integer id : grid.getAllCentroidIDs()) {
+            assertTrue(grid.isCentroid(grid.asIndex(grid.getCentroidCoord(id))));
+            assertTrue(grid.getCentroidDataByID(id).neighbours().iterator().hasNext());
+        }
+    }
+
+    @Test
+    void relaxationStopsOnceConverged() {
+        VoronoiChunkerSkeleton<TestCentroid> capped = createSkeleton(50);
+        capped.setLloydConvergenceThreshold(Double.MAX_VALUE);
+        VoronoiChunker<TestCentroid> cappedChunker = VoronoiChunker.buildFromSkeleton(capped);
+        VoronoiChunker<TestCentroid> single = VoronoiChunker.buildFromSkeleton(createSkeleton(1));
+
+        cappedChunker.createChunks();
+        single.createChunks();
+
+        for (Integer id : single.getGrid().getAllCentroidIDs()) {
+            assertEquals(single.getGrid().getCentroidCoord(id), cappedChunker.getGrid().getCentroidCoord(id));
+        }
+    }
+
+    @Test
+    void centroidsWithTheSameChunkCentreAreNotStacked() {
+        Set<Coord> centroids = new LinkedHashSet<>(List.of(new Coord(0, 0), new Coord(9, 0)));
+        Size size = new Size(10, 10);
+        VoronoiChunkerSkeleton<TestCentroid> skeleton = VoronoiChunkerBuilder.buildSkeleton(size, centroids.size(),
+                1, new Seed(1L), TestCentroid::new, AnnexQueries::euclideanQuery);
+        skeleton.setRandomCoordGenerator((bounds, num, random) -> centroids);
+        skeleton.setLloydRelaxFloodFill(new CheckerboardFill(skeleton.getGrid()));
+        VoronoiChunker<TestCentroid> chunker = VoronoiChunker.buildFromSkeleton(skeleton);
+
+        chunker.createChunks();
+
+        ChunkingGrid<TestCentroid> grid = chunker.getGrid();
+        assertEquals(new Coord(4, 4), grid.getCentroidCoord(0));
+        assertEquals(new Coord(9, 0), grid.getCentroidCoord(1));
+    }
+
+    private static void moveCentroid(ChunkingGrid<TestCentroid> grid, boolean[] moved, int id, Coord coord) {
+        grid.moveCentroid(id, coord);
+        moved[id] = true;
+    }
+
+    private static VoronoiChunkerSkeleton<TestCentroid> createSkeleton(int lloydRelaxCount) {
+        Set<Coord> centroids = new LinkedHashSet<>(createCentroids(SIZE, 40, 2L));
+        VoronoiChunkerSkeleton<TestCentroid> skeleton = VoronoiChunkerBuilder.buildSkeleton(SIZE, centroids.size(),
+                lloydRelaxCount, new Seed(1L), TestCentroid::new, AnnexQueries::euclideanQuery);
+        skeleton.setRandomCoordGenerator((bounds, num, random) -> centroids);
+        return skeleton;
+    }
+
+    /**
+     * Gives the first centroid the even squares of a checkerboard and the
+     * second the odd squares, so both chunks are centred on the same point.
+     */
+    private static class CheckerboardFill extends CentroidFloodFill<TestCentroid>{
+
+        CheckerboardFill(ChunkingGrid<TestCentroid> grid) {
+            super(grid, AnnexQueries::euclideanQuery, false);
+        }
+
+        @Override
+        protected void fillGrid() {
+            for (int i = 0; i < grid.size().width() * grid.size().height(); i++) {
+                grid.setCentroidByIndex(i, (grid.pointX(i) + grid.pointY(i)) % 2, 0);
+            }
+        }
+
+    }
+
+}
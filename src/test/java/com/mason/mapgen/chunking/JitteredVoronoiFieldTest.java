@@ -0,0 +1,88 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Rect;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.JitteredVoronoiField;
+import com.mason.mapgen.structures.records.Seed;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JitteredVoronoiFieldTest{
+
+    private static final Size SIZE = new Size(83, 61);
+
+    @Test
+    void everyPointGetsItsNearestCentroid() {
+        JitteredVoronoiField field = new JitteredVoronoiField(SIZE, 40, new Seed(5L), 1);
+        int[] chunkIDs = new int[SIZE.width() * SIZE.height()];
+        field.assignRegion(new Rect(0, 0, SIZE.width(), SIZE.height()), chunkIDs);
+
+        for (int y = 0; y < SIZE.height(); y++) {
+            for (int x = 0; x < SIZE.width(); x++) {
+                assertEquals(nearestByBruteForce(field, x, y), chunkIDs[y * SIZE.width() + x],
+                        "Point (" + x + ", " + y + ") should belong to its nearest centroid");
+            }
+        }
+    }
+
+    @Test
+    void regionsAgreeWithTheWholeMap() {
+        JitteredVoronoiField field = new JitteredVoronoiField(SIZE, 25, new Seed(8L), 0.8);
+        int[] whole = new int[SIZE.width() * SIZE.height()];
+        field.assignRegion(new Rect(0, 0, SIZE.width(), SIZE.height()), whole);
+
+        Rect region = new Rect(31, 17, 20, 23);
+        int[] part = new int[region.width() * region.height()];
+        field.assignRegion(region, part);
+        for (int y = 0; y < region.height(); y++) {
+            for (int x = 0; x < region.width(); x++) {
+                assertEquals(whole[(region.y() + y) * SIZE.width() + region.x() + x], part[y * region.width() + x]);
+            }
+        }
+    }
+
+    @Test
+    void centroidsLieInsideTheirCellsAndTheMap() {
+        JitteredVoronoiField field = new JitteredVoronoiField(SIZE, 30, new Seed(2L), 1);
+        int cellsX = (SIZE.width() + field.getCellSize() - 1) / field.getCellSize();
+
+        for (int chunkID = 0; chunkID < field.numChunks(); chunkID++) {
+            Coord centroid = field.getCentroidCoord(chunkID);
+            assertEquals(chunkID % cellsX, centroid.x() / field.getCellSize());
+            assertEquals(chunkID / cellsX, centroid.y() / field.getCellSize());
+            assertTrue(centroid.x() < SIZE.width() && centroid.y() < SIZE.height());
+        }
+    }
+
+    @Test
+    void zeroJitterCentresTheCentroids() {
+        JitteredVoronoiField field = new JitteredVoronoiField(new Size(40, 40), 16, new Seed(3L), 0);
+
+        assertEquals(10, field.getCellSize());
+        assertEquals(new Coord(5, 5), field.getCentroidCoord(0));
+        assertEquals(new Coord(35, 25), field.getCentroidCoord(11));
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new JitteredVoronoiField(SIZE, 0, new Seed(1L), 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new JitteredVoronoiField(SIZE, 10, new Seed(1L), 1.5));
+    }
+
+    private static int nearestByBruteForce(JitteredVoronoiField field, int x, int y) {
+        long bestDistance = Long.MAX_VALUE;
+        int bestID = -1;
+        for (int chunkID = 0; chunkID < field.numChunks(); chunkID++) {
+            Coord centroid = field.getCentroidCoord(chunkID);
+            long dx = centroid.x() - x, dy = centroid.y() - y;
+            if (dx * dx + dy * dy < bestDistance) {
+                bestDistance = dx * dx + dy * dy;
+                bestID = chunkID;
+            }
+        }
+        return bestID;
+    }
+
+}
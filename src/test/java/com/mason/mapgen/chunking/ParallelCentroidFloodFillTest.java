@@ -0,0 +1,106 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Rect;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.chunking.ChunkingTestFixtures.TestCentroid;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.CentroidFloodFill;
+import com.mason.mapgen.procgen.algorithms.chunking.ParallelCentroidFloodFill;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.mason.mapgen.chunking.ChunkingTestFixtures.contains;
+import static com.mason.mapgen.chunking.ChunkingTestFixtures.createCentroids;
+import static com.mason.mapgen.chunking.ChunkingTestFixtures.createGrid;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCentroidFloodFillTest{
+
+    private static final Size SIZE = new Size(230, 170);
+
+    @Test
+    void everyPointIsAssigned() {
+        ChunkingGrid<TestCentroid> grid = createGrid(SIZE, createCentroids(SIZE, 60, 1L));
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        new ParallelCentroidFloodFill<>(grid, AnnexQueries::euclideanQuery, false, pool, 64, 32).floodFill();
+        pool.shutdown();
+
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            assertTrue(grid.hasCentroid(i), "Point " + i + " should be assigned");
+        }
+    }
+
+    @Test
+    void windowsHoldOnlyTheirOwnCentroids() {
+        Size size = new Size(300, 200);
+        ChunkingGrid<TestCentroid> grid = new ChunkingGrid<>(size, 40000);
+        for (int n = 0; n < 40000; n++) {
+            grid.createCentroid(new TestCentroid(new Coord(n % size.width(), n / size.width())));
+        }
+        Rect region = new Rect(10, 120, 20, 15);
+
+        ChunkingGrid<TestCentroid> window = grid.window(region, List.of(39025, 36010));
+        assertEquals(2, window.centroidIDBound());
+        assertEquals(new Coord(10, 120), window.getCentroidCoord(0));
+        assertEquals(new Coord(25, 130), window.getCentroidCoord(1));
+
+        new CentroidFloodFill<>(window, AnnexQueries::euclideanQuery, false).floodFill();
+        grid.copyAssignments(window, region);
+        assertEquals(36010, grid.centroidID(grid.asIndex(12, 121)));
+        assertEquals(39025, grid.centroidID(grid.asIndex(29, 134)));
+    }
+
+    @Test
+    void resultDoesNotDependOnParallelism() {
+        List<Coord> centroids = createCentroids(SIZE, 80, 2L);
+        ChunkingGrid<TestCentroid> single = fillInParallel(centroids, 1);
+        ChunkingGrid<TestCentroid> several = fillInParallel(centroids, 4);
+
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            assertEquals(single.centroidID(i), several.centroidID(i), "Point " + i + " differs");
+        }
+    }
+
+    @Test
+    void matchesSequentialFloodFill() {
+        List<Coord> centroids = createCentroids(SIZE, 80, 3L);
+        ChunkingGrid<TestCentroid> sequential = createGrid(SIZE, centroids);
+        new CentroidFloodFill<>(sequential, AnnexQueries::euclideanQuery, false).floodFill();
+        ChunkingGrid<TestCentroid> parallel = fillInParallel(centroids, 2);
+
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            assertEquals(sequential.centroidID(i), parallel.centroidID(i), "Point " + i + " differs");
+        }
+    }
+
+    @Test
+    void chunkGraphIsSymmetric() {
+        ChunkingGrid<TestCentroid> grid = createGrid(SIZE, createCentroids(SIZE, 50, 4L));
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        new ParallelCentroidFloodFill<>(grid, AnnexQueries::euclideanQuery, true, pool, 64, 32).floodFill();
+        pool.shutdown();
+
+        for (Integer id : grid.getAllCentroidIDs()) {
+            TestCentroid centroid = grid.getCentroidDataByID(id);
+            assertTrue(centroid.neighbours().iterator().hasNext(), "Centroid " + id + " should have neighbours");
+            for (TestCentroid neighbour : centroid.neighbours()) {
+                assertTrue(contains(neighbour.neighbours(), centroid), "Neighbour relation should be symmetric");
+            }
+        }
+    }
+
+    private static ChunkingGrid<TestCentroid> fillInParallel(List<Coord> centroids, int parallelism) {
+        ChunkingGrid<TestCentroid> grid = createGrid(SIZE, centroids);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        new ParallelCentroidFloodFill<>(grid, AnnexQueries::euclideanQuery, false, pool, 64, 32).floodFill();
+        pool.shutdown();
+        return grid;
+    }
+
+}
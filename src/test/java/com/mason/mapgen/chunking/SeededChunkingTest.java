@@ -0,0 +1,81 @@
+package com.mason.mapgen.chunking;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.chunking.ChunkingTestFixtures.TestCentroid;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.structures.records.Seed;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeededChunkingTest{
+
+    private static final Size SIZE = new Size(600, 400);
+    private static final int NUM_CHUNKS = 300;
+
+    @Test
+    void sameSeedGivesSameChunks() {
+        ChunkingGrid<TestCentroid> first = chunkSequentially(new Seed(11L));
+        ChunkingGrid<TestCentroid> second = chunkSequentially(new Seed(11L));
+
+        assertSameChunks(first, second);
+    }
+
+    @Test
+    void differentSeedsPlaceDifferentCentroids() {
+        Set<Coord> first = centroidCoords(chunkSequentially(new Seed(11L)));
+        Set<Coord> second = centroidCoords(chunkSequentially(new Seed(12L)));
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void randomParallelChunkingDoesNotDependOnParallelism() {
+        Seed seed = new Seed(13L);
+        ChunkingGrid<TestCentroid> single = chunkInParallel(seed, 1);
+        ChunkingGrid<TestCentroid> several = chunkInParallel(seed, 4);
+
+        assertSameChunks(single, several);
+    }
+
+    private static ChunkingGrid<TestCentroid> chunkSequentially(Seed seed) {
+        VoronoiChunker<TestCentroid> chunker = VoronoiChunker.build(SIZE, NUM_CHUNKS, 2, seed,
+                TestCentroid::new, AnnexQueries.randomQuery(seed.derive("annex")));
+        chunker.createChunks();
+        return chunker.getGrid();
+    }
+
+    private static ChunkingGrid<TestCentroid> chunkInParallel(Seed seed, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        VoronoiChunker<TestCentroid> chunker = VoronoiChunker.buildParallel(SIZE, NUM_CHUNKS, 2, seed,
+                TestCentroid::new, AnnexQueries.randomQuery(seed.derive("annex")), pool);
+        chunker.createChunks();
+        pool.shutdown();
+        return chunker.getGrid();
+    }
+
+    private static void assertSameChunks(ChunkingGrid<TestCentroid> expected, ChunkingGrid<TestCentroid> actual) {
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            assertEquals(expected.getCentroidCoord(expected.centroidID(i)), actual.getCentroidCoord(actual.centroidID(i)),
+                    "Point " + i + " differs");
+            assertEquals(expected.distanceToCentroid(i), actual.distanceToCentroid(i),
+                    "Distance at point " + i + " differs");
+        }
+    }
+
+    private static Set<Coord> centroidCoords(ChunkingGrid<TestCentroid> grid) {
+        Set<Coord> coords = new HashSet<>();
+        for (Integer id : grid.getAllCentroidIDs()) {
+            coords.add(grid.getCentroidCoord(id));
+        }
+        return coords;
+    }
+
+}
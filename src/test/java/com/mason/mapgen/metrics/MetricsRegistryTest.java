@@ -0,0 +1,110 @@
+package com.mason.mapgen.metrics;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.chunking.ChunkingTestFixtures.TestCentroid;
+import com.mason.mapgen.procgen.algorithms.chunking.DistanceTransformVoronoiFill;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.mason.mapgen.chunking.ChunkingTestFixtures.createGrid;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest{
+
+    @Test
+    void recordsEveryRunOfAStage() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        for (int n = 0; n < 3; n++) {
+            registry.time("stage", MetricsRegistryTest::busyWork);
+        }
+
+        StageSnapshot snapshot = registry.snapshot("stage");
+        assertEquals(3, snapshot.count());
+        assertTrue(snapshot.wallNanos() > 0);
+        assertTrue(snapshot.maxWallNanos() <= snapshot.wallNanos());
+        assertTrue(snapshot.maxWallNanos() >= snapshot.meanWallNanos());
+        assertNull(registry.snapshot("other"));
+    }
+
+    @Test
+    void measuresAllocationWhereSupported() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        byte[] allocated = registry.time("allocating", () -> new byte[1 << 20]);
+        assertEquals(1 << 20, allocated.length);
+
+        if (StageTimer.isAllocationSupported()) {
+            assertTrue(registry.snapshot("allocating").allocatedBytes() >= 1 << 20);
+        }
+    }
+
+    @Test
+    void timersRecordWhenClosed() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        StageTimer timer = registry.time("stage");
+        busyWork();
+        assertNull(registry.snapshot("stage"));
+        timer.close();
+
+        assertEquals(1, registry.snapshot("stage").count());
+    }
+
+    @Test
+    void disabledRegistryRecordsNothing() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setEnabled(false);
+
+        registry.time("stage", MetricsRegistryTest::busyWork);
+
+        assertTrue(registry.snapshot().isEmpty());
+    }
+
+    @Test
+    void resetForgetsStages() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.time("stage", MetricsRegistryTest::busyWork);
+
+        registry.reset();
+
+        assertTrue(registry.snapshot().isEmpty());
+    }
+
+    @Test
+    void jsonListsStagesByName() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertTrue(registry.toJson().contains("\"stages\": {}"));
+
+        registry.time("b", MetricsRegistryTest::busyWork);
+        registry.time("a \"quoted\"", MetricsRegistryTest::busyWork);
+
+        String json = registry.toJson();
+        assertTrue(json.contains("\"a \\\"quoted\\\"\": {\"count\": 1"), json);
+        assertTrue(json.indexOf("\"a \\\"quoted\\\"\"") < json.indexOf("\"b\""), "Stages should be sorted");
+        assertTrue(json.contains("\"cpuTimeSupported\": " + StageTimer.isCpuTimeSupported()));
+    }
+
+    @Test
+    void floodFillIsRecordedUnderItsOwnClass() {
+        MetricsRegistry.global().reset();
+        ChunkingGrid<TestCentroid> grid = createGrid(new Size(32, 32), List.of(new Coord(3, 4), new Coord(20, 25)));
+
+        new DistanceTransformVoronoiFill<>(grid, false).floodFill();
+
+        assertEquals(1, MetricsRegistry.global().snapshot("DistanceTransformVoronoiFill.floodFill").count());
+        assertNull(MetricsRegistry.global().snapshot("CentroidFloodFill.floodFill"));
+    }
+
+    private static void busyWork() {
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            total += i % 7;
+        }
+        assertTrue(total > 0);
+    }
+
+}
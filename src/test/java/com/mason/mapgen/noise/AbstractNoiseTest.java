@@ -3,7 +3,7 @@ package com.mason.mapgen.noise;
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.libgui.utils.structures.Size;
 import com.mason.mapgen.procgen.noise.AbstractNoise;
-import com.mason.mapgen.structures.grids.MutableGrid;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,7 +30,7 @@ class AbstractNoiseTest{
             generateCalls++;
             // Simple pattern: value = y * 10 + x
             for (Coord c : getGrid().coordIterable()) {
-                getGrid().setValue(c, (double) (c.y() * 10 + c.x()));
+                getGrid().set(c, (double) (c.y() * 10 + c.x()));
             }
         }
     }
@@ -40,9 +40,9 @@ class AbstractNoiseTest{
         Size size = new Size(4, 3);
         TestNoise noise = new TestNoise(size);
 
-        MutableGrid<Double> grid = noise.getGrid();
+        DoubleGrid grid = noise.getGrid();
         assertNotNull(grid);
-        assertEquals(size, grid.getSize());
+        assertEquals(size, grid.size());
     }
 
     @Test
@@ -61,11 +61,11 @@ class AbstractNoiseTest{
     void generateNoiseCallsGenerateNoiseSafelyOnceAndFillsGrid() {
         Size size = new Size(2, 2);
         TestNoise noise = new TestNoise(size);
-        MutableGrid<Double> grid = noise.getGrid();
+        DoubleGrid grid = noise.getGrid();
 
         // Before generation: all values should be zero
         for (Coord c : grid.coordIterable()) {
-            assertEquals(0, grid.getValue(c));
+            assertEquals(0, grid.get(c));
         }
         assertEquals(0, noise.generateCalls);
 
@@ -75,7 +75,7 @@ class AbstractNoiseTest{
 
         // After generation: all values should be non-null and match the pattern
         for (Coord c : grid.coordIterable()) {
-            Double v = grid.getValue(c);
+            Double v = grid.get(c);
             assertNotNull(v, "Value should be set after generateNoise at " + c);
             assertEquals(c.y() * 10.0 + c.x(), v, EPS);
         }
@@ -103,12 +103,12 @@ class AbstractNoiseTest{
     @Test
     void createDoubleGridOfZerosCreatesGridWithCorrectSizeAndZeroValues() {
         Size size = new Size(3, 2);
-        MutableGrid<Double> grid = AbstractNoise.createDoubleGridOfZeros(size);
+        DoubleGrid grid = AbstractNoise.createDoubleGridOfZeros(size);
 
-        assertEquals(size, grid.getSize());
+        assertEquals(size, grid.size());
 
         for (Coord c : grid.coordIterable()) {
-            assertEquals(0, grid.getValue(c));
+            assertEquals(0, grid.get(c));
         }
     }
 
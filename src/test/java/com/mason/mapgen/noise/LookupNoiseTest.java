@@ -5,7 +5,8 @@ import com.mason.libgui.utils.structures.Size;
 import com.mason.mapgen.procgen.noise.LookupFunction;
 import com.mason.mapgen.procgen.noise.LookupNoise;
 import com.mason.mapgen.procgen.noise.Noise;
-import com.mason.mapgen.structures.grids.MutableGrid;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Seed;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,22 +17,22 @@ class LookupNoiseTest{
 
     /**
      * Simple deterministic Noise implementation for testing LookupNoise.
-     * - Owns its own MutableGrid<Double>.
+     * - Owns its own DoubleGrid.
      * - generateNoise() sets a known pattern exactly once.
      * - normalise() is overridden only to count calls, then delegates to Noise.super.normalise().
      */
     private static class StubNoise implements Noise{
-        private final MutableGrid<Double> grid;
+        private final DoubleGrid grid;
         int generateCalls = 0;
         int normaliseCalls = 0;
         private boolean generated = false;
 
         StubNoise(Size size) {
-            this.grid = new MutableGrid<>(new Double[size.height()][size.width()]);
+            this.grid = new DoubleGrid(size);
         }
 
         @Override
-        public MutableGrid<Double> getGrid() {
+        public DoubleGrid getGrid() {
             return grid;
         }
 
@@ -48,7 +49,7 @@ class LookupNoiseTest{
             generated = true;
             // Fill with simple pattern: val = y*10 + x
             for (Coord c : grid.coordIterable()) {
-                grid.setValue(c, (double) (c.y() * 10 + c.x()));
+                grid.set(c, (double) (c.y() * 10 + c.x()));
             }
         }
 
@@ -68,7 +69,7 @@ class LookupNoiseTest{
         LookupNoise lookupNoise = new LookupNoise(baseNoise, identityLookup);
 
         assertEquals(size, lookupNoise.getSize(), "LookupNoise size should match underlying Noise size");
-        assertEquals(size, lookupNoise.getGrid().getSize(), "Internal grid should have same size");
+        assertEquals(size, lookupNoise.getGrid().size(), "Internal grid should have same size");
         assertFalse(lookupNoise.isNoiseGenerated(), "LookupNoise should not be generated initially");
 
         // Underlying noise should also still be ungenerated at this point
@@ -91,20 +92,20 @@ class LookupNoiseTest{
         assertEquals(1, baseNoise.generateCalls, "Underlying generateNoise should be called exactly once");
         assertEquals(1, baseNoise.normaliseCalls, "Underlying normalise should be called once");
 
-        MutableGrid<Double> perlinGrid = baseNoise.getGrid();
-        MutableGrid<Double> lookupGrid = lookupNoise.getGrid();
+        DoubleGrid perlinGrid = baseNoise.getGrid();
+        DoubleGrid lookupGrid = lookupNoise.getGrid();
 
         // Underlying pattern was: 0,1 / 10,11 → after normalise: 0, 1/11, 10/11, 1
         // (min=0, max=11)
-        assertEquals(0.0, perlinGrid.getValue(new Coord(0, 0)), EPS);
-        assertEquals(1.0 / 11.0, perlinGrid.getValue(new Coord(1, 0)), EPS);
-        assertEquals(10.0 / 11.0, perlinGrid.getValue(new Coord(0, 1)), EPS);
-        assertEquals(1.0, perlinGrid.getValue(new Coord(1, 1)), EPS);
+        assertEquals(0.0, perlinGrid.get(new Coord(0, 0)), EPS);
+        assertEquals(1.0 / 11.0, perlinGrid.get(new Coord(1, 0)), EPS);
+        assertEquals(10.0 / 11.0, perlinGrid.get(new Coord(0, 1)), EPS);
+        assertEquals(1.0, perlinGrid.get(new Coord(1, 1)), EPS);
 
         // Identity lookup: lookupNoise grid should match normalised underlying grid
         for (Coord c : lookupGrid.coordIterable()) {
-            Double expected = perlinGrid.getValue(c);
-            Double actual = lookupGrid.getValue(c);
+            Double expected = perlinGrid.get(c);
+            Double actual = lookupGrid.get(c);
             assertNotNull(actual, "LookupNoise grid should be fully populated at " + c);
             assertEquals(expected, actual, EPS, "LookupNoise grid should equal underlying at " + c);
         }
@@ -123,15 +124,15 @@ class LookupNoiseTest{
 
         lookupNoise.generateNoise();
 
-        MutableGrid<Double> perlinGrid = baseNoise.getGrid();
-        MutableGrid<Double> lookupGrid = lookupNoise.getGrid();
+        DoubleGrid perlinGrid = baseNoise.getGrid();
+        DoubleGrid lookupGrid = lookupNoise.getGrid();
 
         // Underlying pattern before normalise: [ (0,0)=0, (1,0)=1, (0,1)=10, (1,1)=11 ]
         // After normalise (min=0, max=11): [0, 1/11, 10/11, 1]
-        double v00 = perlinGrid.getValue(new Coord(0, 0));
-        double v10 = perlinGrid.getValue(new Coord(1, 0));
-        double v01 = perlinGrid.getValue(new Coord(0, 1));
-        double v11 = perlinGrid.getValue(new Coord(1, 1));
+        double v00 = perlinGrid.get(new Coord(0, 0));
+        double v10 = perlinGrid.get(new Coord(1, 0));
+        double v01 = perlinGrid.get(new Coord(0, 1));
+        double v11 = perlinGrid.get(new Coord(1, 1));
 
         assertEquals(0.0, v00, EPS);
         assertEquals(1.0 / 11.0, v10, EPS);
@@ -140,13 +141,13 @@ class LookupNoiseTest{
 
         // Now check lookupGrid with swapXY:
         // At (0,0): lookupCoord=(0,0) → 0
-        assertEquals(v00, lookupGrid.getValue(new Coord(0, 0)), EPS);
+        assertEquals(v00, lookupGrid.get(new Coord(0, 0)), EPS);
         // At (1,0): lookupCoord=(0,1) → 10/11
-        assertEquals(v01, lookupGrid.getValue(new Coord(1, 0)), EPS);
+        assertEquals(v01, lookupGrid.get(new Coord(1, 0)), EPS);
         // At (0,1): lookupCoord=(1,0) → 1/11
-        assertEquals(v10, lookupGrid.getValue(new Coord(0, 1)), EPS);
+        assertEquals(v10, lookupGrid.get(new Coord(0, 1)), EPS);
         // At (1,1): lookupCoord=(1,1) → 1
-        assertEquals(v11, lookupGrid.getValue(new Coord(1, 1)), EPS);
+        assertEquals(v11, lookupGrid.get(new Coord(1, 1)), EPS);
     }
 
     @Test
@@ -174,17 +175,17 @@ class LookupNoiseTest{
         LookupFunction identityLookup = (coord, underlying, gridSize) -> coord;
 
         LookupNoise lookupNoise = LookupNoise.buildPerlinLookupNoise(
-                size, 1.0, 3, 2.0, 0.5, identityLookup);
+                size, new Seed(1L), 1.0, 3, 2.0, 0.5, identityLookup);
 
         assertEquals(size, lookupNoise.getSize());
-        assertEquals(size, lookupNoise.getGrid().getSize());
+        assertEquals(size, lookupNoise.getGrid().size());
         assertFalse(lookupNoise.isNoiseGenerated());
 
         lookupNoise.generateNoise();
         assertTrue(lookupNoise.isNoiseGenerated());
 
         for (Coord c : lookupNoise.getGrid().coordIterable()) {
-            Double v = lookupNoise.getGrid().getValue(c);
+            Double v = lookupNoise.getGrid().get(c);
             assertNotNull(v, "Grid value should not be null after generation at " + c);
             assertTrue(Double.isFinite(v), "Grid value must be finite at " + c);
         }
@@ -195,17 +196,17 @@ class LookupNoiseTest{
         Size size = new Size(8, 8);
 
         LookupNoise lookupNoise = LookupNoise.buildWithDefaultPerlinLookupFunction(
-                size, 1.0, 3, 2.0, 0.5);
+                size, new Seed(1L), 1.0, 3, 2.0, 0.5);
 
         assertEquals(size, lookupNoise.getSize());
-        assertEquals(size, lookupNoise.getGrid().getSize());
+        assertEquals(size, lookupNoise.getGrid().size());
         assertFalse(lookupNoise.isNoiseGenerated());
 
         lookupNoise.generateNoise();
         assertTrue(lookupNoise.isNoiseGenerated());
 
         for (Coord c : lookupNoise.getGrid().coordIterable()) {
-            Double v = lookupNoise.getGrid().getValue(c);
+            Double v = lookupNoise.getGrid().get(c);
             assertNotNull(v, "Grid value should not be null after generation at " + c);
             assertTrue(Double.isFinite(v), "Grid value must be finite at " + c);
         }
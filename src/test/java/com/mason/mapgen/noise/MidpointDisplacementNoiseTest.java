@@ -3,7 +3,8 @@ package com.mason.mapgen.noise;
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.libgui.utils.structures.Size;
 import com.mason.mapgen.procgen.noise.MidpointDisplacementNoise;
-import com.mason.mapgen.structures.grids.MutableGrid;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Seed;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,35 +17,35 @@ class MidpointDisplacementNoiseTest{
     void buildInstanceCreatesGridOfGivenSize() {
         Size size = new Size(5, 7);
         MidpointDisplacementNoise noise =
-                MidpointDisplacementNoise.buildInstance(size, 1.0, 0.5);
+                MidpointDisplacementNoise.buildInstance(size, new Seed(1L), 1.0, 0.5);
 
-        MutableGrid<Double> grid = noise.getGrid();
+        DoubleGrid grid = noise.getGrid();
         assertNotNull(grid);
-        assertEquals(size, grid.getSize());
+        assertEquals(size, grid.size());
     }
 
     @Test
     void buildInstanceWithTileArtefactsCreatesGridOfGivenSize() {
         Size size = new Size(4, 4);
         MidpointDisplacementNoise noise =
-                MidpointDisplacementNoise.buildInstanceWithTileArtefacts(size, 1.0, 0.5);
+                MidpointDisplacementNoise.buildInstanceWithTileArtefacts(size, new Seed(1L), 1.0, 0.5);
 
-        MutableGrid<Double> grid = noise.getGrid();
+        DoubleGrid grid = noise.getGrid();
         assertNotNull(grid);
-        assertEquals(size, grid.getSize());
+        assertEquals(size, grid.size());
     }
 
     @Test
     void generateNoiseFillsAllCellsAndClampsValuesFor2x2Grid() {
         Size size = new Size(2, 2);
         MidpointDisplacementNoise noise =
-                MidpointDisplacementNoise.buildInstance(size, 1.0, 0.5);
+                MidpointDisplacementNoise.buildInstance(size, new Seed(1L), 1.0, 0.5);
 
-        MutableGrid<Double> grid = noise.getGrid();
+        DoubleGrid grid = noise.getGrid();
 
         // Precondition: grid starts zero
         for (Coord c : grid.coordIterable()) {
-            assertEquals(0, grid.getValue(c));
+            assertEquals(0, grid.get(c));
         }
         assertFalse(noise.isNoiseGenerated());
 
@@ -55,7 +56,7 @@ class MidpointDisplacementNoiseTest{
 
         // Postcondition: all cells non-null and within [-1, 1]
         for (Coord c : grid.coordIterable()) {
-            Double v = grid.getValue(c);
+            Double v = grid.get(c);
             assertNotNull(v, "Value should be set after generateNoise at " + c);
             assertTrue(v >= -1.0 - EPS && v <= 1.0 + EPS,
                     "Value out of [-1,1]: " + v + " at " + c);
@@ -66,14 +67,14 @@ class MidpointDisplacementNoiseTest{
     void generateNoiseFillsAllCellsAndClampsValuesFor3x3Grid() {
         Size size = new Size(3, 3);
         MidpointDisplacementNoise noise =
-                MidpointDisplacementNoise.buildInstance(size, 1.0, 0.5);
+                MidpointDisplacementNoise.buildInstance(size, new Seed(1L), 1.0, 0.5);
 
-        MutableGrid<Double> grid = noise.getGrid();
+        DoubleGrid grid = noise.getGrid();
 
         noise.generateNoise();
 
         for (Coord c : grid.coordIterable()) {
-            Double v = grid.getValue(c);
+            Double v = grid.get(c);
             assertNotNull(v, "Value should be set after generateNoise at " + c);
             assertTrue(v >= -1.0 - EPS && v <= 1.0 + EPS,
                     "Value out of [-1,1]: " + v + " at " + c);
@@ -84,14 +85,14 @@ class MidpointDisplacementNoiseTest{
     void generateNoiseWithTileArtefactsAlsoFillsCellsAndClamps() {
         Size size = new Size(3, 3);
         MidpointDisplacementNoise noise =
-                MidpointDisplacementNoise.buildInstanceWithTileArtefacts(size, 1.0, 0.5);
+                MidpointDisplacementNoise.buildInstanceWithTileArtefacts(size, new Seed(1L), 1.0, 0.5);
 
-        MutableGrid<Double> grid = noise.getGrid();
+        DoubleGrid grid = noise.getGrid();
 
         noise.generateNoise();
 
         for (Coord c : grid.coordIterable()) {
-            Double v = grid.getValue(c);
+            Double v = grid.get(c);
             assertNotNull(v, "Value should be set after generateNoise at " + c);
             assertTrue(v >= -1.0 - EPS && v <= 1.0 + EPS,
                     "Value out of [-1,1]: " + v + " at " + c);
@@ -102,7 +103,7 @@ class MidpointDisplacementNoiseTest{
     void secondCallToGenerateNoiseThrowsIllegalStateException() {
         Size size = new Size(3, 3);
         MidpointDisplacementNoise noise =
-                MidpointDisplacementNoise.buildInstance(size, 1.0, 0.5);
+                MidpointDisplacementNoise.buildInstance(size, new Seed(1L), 1.0, 0.5);
 
         noise.generateNoise();
         assertTrue(noise.isNoiseGenerated());
@@ -0,0 +1,123 @@
+package com.mason.mapgen.noise;
+
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.noise.NoiseCache;
+import com.mason.mapgen.procgen.noise.NoiseKey;
+import com.mason.mapgen.procgen.noise.PerlinNoise;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Seed;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoiseCacheTest{
+
+    private static final Size SIZE = new Size(32, 24);
+    private static final long LAYER_BYTES = (long) SIZE.width() * SIZE.height() * Double.BYTES;
+
+    @Test
+    void equalKeysGenerateOnceAndHandOutCopies() {
+        NoiseCache cache = new NoiseCache(10 * LAYER_BYTES);
+        AtomicInteger generated = new AtomicInteger();
+
+        DoubleGrid first = cache.get(key(1L), perlin(1L, generated));
+        first.fill(7);
+        DoubleGrid second = cache.get(key(1L), perlin(1L, generated));
+
+        assertEquals(1, generated.get());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(perlin(1L, generated).get().get(3, 4), second.get(3, 4), "Changing one copy should not change the cache");
+    }
+
+    @Test
+    void differentParametersAreDifferentLayers() {
+        NoiseCache cache = new NoiseCache(10 * LAYER_BYTES);
+        AtomicInteger generated = new AtomicInteger();
+
+        cache.get(key(1L), perlin(1L, generated));
+        cache.get(NoiseKey.of("perlin", SIZE, new Seed(1L), 1, 8, 0.5, 0.6), perlin(1L, generated));
+        cache.get(key(2L), perlin(2L, generated));
+
+        assertEquals(3, generated.get());
+    }
+
+    @Test
+    void leastRecentlyUsedLayerIsDroppedPastTheBudget() {
+        NoiseCache cache = new NoiseCache(2 * LAYER_BYTES);
+        AtomicInteger generated = new AtomicInteger();
+
+        cache.get(key(1L), perlin(1L, generated));
+        cache.get(key(2L), perlin(2L, generated));
+        cache.get(key(1L), perlin(1L, generated));
+        cache.get(key(3L), perlin(3L, generated));
+
+        assertTrue(cache.isHeld(key(1L)));
+        assertFalse(cache.isHeld(key(2L)));
+        assertTrue(cache.isHeld(key(3L)));
+        assertEquals(2 * LAYER_BYTES, cache.bytesHeld());
+    }
+
+    @Test
+    void droppedLayersAreReadBackFromTheSpillDirectory() throws Exception {
+        Path spill = Files.createTempDirectory("noise");
+        NoiseCache cache = new NoiseCache(LAYER_BYTES, spill);
+        AtomicInteger generated = new AtomicInteger();
+
+        DoubleGrid expected = cache.get(key(1L), perlin(1L, generated));
+        cache.get(key(2L), perlin(2L, generated));
+        DoubleGrid spilled = cache.get(key(1L), perlin(1L, generated));
+
+        assertEquals(2, generated.get());
+        assertEquals(1, cache.spillHits());
+        for (int idx = 0; idx < expected.length(); idx++) {
+            assertEquals(expected.getByIndex(idx), spilled.getByIndex(idx));
+        }
+
+        NoiseCache nextRun = new NoiseCache(LAYER_BYTES, spill);
+        nextRun.get(key(1L), perlin(1L, generated));
+        assertEquals(2, generated.get(), "A new cache should find the spilled layer");
+    }
+
+    @Test
+    void failedSpillsDropTheLayerWithoutFailingTheRequest() throws Exception {
+        Path notADirectory = Files.createTempFile("noise", ".spill");
+        NoiseCache cache = new NoiseCache(LAYER_BYTES, notADirectory);
+        AtomicInteger generated = new AtomicInteger();
+
+        cache.get(key(1L), perlin(1L, generated));
+        DoubleGrid second = cache.get(key(2L), perlin(2L, generated));
+        assertEquals(SIZE, second.size());
+        assertEquals(1, cache.spillFailures());
+        assertFalse(cache.isHeld(key(1L)));
+
+        cache.get(key(1L), perlin(1L, generated));
+        assertEquals(3, generated.get(), "A layer which could not be spilled should be generated again");
+    }
+
+    @Test
+    void rejectsLayersOfTheWrongSize() {
+        NoiseCache cache = new NoiseCache(LAYER_BYTES);
+        assertThrows(IllegalStateException.class, () -> cache.get(key(1L), () -> new DoubleGrid(new Size(2, 2))));
+    }
+
+    private static NoiseKey key(long seed) {
+        return NoiseKey.of("perlin", SIZE, new Seed(seed), 1, 8, 0.5, 0.5);
+    }
+
+    private static Supplier<DoubleGrid> perlin(long seed, AtomicInteger generated) {
+        return () -> {
+            generated.incrementAndGet();
+            PerlinNoise noise = new PerlinNoise(SIZE, new Seed(seed), 1, 8, 0.5, 0.5);
+            noise.generateNoise();
+            noise.normalise();
+            return noise.getGrid();
+        };
+    }
+
+}
@@ -3,7 +3,7 @@ package com.mason.mapgen.noise;
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.libgui.utils.structures.Size;
 import com.mason.mapgen.procgen.noise.Noise;
-import com.mason.mapgen.structures.grids.MutableGrid;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -14,24 +14,24 @@ class NoiseTest{
 
     /**
      * Simple test implementation of Noise.
-     * - Owns a MutableGrid<Double>
+     * - Owns a DoubleGrid
      * - generateNoise() fills each cell with a deterministic pattern,
      *   but only on the first call.
      */
     private static class StubNoise implements Noise{
-        private final MutableGrid<Double> grid;
+        private final DoubleGrid grid;
         private boolean generated = false;
 
         StubNoise(Size size) {
-            this.grid = new MutableGrid<>(new Double[size.height()][size.width()]);
+            this.grid = new DoubleGrid(size);
         }
 
-        StubNoise(MutableGrid<Double> grid) {
+        StubNoise(DoubleGrid grid) {
             this.grid = grid;
         }
 
         @Override
-        public MutableGrid<Double> getGrid() {
+        public DoubleGrid getGrid() {
             return grid;
         }
 
@@ -48,7 +48,7 @@ class NoiseTest{
             }
             // Simple deterministic pattern: value = y*10 + x
             for (Coord c : grid.coordIterable()) {
-                grid.setValue(c, (double) (c.y() * 10 + c.x()));
+                grid.set(c, (double) (c.y() * 10 + c.x()));
             }
             generated = true;
         }
@@ -68,19 +68,19 @@ class NoiseTest{
     @Test
     void normaliseMapsMinToZeroAndMaxToOne() {
         Size size = new Size(3, 1);
-        MutableGrid<Double> grid = new MutableGrid<>(new Double[size.height()][size.width()]);
+        DoubleGrid grid = new DoubleGrid(size);
 
         // Values: [-2, 0, 4]
-        grid.setValue(new Coord(0, 0), -2.0);
-        grid.setValue(new Coord(1, 0), 0.0);
-        grid.setValue(new Coord(2, 0), 4.0);
+        grid.set(new Coord(0, 0), -2.0);
+        grid.set(new Coord(1, 0), 0.0);
+        grid.set(new Coord(2, 0), 4.0);
 
         Noise noise = new StubNoise(grid);
         noise.normalise();
 
-        double v0 = grid.getValue(new Coord(0, 0));
-        double v1 = grid.getValue(new Coord(1, 0));
-        double v2 = grid.getValue(new Coord(2, 0));
+        double v0 = grid.get(new Coord(0, 0));
+        double v1 = grid.get(new Coord(1, 0));
+        double v2 = grid.get(new Coord(2, 0));
 
         // min=-2, max=4 → range=6 → (val+2)/6
         assertEquals(0.0, v0, EPS);          // min → 0
@@ -91,17 +91,17 @@ class NoiseTest{
     @Test
     void normaliseHandlesAllNegativeValues() {
         Size size = new Size(2, 1);
-        MutableGrid<Double> grid = new MutableGrid<>(new Double[size.height()][size.width()]);
+        DoubleGrid grid = new DoubleGrid(size);
 
         // Values: [-5, -3]
-        grid.setValue(new Coord(0, 0), -5.0);
-        grid.setValue(new Coord(1, 0), -3.0);
+        grid.set(new Coord(0, 0), -5.0);
+        grid.set(new Coord(1, 0), -3.0);
 
         Noise noise = new StubNoise(grid);
         noise.normalise();
 
-        double a = grid.getValue(new Coord(0, 0));
-        double b = grid.getValue(new Coord(1, 0));
+        double a = grid.get(new Coord(0, 0));
+        double b = grid.get(new Coord(1, 0));
 
         // min=-5, max=-3 → range=2 → -5→0, -3→1
         assertEquals(0.0, a, EPS);
@@ -111,18 +111,18 @@ class NoiseTest{
     @Test
     void normaliseTurnsConstantGridIntoAllHalf() {
         Size size = new Size(3, 2);
-        MutableGrid<Double> grid = new MutableGrid<>(new Double[size.height()][size.width()]);
+        DoubleGrid grid = new DoubleGrid(size);
 
         // All same value
         for (Coord c : grid.coordIterable()) {
-            grid.setValue(c, 7.0);
+            grid.set(c, 7.0);
         }
 
         Noise noise = new StubNoise(grid);
         noise.normalise();
 
         for (Coord c : grid.coordIterable()) {
-            double v = grid.getValue(c);
+            double v = grid.get(c);
             assertEquals(0.5, v, EPS, "Expected 0.5 at " + c);
         }
     }
@@ -130,12 +130,12 @@ class NoiseTest{
     @Test
     void normaliseKeepsAllValuesWithinZeroAndOne() {
         Size size = new Size(2, 2);
-        MutableGrid<Double> grid = new MutableGrid<>(new Double[size.height()][size.width()]);
+        DoubleGrid grid = new DoubleGrid(size);
 
-        grid.setValue(new Coord(0, 0), -10.0);
-        grid.setValue(new Coord(1, 0), 0.5);
-        grid.setValue(new Coord(0, 1), 3.0);
-        grid.setValue(new Coord(1, 1), 7.0);
+        grid.set(new Coord(0, 0), -10.0);
+        grid.set(new Coord(1, 0), 0.5);
+        grid.set(new Coord(0, 1), 3.0);
+        grid.set(new Coord(1, 1), 7.0);
 
         Noise noise = new StubNoise(grid);
         noise.normalise();
@@ -144,7 +144,7 @@ class NoiseTest{
         double max = Double.NEGATIVE_INFINITY;
 
         for (Coord c : grid.coordIterable()) {
-            double v = grid.getValue(c);
+            double v = grid.get(c);
             assertTrue(v >= 0.0 - EPS && v <= 1.0 + EPS,
                     "Value out of [0,1]: " + v + " at " + c);
             min = Math.min(min, v);
@@ -160,7 +160,7 @@ class NoiseTest{
     void generateNoiseRunsOnlyOncePerInstanceWithoutError() {
         Size size = new Size(3, 3);
         StubNoise noise = new StubNoise(size);
-        MutableGrid<Double> grid = noise.getGrid();
+        DoubleGrid grid = noise.getGrid();
 
         // Initially not generated
         assertFalse(noise.isNoiseGenerated());
@@ -170,11 +170,11 @@ class NoiseTest{
         assertTrue(noise.isNoiseGenerated());
 
         // Capture some values
-        double before = grid.getValue(new Coord(1, 1));
+        double before = grid.get(new Coord(1, 1));
 
         // Second call: should NOT throw, and should not change values
         assertDoesNotThrow(noise::generateNoise);
-        double after = grid.getValue(new Coord(1, 1));
+        double after = grid.get(new Coord(1, 1));
 
         assertEquals(before, after, EPS, "Second generateNoise() call should be a no-op");
     }
@@ -0,0 +1,65 @@
+package com.mason.mapgen.noise;
+
+import com.mason.libgui.utils.structures.Rect;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.noise.HashedPerlinLattice;
+import com.mason.mapgen.procgen.noise.PerlinNoise;
+import com.mason.mapgen.procgen.noise.PerlinNoiseField;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Seed;
+import com.mason.mapgen.structures.records.Vector;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerlinNoiseFieldTest{
+
+    private static final Size SIZE = new Size(90, 70);
+
+    @Test
+    void hashedLatticeGivesRepeatableUnitGradients() {
+        HashedPerlinLattice lattice = new HashedPerlinLattice(SIZE, new Seed(4L));
+        HashedPerlinLattice same = new HashedPerlinLattice(SIZE, new Seed(4L));
+
+        for (int y = 0; y < SIZE.height(); y += 7) {
+            for (int x = 0; x < SIZE.width(); x += 5) {
+                Vector gradient = lattice.gradient(x, y);
+                assertEquals(1.0, gradient.x() * gradient.x() + gradient.y() * gradient.y(), 1e-12);
+                assertEquals(gradient, same.gradient(x, y));
+                assertEquals(gradient, lattice.gradient(x + SIZE.width(), y + SIZE.height()), "The lattice should wrap");
+            }
+        }
+    }
+
+    @Test
+    void tilesMatchNoiseGeneratedInOnePiece() {
+        HashedPerlinLattice lattice = new HashedPerlinLattice(SIZE, new Seed(9L));
+        PerlinNoise whole = new PerlinNoise(lattice, 1.0, 5, 0.5, 0.5, null);
+        whole.generateNoise();
+        PerlinNoiseField field = new PerlinNoiseField(lattice, 1.0, 5, 0.5, 0.5);
+
+        int tileSize = 16;
+        for (int tileY = 0; tileY < SIZE.height(); tileY += tileSize) {
+            for (int tileX = 0; tileX < SIZE.width(); tileX += tileSize) {
+                Rect region = new Rect(tileX, tileY,
+                        Math.min(tileSize, SIZE.width() - tileX), Math.min(tileSize, SIZE.height() - tileY));
+                DoubleGrid tile = field.sample(region);
+                for (int y = 0; y < region.height(); y++) {
+                    for (int x = 0; x < region.width(); x++) {
+                        assertEquals(whole.getGrid().get(tileX + x, tileY + y), tile.get(x, y), 0.0,
+                                "Tile value at (" + (tileX + x) + ", " + (tileY + y) + ") should match");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void regionsOutsideTheMapAreRejected() {
+        PerlinNoiseField field = new PerlinNoiseField(new HashedPerlinLattice(SIZE, new Seed(1L)), 1.0, 3, 0.5, 0.5);
+
+        assertThrows(IllegalArgumentException.class, () -> field.sample(new Rect(80, 0, 20, 10)));
+        assertThrows(IllegalArgumentException.class, () -> field.sample(new Rect(-1, 0, 10, 10)));
+    }
+
+}
@@ -2,10 +2,15 @@ package com.mason.mapgen.noise;
 
 import com.mason.libgui.utils.structures.Coord;
 import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.structures.records.Seed;
+import com.mason.mapgen.structures.records.Vector;
 import com.mason.mapgen.procgen.noise.PerlinNoise;
-import com.mason.mapgen.structures.grids.MutableGrid;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
 import org.junit.jupiter.api.Test;
 
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PerlinNoiseTest{
@@ -15,11 +20,11 @@ class PerlinNoiseTest{
     @Test
     void constructorCreatesGridOfGivenSizeAndNotGeneratedYet() {
         Size size = new Size(8, 8);
-        PerlinNoise noise = new PerlinNoise(size, 1.0, 3, 2.0, 0.5);
+        PerlinNoise noise = new PerlinNoise(size, new Seed(1L), 1.0, 3, 2.0, 0.5);
 
-        MutableGrid<Double> grid = noise.getGrid();
+        DoubleGrid grid = noise.getGrid();
         assertNotNull(grid, "Grid should not be null");
-        assertEquals(size, grid.getSize(), "Grid size should match constructor argument");
+        assertEquals(size, grid.size(), "Grid size should match constructor argument");
 
         // From AbstractNoise / Noise
         assertEquals(size, noise.getSize(), "getSize() should delegate to grid size");
@@ -29,8 +34,8 @@ class PerlinNoiseTest{
     @Test
     void generateNoisePopulatesGridWithFiniteValues() {
         Size size = new Size(8, 8);
-        PerlinNoise noise = new PerlinNoise(size, 1.0, 3, 2.0, 0.5);
-        MutableGrid<Double> grid = noise.getGrid();
+        PerlinNoise noise = new PerlinNoise(size, new Seed(1L), 1.0, 3, 2.0, 0.5);
+        DoubleGrid grid = noise.getGrid();
 
         noise.generateNoise();
 
@@ -39,7 +44,7 @@ class PerlinNoiseTest{
         boolean anyNonZero = false;
 
         for (Coord c : grid.coordIterable()) {
-            Double v = grid.getValue(c);
+            Double v = grid.get(c);
             assertNotNull(v, "Grid value must not be null after generateNoise at " + c);
             assertTrue(Double.isFinite(v), "Grid value must be finite at " + c);
             if (Math.abs(v) > 1e-9) {
@@ -54,7 +59,7 @@ class PerlinNoiseTest{
     @Test
     void secondGenerateNoiseCallThrowsIllegalStateException() {
         Size size = new Size(8, 8);
-        PerlinNoise noise = new PerlinNoise(size, 1.0, 2, 2.0, 0.5);
+        PerlinNoise noise = new PerlinNoise(size, new Seed(1L), 1.0, 2, 2.0, 0.5);
 
         noise.generateNoise();
         assertTrue(noise.isNoiseGenerated());
@@ -70,14 +75,14 @@ class PerlinNoiseTest{
     @Test
     void normaliseMapsNoiseValuesIntoUnitInterval() {
         Size size = new Size(8, 8);
-        PerlinNoise noise = new PerlinNoise(size, 1.0, 3, 2.0, 0.5);
-        MutableGrid<Double> grid = noise.getGrid();
+        PerlinNoise noise = new PerlinNoise(size, new Seed(1L), 1.0, 3, 2.0, 0.5);
+        DoubleGrid grid = noise.getGrid();
 
         noise.generateNoise();
         noise.normalise();  // default method from Noise
 
         for (Coord c : grid.coordIterable()) {
-            double v = grid.getValue(c);
+            double v = grid.get(c);
             assertTrue(v >= -EPS && v <= 1.0 + EPS,
                     "Normalised value must be in [0,1]: " + v + " at " + c);
             assertTrue(Double.isFinite(v), "Normalised value must be finite at " + c);
@@ -87,22 +92,110 @@ class PerlinNoiseTest{
     @Test
     void normaliseOnConstantGridProducesAllHalves() {
         Size size = new Size(4, 4);
-        PerlinNoise noise = new PerlinNoise(size, 1.0, 1, 2.0, 0.5);
-        MutableGrid<Double> grid = noise.getGrid();
+        PerlinNoise noise = new PerlinNoise(size, new Seed(1L), 1.0, 1, 2.0, 0.5);
+        DoubleGrid grid = noise.getGrid();
 
         // Fill grid with a constant value
         for (Coord c : grid.coordIterable()) {
-            grid.setValue(c, 7.0);
+            grid.set(c, 7.0);
         }
 
         // According to Noise.normalise(): constant grid → all 0.5
         noise.normalise();
 
         for (Coord c : grid.coordIterable()) {
-            double v = grid.getValue(c);
+            double v = grid.get(c);
             assertEquals(0.5, v, EPS,
                     "Expected 0.5 after normalising constant grid at " + c);
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void parallelGenerationIsBitIdenticalToSequentialForSameLattice() {
+        Size size = new Size(64, 48);
+
+        Seed seed = new Seed(1234L);
+        PerlinNoise sequential = new PerlinNoise(size, seed, 1.0, 4, 0.5, 0.5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        PerlinNoise parallel = PerlinNoise.buildParallel(size, seed, 1.0, 4, 0.5, 0.5, pool);
+
+        sequential.generateNoise();
+        parallel.generateNoise();
+        pool.shutdown();
+
+        DoubleGrid expected = sequential.getGrid();
+        DoubleGrid actual = parallel.getGrid();
+        for (int idx = 0; idx < expected.length(); idx++) {
+            assertEquals(Double.doubleToRawLongBits(expected.getByIndex(idx)),
+                    Double.doubleToRawLongBits(actual.getByIndex(idx)),
+                    "Parallel value differs at index " + idx);
+        }
+    }
+
+    @Test
+    void kernelMatchesPerCellReferenceImplementation() {
+        Size size = new Size(40, 24);
+        double amplitude = 1.5, lacunarity = 0.6, persistence = 0.5;
+        int octaves = 4;
+
+        Seed seed = new Seed(99L);
+        PerlinNoise noise = new PerlinNoise(size, seed, amplitude, octaves, lacunarity, persistence);
+        noise.generateNoise();
+
+        SplittableRandom random = seed.stream();
+        Vector[] lattice = new Vector[size.width() * size.height()];
+        for (int idx = 0; idx < lattice.length; idx++) {
+            lattice[idx] = Vector.generateRandomUnitVector(random);
+        }
+
+        double[] expected = new double[lattice.length];
+        int boxW = size.width() / 4, boxH = size.height() / 4;
+        for (int n = 0; n < octaves; n++) {
+            for (int y = 0; y < size.height(); y++) {
+                for (int x = 0; x < size.width(); x++) {
+                    expected[y * size.width() + x] += amplitude * referencePerlin(lattice, size, x, y, boxW, boxH);
+                }
+            }
+            amplitude *= persistence;
+            boxW = Math.max(1, (int) (boxW * lacunarity));
+            boxH = Math.max(1, (int) (boxH * lacunarity));
+        }
+
+        for (int idx = 0; idx < expected.length; idx++) {
+            assertEquals(Double.doubleToRawLongBits(expected[idx]),
+                    Double.doubleToRawLongBits(noise.getGrid().getByIndex(idx)),
+                    "Kernel value differs from reference at index " + idx);
+        }
+    }
+
+    /**
+     * Straightforward per-cell Perlin evaluation, kept as an oracle for the
+     * tabulated kernel.
+     */
+    private static double referencePerlin(Vector[] lattice, Size size, int x, int y, int boxW, int boxH) {
+        int left = x - x % boxW, top = y - y % boxH;
+        int right = left + boxW - 1, bottom = top + boxH - 1;
+        double lambdaX = hermite((double) (x % boxW) / boxW);
+        double lambdaY = hermite((double) (y % boxH) / boxH);
+        double topEdge = lerp(dot(lattice, size, left, top, x, y, boxW, boxH),
+                dot(lattice, size, right, top, x, y, boxW, boxH), lambdaX);
+        double bottomEdge = lerp(dot(lattice, size, left, bottom, x, y, boxW, boxH),
+                dot(lattice, size, right, bottom, x, y, boxW, boxH), lambdaX);
+        return lerp(topEdge, bottomEdge, lambdaY);
+    }
+
+    private static double dot(Vector[] lattice, Size size, int cx, int cy, int x, int y, int boxW, int boxH) {
+        Vector gradient = lattice[(cy % size.height()) * size.width() + cx % size.width()];
+        Vector direction = new Vector((double) (x - cx) / boxW, (double) (y - cy) / boxH);
+        return gradient.dot(direction);
+    }
+
+    private static double hermite(double t) {
+        return t * t * (3 - 2 * t);
+    }
+
+    private static double lerp(double start, double end, double lambda) {
+        return start * (1 - lambda) + end * lambda;
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.mason.mapgen.paint.components;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Rect;
+import com.mason.libgui.utils.structures.RectQuery;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.paint.components.GridImageComponent.RenderMode;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.structures.records.Seed;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridImageComponentTest{
+
+    private static final Size SIZE = new Size(23, 17);
+    private static final Seed SEED = new Seed(4L);
+
+    @Test
+    void indexedPaletteGivesChunkNEntryNPlusOne() {
+        ChunkingGrid<PaintCentroidData> grid = createGrid();
+        IndexedChunkImage image = new IndexedChunkImage(SIZE, grid.centroidIDBound());
+        image.repaintAll(grid, ForkJoinPool.commonPool());
+
+        IndexColorModel colorModel = (IndexColorModel) image.getImage().getColorModel();
+        assertEquals(0, colorModel.getAlpha(0));
+        for (Integer id : grid.getAllCentroidIDs()) {
+            assertEquals(grid.getCentroidDataByID(id).getColor().getRGB(), colorModel.getRGB(id + 1));
+        }
+        for (int i = 0; i < SIZE.width() * SIZE.height(); i++) {
+            assertEquals(grid.centroidID(i) + 1, image.getImage().getRaster().getSample(grid.pointX(i), grid.pointY(i), 0),
+                    "Point " + grid.asCoord(i) + " has the wrong palette entry");
+        }
+    }
+
+    @Test
+    void indexedImageRejectsTooManyChunks() {
+        assertDoesNotThrow(() -> new IndexedChunkImage(new Size(2, 2), IndexedChunkImage.MAX_CENTROIDS));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IndexedChunkImage(new Size(2, 2), IndexedChunkImage.MAX_CENTROIDS + 1));
+    }
+
+    @Test
+    void indexedRepaintChunksRebuildsColourModel() {
+        ChunkingGrid<PaintCentroidData> grid = createGrid();
+        IndexedChunkImage image = new IndexedChunkImage(SIZE, grid.centroidIDBound());
+        image.repaintAll(grid, ForkJoinPool.commonPool());
+        BufferedImage before = image.getImage();
+
+        grid.getCentroidDataByID(3).setColor(Color.RED);
+        BitSet chunks = new BitSet();
+        chunks.set(3);
+        image.repaintChunks(grid, chunks);
+
+        assertNotSame(before.getColorModel(), image.getImage().getColorModel());
+        assertEquals(Color.RED.getRGB(), ((IndexColorModel) image.getImage().getColorModel()).getRGB(4));
+        assertEquals(Color.RED.getRGB(), image.getImage().getRGB(grid.centroidX(3), grid.centroidY(3)));
+    }
+
+    @Test
+    void boundingRectangleReachesLastRowAndColumn() {
+        ChunkingGrid<PaintCentroidData> grid = createGrid();
+        grid.updateMaxDistToCentroid();
+
+        RectQuery corner = grid.constructBoundingRectangle(new Coord(SIZE.width() - 1, SIZE.height() - 1));
+
+        assertEquals(SIZE.width(), corner.x() + corner.width());
+        assertEquals(SIZE.height(), corner.y() + corner.height());
+        int numIndices = 0;
+        for (Integer ignored : grid.indicesInClip(new Rect(0, 0, SIZE.width(), SIZE.height()))) {
+            numIndices++;
+        }
+        assertEquals(SIZE.width() * SIZE.height(), numIndices);
+    }
+
+    @Test
+    void clipRepaintReachesLastRowAndColumnInBothModes() {
+        ChunkingGrid<PaintCentroidData> grid = createGrid();
+        GridImageComponent direct = new GridImageComponent(grid, RenderMode.DIRECT);
+        GridImageComponent indexed = new GridImageComponent(grid, RenderMode.INDEXED);
+
+        int lastIdx = SIZE.width() * SIZE.height() - 1;
+        int newOwner = grid.centroidID(lastIdx) == 0 ? 1 : 0;
+        for (int y = SIZE.height() - 3; y < SIZE.height(); y++) {
+            for (int x = SIZE.width() - 3; x < SIZE.width(); x++) {
+                grid.setCentroid(new Coord(x, y), newOwner, 0);
+            }
+        }
+        RectQuery clip = new Rect(SIZE.width() - 3, SIZE.height() - 3, 10, 10);
+        direct.updateImageInClip(grid, clip);
+        indexed.updateImageInClip(grid, clip);
+
+        assertImagesShowChunkColours(grid, direct, indexed);
+    }
+
+    @Test
+    void directAndIndexedModesDrawTheSamePixels() {
+        ChunkingGrid<PaintCentroidData> grid = createGrid();
+        GridImageComponent direct = new GridImageComponent(grid, RenderMode.DIRECT);
+        GridImageComponent indexed = new GridImageComponent(grid, RenderMode.INDEXED);
+        assertImagesShowChunkColours(grid, direct, indexed);
+
+        for (Integer id : grid.getAllCentroidIDs()) {
+            if (id % 2 == 0) {
+                grid.getCentroidDataByID(id).setColor(new Color(id * 20, 0, 255 - id * 20));
+                direct.markChunkDirty(id);
+                indexed.markChunkDirty(id);
+            }
+        }
+        direct.repaintDirtyChunks();
+        indexed.repaintDirtyChunks();
+
+        assertImagesShowChunkColours(grid, direct, indexed);
+    }
+
+    private static void assertImagesShowChunkColours(ChunkingGrid<PaintCentroidData> grid,
+                                                     GridImageComponent direct, GridImageComponent indexed) {
+        for (int y = 0; y < SIZE.height(); y++) {
+            for (int x = 0; x < SIZE.width(); x++) {
+                int expected = grid.getCentroidDataByIndex(grid.asIndex(x, y)).getColor().getRGB();
+                assertEquals(expected, direct.getImage().getRGB(x, y), "Direct image is wrong at " + x + ", " + y);
+                assertEquals(expected, indexed.getImage().getRGB(x, y), "Indexed image is wrong at " + x + ", " + y);
+            }
+        }
+    }
+
+    private static ChunkingGrid<PaintCentroidData> createGrid() {
+        VoronoiChunker<PaintCentroidData> chunker = VoronoiChunker.build(SIZE, 12, 0, SEED,
+                PaintCentroidData.initializer(SEED), AnnexQueries::euclideanQuery);
+        chunker.createChunks();
+        return chunker.getGrid();
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Size;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardinalIndexNeighboursTest{
+
+    private static final Size SIZE = new Size(4, 3);
+
+    @Test
+    void interiorPointHasFourNeighboursInOrder() {
+        assertEquals(List.of(1, 6, 9, 4), visit(5));
+    }
+
+    @Test
+    void outOfRangeIndicesAreSkipped() {
+        assertEquals(List.of(1, 4), visit(0));
+        assertEquals(List.of(7, 10), visit(11));
+    }
+
+    @Test
+    void neighboursDoNotWrapAcrossRowEnds() {
+        assertEquals(List.of(7, 2), visit(3));
+        assertEquals(List.of(0, 5, 8), visit(4));
+        assertEquals(List.of(3, 11, 6), visit(7));
+        assertEquals(List.of(4, 9), visit(8));
+        List<Integer> iterated = new ArrayList<>();
+        new CardinalIndexNeighbours(4, SIZE).forEach(iterated::add);
+        assertEquals(List.of(0, 5, 8), iterated);
+    }
+
+    @Test
+    void visitorMatchesIteration() {
+        for (int idx = 0; idx < SIZE.width() * SIZE.height(); idx++) {
+            List<Integer> iterated = new ArrayList<>();
+            new CardinalIndexNeighbours(idx, SIZE).forEach(iterated::add);
+            assertEquals(iterated, visit(idx));
+        }
+    }
+
+    private static List<Integer> visit(int index) {
+        List<Integer> visited = new ArrayList<>();
+        CardinalIndexNeighbours.forEach(index, SIZE, visited::add);
+        return visited;
+    }
+
+}
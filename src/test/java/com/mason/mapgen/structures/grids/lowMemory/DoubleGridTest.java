@@ -0,0 +1,102 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleGridTest{
+
+    private static final double EPS = 1e-9;
+
+    @Test
+    void constructorCreatesZeroedGridOfGivenSize() {
+        Size size = new Size(4, 3);
+        DoubleGrid grid = new DoubleGrid(size);
+
+        assertEquals(size, grid.size());
+        assertEquals(12, grid.length());
+        for (Coord c : grid.coordIterable()) {
+            assertEquals(0.0, grid.get(c), EPS);
+        }
+    }
+
+    @Test
+    void constructorWithInitialValueFillsEveryCell() {
+        DoubleGrid grid = new DoubleGrid(new Size(3, 2), 2.5);
+
+        for (int idx = 0; idx < grid.length(); idx++) {
+            assertEquals(2.5, grid.getByIndex(idx), EPS);
+        }
+    }
+
+    @Test
+    void storageIsRowMajor() {
+        Size size = new Size(3, 2);
+        DoubleGrid grid = new DoubleGrid(size);
+
+        grid.set(2, 1, 7.0);
+
+        // index = y * width + x = 1 * 3 + 2
+        assertEquals(5, grid.asIndex(new Coord(2, 1)));
+        assertEquals(7.0, grid.getByIndex(5), EPS);
+        assertEquals(7.0, grid.get(new Coord(2, 1)), EPS);
+    }
+
+    @Test
+    void setByCoordAndByIndexAreEquivalent() {
+        DoubleGrid grid = new DoubleGrid(new Size(2, 2));
+
+        grid.set(new Coord(1, 0), 3.0);
+        grid.setByIndex(2, 4.0);
+
+        assertEquals(3.0, grid.get(1, 0), EPS);
+        assertEquals(4.0, grid.get(0, 1), EPS);
+    }
+
+    @Test
+    void minAndMaxScanWholeGrid() {
+        DoubleGrid grid = new DoubleGrid(new Size(2, 2));
+        grid.setByIndex(0, -3.0);
+        grid.setByIndex(1, 1.5);
+        grid.setByIndex(2, 8.0);
+        grid.setByIndex(3, 0.0);
+
+        assertEquals(-3.0, grid.min(), EPS);
+        assertEquals(8.0, grid.max(), EPS);
+    }
+
+    @Test
+    void transformSelfWithUnaryOperatorAppliesToEveryCell() {
+        DoubleGrid grid = new DoubleGrid(new Size(3, 3), 2.0);
+
+        grid.transformSelf(val -> val * val);
+
+        for (int idx = 0; idx < grid.length(); idx++) {
+            assertEquals(4.0, grid.getByIndex(idx), EPS);
+        }
+    }
+
+    @Test
+    void transformSelfWithCellTransformReceivesMatchingCoordinates() {
+        DoubleGrid grid = new DoubleGrid(new Size(4, 3), 1.0);
+
+        grid.transformSelf((x, y, val) -> val + y * 10 + x);
+
+        for (Coord c : grid.coordIterable()) {
+            assertEquals(1.0 + c.y() * 10 + c.x(), grid.get(c), EPS);
+        }
+    }
+
+    @Test
+    void fillOverwritesEveryCell() {
+        DoubleGrid grid = new DoubleGrid(new Size(2, 3), 9.0);
+
+        grid.fill(0.5);
+
+        assertEquals(0.5, grid.min(), EPS);
+        assertEquals(0.5, grid.max(), EPS);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntQueueTest{
+
+    @Test
+    void newQueueIsEmpty() {
+        IntQueue queue = new IntQueue();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void pollReturnsValuesInInsertionOrder() {
+        IntQueue queue = new IntQueue(4);
+        for (int i = 0; i < 3; i++) {
+            queue.add(i * 10);
+        }
+
+        assertEquals(0, queue.poll());
+        assertEquals(10, queue.poll());
+        assertEquals(20, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void growingPreservesOrderAfterWrapAround() {
+        IntQueue queue = new IntQueue(4);
+        queue.add(1);
+        queue.add(2);
+        queue.add(3);
+        queue.poll();
+        queue.poll();
+        for (int i = 4; i <= 20; i++) {
+            queue.add(i);
+        }
+
+        assertEquals(18, queue.size());
+        for (int expected = 3; expected <= 20; expected++) {
+            assertEquals(expected, queue.poll());
+        }
+    }
+
+    @Test
+    void clearEmptiesQueue() {
+        IntQueue queue = new IntQueue(2);
+        queue.add(5);
+        queue.add(6);
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        queue.add(7);
+        assertEquals(7, queue.poll());
+    }
+
+    @Test
+    void pollingEmptyQueueThrows() {
+        IntQueue queue = new IntQueue();
+
+        assertThrows(IllegalStateException.class, queue::poll);
+    }
+
+    @Test
+    void nonPositiveCapacityThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new IntQueue(0));
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Size;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntegerWidthTest{
+
+    @Test
+    void fittingPicksNarrowestWidth() {
+        assertEquals(IntegerWidth.BYTE, IntegerWidth.fitting(0));
+        assertEquals(IntegerWidth.BYTE, IntegerWidth.fitting(127));
+        assertEquals(IntegerWidth.SHORT, IntegerWidth.fitting(128));
+        assertEquals(IntegerWidth.SHORT, IntegerWidth.fitting(32767));
+        assertEquals(IntegerWidth.INT, IntegerWidth.fitting(32768));
+    }
+
+    @Test
+    void createdGridsHaveMatchingStorage() {
+        Size size = new Size(3, 2);
+
+        assertInstanceOf(ByteGrid.class, IntegerWidth.BYTE.createGrid(size, 0));
+        assertInstanceOf(ShortGrid.class, IntegerWidth.SHORT.createGrid(size, 0));
+        assertInstanceOf(IntGrid.class, IntegerWidth.INT.createGrid(size, 0));
+    }
+
+    @Test
+    void everyWidthStoresMinusOneAndItsMaximum() {
+        Size size = new Size(2, 2);
+        for (IntegerWidth width : IntegerWidth.values()) {
+            IndexedIntGrid grid = width.createGrid(size, -1);
+
+            assertEquals(-1, grid.getAsInt(3));
+            grid.setAsInt(1, width.maxValue());
+            assertEquals(width.maxValue(), grid.getAsInt(1));
+            assertEquals(width.maxValue(), grid.maxAsInt());
+        }
+    }
+
+}
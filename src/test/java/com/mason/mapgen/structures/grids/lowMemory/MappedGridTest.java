@@ -0,0 +1,124 @@
+package com.mason.mapgen.structures.grids.lowMemory;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedGridTest{
+
+    private static final Size SIZE = new Size(37, 23);
+
+    @Test
+    void directGridsBehaveLikeHeapGrids() {
+        ShortGrid heap = new ShortGrid(SIZE, (short) -1);
+        MappedGrid direct = MappedGrid.allocateDirect(IntegerWidth.SHORT, SIZE, -1);
+
+        for (int idx = 0; idx < SIZE.width() * SIZE.height(); idx += 3) {
+            heap.setByIndex(idx, (short) (idx * 7 - 400));
+            direct.setAsInt(idx, idx * 7 - 400);
+        }
+        direct.set(4, 5, 31000);
+        heap.set(4, 5, (short) 31000);
+
+        for (int idx = 0; idx < SIZE.width() * SIZE.height(); idx++) {
+            assertEquals(heap.getByIndex(idx), direct.getAsInt(idx));
+        }
+        assertEquals(heap.max(), direct.maxAsInt());
+        assertEquals(heap.asIndex(new Coord(4, 5)), direct.asIndex(new Coord(4, 5)));
+    }
+
+    @Test
+    void fileGridsKeepTheirValuesWhenReopened() throws Exception {
+        Path file = Files.createTempDirectory("grids").resolve("ids.grid");
+        MappedGrid grid = MappedGrid.create(file, IntegerWidth.INT, SIZE, -1);
+        grid.set(3, 4, 123456789);
+        grid.setAsInt(0, -50);
+        grid.flush();
+
+        MappedGrid reopened = MappedGrid.open(file);
+        assertEquals(SIZE, reopened.size());
+        assertEquals(IntegerWidth.INT, reopened.width());
+        assertEquals(123456789, reopened.get(3, 4));
+        assertEquals(-50, reopened.getAsInt(0));
+        assertEquals(-1, reopened.getAsInt(1));
+        assertEquals(123456789, reopened.maxAsInt());
+    }
+
+    @Test
+    void cellsAreSplitAcrossSegments() {
+        MappedGridStorage storage = MappedGridStorage.allocateDirect(SIZE, Short.BYTES, 4);
+        MappedGrid grid = MappedGrid.filled(storage, IntegerWidth.SHORT, 5);
+
+        for (int idx = 0; idx < SIZE.width() * SIZE.height(); idx++) {
+            grid.setAsInt(idx, idx);
+        }
+        for (int idx = 0; idx < SIZE.width() * SIZE.height(); idx++) {
+            assertEquals(idx, grid.getAsInt(idx));
+        }
+    }
+
+    @Test
+    void reopeningReadsTheCellWidthFromTheHeader() throws Exception {
+        Path directory = Files.createTempDirectory("grids");
+        for (IntegerWidth width : IntegerWidth.values()) {
+            Path file = directory.resolve(width + ".grid");
+            MappedGrid grid = MappedGrid.create(file, width, SIZE, 0);
+            grid.setByIndex(7, -1);
+            grid.flush();
+
+            MappedGrid reopened = MappedGrid.open(file);
+            assertEquals(width, reopened.width());
+            assertEquals(-1, reopened.getByIndex(7));
+        }
+    }
+
+    @Test
+    void filesWithoutTheHeaderAreRejected() throws Exception {
+        Path file = Files.createTempFile("grid", ".grid");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> MappedGrid.open(file));
+    }
+
+    @Test
+    void accessorsMatchTheHeapGrids() {
+        IntGrid heap = new IntGrid(SIZE, -1);
+        MappedGrid direct = MappedGrid.allocateDirect(IntegerWidth.INT, SIZE, -1);
+
+        heap.setByIndex(12, 40000);
+        direct.setByIndex(12, 40000);
+        heap.set(6, 2, 7);
+        direct.set(new Coord(6, 2), 7);
+
+        assertEquals(heap.getByIndex(12), direct.getByIndex(12));
+        assertEquals(heap.get(6, 2), direct.get(new Coord(6, 2)));
+        assertEquals(heap.get(6, 2), direct.get(6, 2));
+        assertEquals(heap.max(), direct.max());
+    }
+
+    @Test
+    void existingFilesAreNotOverwritten() throws Exception {
+        Path file = Files.createTempFile("grid", ".grid");
+
+        assertThrows(IOException.class, () -> MappedGrid.create(file, IntegerWidth.SHORT, SIZE, 0));
+    }
+
+    @Test
+    void widthsCreateMatchingOffHeapGrids() {
+        for (IntegerWidth width : IntegerWidth.values()) {
+            MappedGrid grid = assertInstanceOf(MappedGrid.class, width.createDirectGrid(SIZE, -1));
+            assertEquals(width, grid.width());
+            grid.setAsInt(0, width.maxValue());
+            assertEquals(width.maxValue(), grid.getAsInt(0));
+            assertEquals(-1, grid.getAsInt(1));
+        }
+        assertEquals(-1, GridAllocator.DIRECT.allocate(IntegerWidth.SHORT, SIZE, -1, "ids").getAsInt(10));
+    }
+
+}
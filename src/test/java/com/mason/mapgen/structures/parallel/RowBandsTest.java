@@ -0,0 +1,54 @@
+package com.mason.mapgen.structures.parallel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowBandsTest{
+
+    @Test
+    void everyRowIsVisitedExactlyOnce() {
+        int height = 103;
+        AtomicIntegerArray visits = new AtomicIntegerArray(height);
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        RowBands.forEachBand(height, 7, pool, (yStart, yEnd) -> {
+            for (int y = yStart; y < yEnd; y++) {
+                visits.incrementAndGet(y);
+            }
+        });
+        pool.shutdown();
+
+        for (int y = 0; y < height; y++) {
+            assertEquals(1, visits.get(y), "Row " + y + " should be visited once");
+        }
+    }
+
+    @Test
+    void bandsNeverExceedRequestedHeight() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        RowBands.forEachBand(50, 4, pool, (yStart, yEnd) ->
+                assertTrue(yEnd - yStart <= 4 && yEnd > yStart, "Band [" + yStart + ", " + yEnd + ") is invalid"));
+        pool.shutdown();
+    }
+
+    @Test
+    void nonPositiveBandHeightThrows() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> RowBands.forEachBand(10, 0, pool, (yStart, yEnd) -> {}));
+        pool.shutdown();
+    }
+
+    @Test
+    void defaultBandHeightIsAtLeastOne() {
+        assertEquals(1, RowBands.defaultBandHeight(3, 8));
+        assertEquals(16, RowBands.defaultBandHeight(512, 8));
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.mason.mapgen.structures.records;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeedTest{
+
+    @Test
+    void derivedSeedsAreReproducibleAndDistinct() {
+        Seed seed = new Seed(5L);
+
+        assertEquals(seed.derive(1L), new Seed(5L).derive(1L));
+        assertEquals(seed.derive("noise"), seed.derive("noise"));
+        assertNotEquals(seed.derive(1L), seed.derive(2L));
+        assertNotEquals(seed.derive(1L), new Seed(6L).derive(1L));
+        assertNotEquals(seed, seed.derive(0L));
+    }
+
+    @Test
+    void streamsRepeatForTheSameSeedAndKey() {
+        SplittableRandom first = new Seed(5L).stream(3L);
+        SplittableRandom second = new Seed(5L).stream(3L);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+    }
+
+    @Test
+    void uniformValuesLieInUnitIntervalAndVaryWithKeys() {
+        Seed seed = new Seed(7L);
+        Set<Double> values = new HashSet<>();
+        for (int x = -20; x < 20; x++) {
+            for (int y = -20; y < 20; y++) {
+                double value = seed.uniform(Seed.key(x, y), 0L);
+                assertTrue(value >= 0 && value < 1, "Value out of range: " + value);
+                assertEquals(value, seed.uniform(Seed.key(x, y), 0L));
+                values.add(value);
+            }
+        }
+        assertEquals(1600, values.size(), "Every key should give its own value");
+    }
+
+    @Test
+    void uniformIntStaysWithinBound() {
+        Seed seed = new Seed(9L);
+        int[] counts = new int[10];
+        for (int i = 0; i < 10000; i++) {
+            counts[seed.uniformInt(i, 1L, 10)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 800 && count < 1200, "Uneven count: " + count);
+        }
+        assertThrows(IllegalArgumentException.class, () -> seed.uniformInt(0L, 0L, 0));
+    }
+
+    @Test
+    void keysOfDistinctCoordsDiffer() {
+        assertNotEquals(Seed.key(1, 0), Seed.key(0, 1));
+        assertNotEquals(Seed.key(-1, 0), Seed.key(0, -1));
+        assertNotEquals(Seed.key(-1, 5), Seed.key(-1, 6));
+    }
+
+}
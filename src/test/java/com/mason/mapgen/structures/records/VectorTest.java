@@ -2,6 +2,8 @@ package com.mason.mapgen.structures.records;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.SplittableRandom;
+
 import static java.lang.Math.PI;
 import static java.lang.Math.abs;
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,8 +45,9 @@ class VectorTest{
     @Test
     void generateRandomUnitVectorHasUnitLength() {
         // Not testing randomness, just that length ≈ 1 and finite
+        SplittableRandom random = new SplittableRandom(42L);
         for (int i = 0; i < 100; i++) {
-            Vector v = Vector.generateRandomUnitVector();
+            Vector v = Vector.generateRandomUnitVector(random);
             double len = v.length();
             assertTrue(Double.isFinite(len));
             assertEquals(1.0, len, 1e-9);
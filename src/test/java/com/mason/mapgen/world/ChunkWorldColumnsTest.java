@@ -0,0 +1,79 @@
+package com.mason.mapgen.world;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Seed;
+import org.junit.jupiter.api.Test;
+
+import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkWorldColumnsTest{
+
+    private static final Size SIZE = new Size(48, 36);
+
+    @Test
+    void pointsReadTheTerrainOfTheirChunk() {
+        ChunkWorldColumns columns = new ChunkWorldColumns(SIZE, 2);
+        int first = columns.addCentroid(new Coord(1, 1));
+        int second = columns.addCentroid(new Coord(30, 20));
+        columns.setCentroidIDByIndex(columns.asIndex(2, 3), first);
+        columns.setCentroidIDByIndex(columns.asIndex(40, 30), second);
+        columns.setCentroidTerrain(first, 0.25, 0.5, Biome.OCEAN);
+        columns.setCentroidTerrain(second, 0.75, 0.125, Biome.UNSET_LAND);
+
+        assertEquals(0.25f, columns.elevation(2, 3));
+        assertEquals(Biome.OCEAN, columns.biome(2, 3));
+        assertEquals(0.125f, columns.moisture(40, 30));
+
+        columns.setCentroidBiome(second, Biome.TAIGA);
+        assertEquals(Biome.TAIGA, columns.biome(40, 30));
+        assertEquals(Biome.TAIGA, columns.centroidBiome(second));
+    }
+
+    @Test
+    void pointsWithoutAChunkHaveNoTerrain() {
+        ChunkWorldColumns columns = new ChunkWorldColumns(SIZE, 1);
+
+        assertEquals(CENTROID_UNSET, columns.centroidID(5, 5));
+        assertEquals(Biome.UNSET, columns.biome(5, 5));
+        assertEquals(0f, columns.elevation(5, 5));
+        assertThrows(IllegalArgumentException.class, () -> columns.setCentroidBiome(0, Biome.SNOW));
+    }
+
+    @Test
+    void scaffoldAveragesTheNoiseOverEachChunk() {
+        VoronoiChunker<WorldCentroidData> chunker = VoronoiChunker.buildWithDistanceTransform(SIZE, 9, 0, new Seed(3L),
+                WorldCentroidData::new, AnnexQueries::euclideanQuery, null);
+        chunker.createChunks();
+        ChunkingGrid<WorldCentroidData> grid = chunker.getGrid();
+        DoubleGrid elevation = new DoubleGrid(SIZE);
+        elevation.transformSelf((x, y, value) -> (double) x / SIZE.width());
+        DoubleGrid moisture = new DoubleGrid(SIZE, 0.5);
+
+        ChunkWorldColumns columns = new ChunkTerrainScaffold(grid, elevation, moisture, 0.45).getWorldColumns();
+
+        assertEquals(9, columns.numCentroids());
+        double[] sums = new double[columns.numCentroids()];
+        int[] counts = new int[columns.numCentroids()];
+        for (int y = 0; y < SIZE.height(); y++) {
+            for (int x = 0; x < SIZE.width(); x++) {
+                int centroidID = columns.centroidID(x, y);
+                assertEquals(grid.getCentroidCoord(grid.centroidID(grid.asIndex(x, y))), columns.centroidCoord(centroidID));
+                sums[centroidID] += elevation.get(x, y);
+                counts[centroidID]++;
+            }
+        }
+        for (int centroidID = 0; centroidID < columns.numCentroids(); centroidID++) {
+            double mean = sums[centroidID] / counts[centroidID];
+            assertEquals(mean, columns.centroidElevation(centroidID), 1e-6);
+            assertEquals(0.5f, columns.centroidMoisture(centroidID));
+            assertEquals(mean < 0.45 ? Biome.OCEAN : Biome.UNSET_LAND, columns.centroidBiome(centroidID));
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.mason.mapgen.world;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.components.ChunkingGrid;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.structures.grids.lowMemory.DoubleGrid;
+import com.mason.mapgen.structures.records.Seed;
+import org.junit.jupiter.api.Test;
+
+import static com.mason.mapgen.procgen.algorithms.chunking.components.CentroidIDMap.CENTROID_UNSET;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapWorldColumnsTest{
+
+    private static final Size SIZE = new Size(40, 30);
+
+    @Test
+    void columnsStartUnsetAndKeepWhatIsWritten() {
+        HeapWorldColumns columns = new HeapWorldColumns(SIZE, 10);
+
+        assertEquals(Biome.UNSET, columns.biome(3, 4));
+        assertEquals(CENTROID_UNSET, columns.centroidID(3, 4));
+
+        int centroidID = columns.addCentroid(new Coord(5, 6));
+        columns.setTerrainByIndex(columns.asIndex(3, 4), 0.25, 0.75, Biome.TUNDRA);
+        columns.setCentroidIDByIndex(columns.asIndex(3, 4), centroidID);
+
+        assertEquals(0.25f, columns.elevation(3, 4));
+        assertEquals(0.75f, columns.moisture(3, 4));
+        assertEquals(Biome.TUNDRA, columns.biome(3, 4));
+        assertEquals(centroidID, columns.centroidID(3, 4));
+        assertEquals(new Coord(5, 6), columns.centroidCoord(centroidID));
+        assertEquals(0f, columns.elevation(4, 3), "Other points should be untouched");
+    }
+
+    @Test
+    void centroidsAreNumberedInOrderUpToTheLimit() {
+        HeapWorldColumns columns = new HeapWorldColumns(SIZE, 40);
+        for (int n = 0; n < 40; n++) {
+            assertEquals(n, columns.addCentroid(new Coord(n, n % SIZE.height())));
+        }
+
+        assertEquals(40, columns.numCentroids());
+        assertEquals(new Coord(39, 9), columns.centroidCoord(39));
+        assertThrows(IllegalStateException.class, () -> columns.addCentroid(new Coord(0, 0)));
+        assertThrows(IllegalArgumentException.class, () -> columns.centroidCoord(40));
+    }
+
+    @Test
+    void pointsAreViewsOfTheColumns() {
+        HeapWorldColumns columns = new HeapWorldColumns(SIZE, 4);
+        WorldMap map = new WorldMap(columns);
+        WorldPoint point = map.getPoint(new Coord(7, 8));
+        int centroidID = columns.addCentroid(new Coord(1, 2));
+
+        columns.setTerrainByIndex(columns.asIndex(7, 8), 0.5, 0.125, Biome.SNOW);
+        columns.setCentroidIDByIndex(columns.asIndex(7, 8), centroidID);
+
+        assertEquals(new Coord(7, 8), point.getCoord());
+        assertEquals(new TerrainData(0.5, 0.125, Biome.SNOW), point.getTerrainData());
+        assertEquals(new Coord(1, 2), point.getCentroidCoord());
+    }
+
+    @Test
+    void scaffoldCopiesTheChunkingGridAndNoise() {
+        VoronoiChunker<WorldCentroidData> chunker = VoronoiChunker.buildWithDistanceTransform(SIZE, 12, 0, new Seed(6L),
+                WorldCentroidData::new, AnnexQueries::euclideanQuery, null);
+        chunker.createChunks();
+        ChunkingGrid<WorldCentroidData> grid = chunker.getGrid();
+        DoubleGrid elevation = new DoubleGrid(SIZE);
+        elevation.transformSelf((x, y, value) -> (double) x / SIZE.width());
+        DoubleGrid moisture = new DoubleGrid(SIZE, 0.5);
+
+        WorldMap map = new World(new WorldScaffold(grid, elevation, moisture, 0.45)).getMap();
+
+        assertEquals(12, map.getColumns().numCentroids());
+        for (int y = 0; y < SIZE.height(); y++) {
+            for (int x = 0; x < SIZE.width(); x++) {
+                WorldPoint point = map.getPoint(x, y);
+                int pointIdx = grid.asIndex(x, y);
+                assertEquals(grid.getCentroidCoord(grid.centroidID(pointIdx)), point.getCentroidCoord());
+                assertEquals((float) elevation.get(x, y), point.getElevation(), 0.0);
+                assertEquals(x < 18 ? Biome.OCEAN : Biome.UNSET_LAND, point.getBiome(), "Biome at x = " + x);
+            }
+        }
+    }
+
+}
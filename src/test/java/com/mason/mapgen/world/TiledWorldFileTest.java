@@ -0,0 +1,129 @@
+package com.mason.mapgen.world;
+
+import com.mason.libgui.utils.structures.Coord;
+import com.mason.libgui.utils.structures.Size;
+import com.mason.mapgen.procgen.algorithms.chunking.AnnexQueries;
+import com.mason.mapgen.procgen.algorithms.chunking.voronoi.VoronoiChunker;
+import com.mason.mapgen.procgen.noise.PerlinNoise;
+import com.mason.mapgen.structures.grids.lowMemory.IntegerWidth;
+import com.mason.mapgen.structures.records.Seed;
+import com.mason.mapgen.world.tiles.TileCodec;
+import com.mason.mapgen.world.tiles.TiledWorldHeader;
+import com.mason.mapgen.world.tiles.TiledWorldReader;
+import com.mason.mapgen.world.tiles.TiledWorldWriter;
+import com.mason.mapgen.world.tiles.WorldTile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TiledWorldFileTest{
+
+    private static final Size SIZE = new Size(90, 66);
+
+    @Test
+    void rawFilesLoadAsTheSameMap() throws Exception {
+        assertRoundTrip(TileCodec.RAW);
+    }
+
+    @Test
+    void deflatedFilesLoadAsTheSameMapAndAreSmaller() throws Exception {
+        WorldMap map = buildMap();
+        Path raw = assertRoundTrip(TileCodec.RAW, map);
+        Path deflated = assertRoundTrip(TileCodec.DEFLATE, map);
+
+        assertTrue(Files.size(deflated) < Files.size(raw), "Deflated tiles should take less space");
+    }
+
+    @Test
+    void headerRecordsHowTheFileWasWritten() throws Exception {
+        WorldMap map = buildMap();
+        Path file = Files.createTempFile("world", ".tiles");
+        TiledWorldWriter.write(map, file, 32, TileCodec.DEFLATE, 77L);
+
+        try (TiledWorldReader reader = new TiledWorldReader(file)) {
+            TiledWorldHeader header = reader.getHeader();
+            assertEquals(SIZE, header.mapSize());
+            assertEquals(32, header.tileSize());
+            assertEquals(77L, header.seed());
+            assertEquals(map.getColumns().numCentroids(), header.numCentroids());
+            assertEquals(TileCodec.DEFLATE, header.codec());
+
+            WorldTile corner = reader.readTile(2, 2);
+            assertEquals(26, corner.getRegion().width());
+            assertEquals(2, corner.getRegion().height());
+        }
+    }
+
+    @Test
+    void centroidIDsAreStoredAtTheNarrowestWidth() throws Exception {
+        assertEquals(IntegerWidth.BYTE, new TiledWorldHeader(SIZE, 32, 1L, 128, TileCodec.RAW).centroidIDWidth());
+        assertEquals(IntegerWidth.SHORT, new TiledWorldHeader(SIZE, 32, 1L, 129, TileCodec.RAW).centroidIDWidth());
+        assertEquals(IntegerWidth.INT, new TiledWorldHeader(SIZE, 32, 1L, 40000, TileCodec.RAW).centroidIDWidth());
+
+        Path bytes = assertRoundTrip(TileCodec.RAW, buildMap(20));
+        Path shorts = assertRoundTrip(TileCodec.RAW, buildMap(300));
+        try (TiledWorldReader reader = new TiledWorldReader(shorts)) {
+            assertEquals(IntegerWidth.SHORT, reader.getHeader().centroidIDWidth());
+        }
+        long pointBytes = (long) SIZE.width() * SIZE.height();
+        assertEquals(Files.size(bytes) + pointBytes + 280 * 2 * Integer.BYTES, Files.size(shorts));
+    }
+
+    @Test
+    void unfinishedFilesAreRejected() throws Exception {
+        Path file = Files.createTempFile("world", ".tiles");
+        TiledWorldHeader header = new TiledWorldHeader(SIZE, 32, 1L, 1, TileCodec.RAW);
+        TiledWorldWriter writer = new TiledWorldWriter(file, header, id -> new Coord(0, 0));
+
+        assertThrows(IOException.class, writer::close, "Closing before every tile is written should fail");
+        assertThrows(IOException.class, () -> new TiledWorldReader(file));
+    }
+
+    private static void assertRoundTrip(TileCodec codec) throws IOException {
+        assertRoundTrip(codec, buildMap());
+    }
+
+    private static Path assertRoundTrip(TileCodec codec, WorldMap map) throws IOException {
+        Path file = Files.createTempFile("world", ".tiles");
+        TiledWorldWriter.write(map, file, 32, codec, 5L);
+
+        try (TiledWorldReader reader = new TiledWorldReader(file)) {
+            WorldMap loaded = reader.openMap();
+            assertEquals(SIZE, loaded.getSize());
+            for (int y = 0; y < SIZE.height(); y++) {
+                for (int x = 0; x < SIZE.width(); x++) {
+                    Coord coord = new Coord(x, y);
+                    WorldPoint expected = map.getPoint(coord);
+                    WorldPoint actual = loaded.getPoint(coord);
+                    assertEquals(coord, actual.getCoord());
+                    assertEquals(expected.getTerrainData(), actual.getTerrainData(), "Terrain differs at " + coord);
+                    assertEquals(expected.getCentroidCoord(), actual.getCentroidCoord(), "Centroid differs at " + coord);
+                }
+            }
+        }
+        return file;
+    }
+
+    private static WorldMap buildMap() {
+        return buildMap(20);
+    }
+
+    private static WorldMap buildMap(int numChunks) {
+        Seed seed = new Seed(21L);
+        VoronoiChunker<WorldCentroidData> chunker = VoronoiChunker.buildWithDistanceTransform(SIZE, numChunks, 1, seed,
+                WorldCentroidData::new, AnnexQueries::euclideanQuery, null);
+        chunker.createChunks();
+        PerlinNoise elevation = new PerlinNoise(SIZE, seed.derive("elevation"), 1, 4, 0.5, 0.5);
+        PerlinNoise moisture = new PerlinNoise(SIZE, seed.derive("moisture"), 1, 4, 0.5, 0.5);
+        elevation.generateNoise();
+        elevation.normalise();
+        moisture.generateNoise();
+        moisture.normalise();
+        return new World(new WorldScaffold(chunker.getGrid(), elevation.getGrid(), moisture.getGrid(), 0.45)).getMap();
+    }
+
+}